@@ -21,6 +21,7 @@ import com.adobe.marketing.mobile.EventHistoryRequest
 import com.adobe.marketing.mobile.EventHistoryResult
 import com.adobe.marketing.mobile.TestUtils
 import com.adobe.marketing.mobile.copyWithNewTimeStamp
+import com.adobe.marketing.mobile.internal.util.SharedThreadPool
 import com.adobe.marketing.mobile.services.MockAppContextService
 import com.adobe.marketing.mobile.services.ServiceProviderModifier
 import org.junit.Assert.assertEquals
@@ -30,6 +31,8 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import java.io.File
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @RunWith(AndroidJUnit4::class)
 class AndroidEventHistoryTests {
@@ -105,6 +108,48 @@ class AndroidEventHistoryTests {
         assertTrue(latch.await(5, java.util.concurrent.TimeUnit.SECONDS))
     }
 
+    @Test
+    fun testGetEventsWhileSharedThreadPoolIsSaturated() {
+        val data = mapOf("key" to "value")
+        assertTrue(record(data))
+
+        SharedThreadPool.enabled = true
+        try {
+            // More lanes than pool threads, each blocking until its history query completes like the rules engine does
+            val laneCount = 8
+            val matchedQueries = AtomicInteger(0)
+            val lanesDone = CountDownLatch(laneCount)
+            repeat(laneCount) {
+                SharedThreadPool.newSerialExecutor().execute {
+                    val latch = CountDownLatch(1)
+                    var count = 0
+                    androidEventHistory.getEvents(
+                        arrayOf(EventHistoryRequest(data, 0, 0)), false,
+                        object : AdobeCallbackWithError<Array<EventHistoryResult>> {
+                            override fun call(result: Array<EventHistoryResult>) {
+                                count = result[0].count
+                                latch.countDown()
+                            }
+
+                            override fun fail(error: AdobeError) {
+                                latch.countDown()
+                            }
+                        }
+                    )
+                    if (latch.await(1, TimeUnit.SECONDS) && count == 1) {
+                        matchedQueries.incrementAndGet()
+                    }
+                    lanesDone.countDown()
+                }
+            }
+
+            assertTrue(lanesDone.await(10, TimeUnit.SECONDS))
+            assertEquals(laneCount, matchedQueries.get())
+        } finally {
+            SharedThreadPool.enabled = false
+        }
+    }
+
     @Test
     fun testGetEventsWithEnforceOrder() {
         val data = mapOf("key" to "value")
@@ -48,6 +48,15 @@ public final class Event {
     // Specifies the properties in the Event and its data that should be used in the hash for
     // EventHistory storage.
     private String[] mask;
+    // Internal sequence number assigned by the EventHub when this event is dispatched, 0 if the
+    // event has not been dispatched yet
+    volatile int eventNumber;
+    // System.nanoTime() at which the EventHub dispatched this event, 0 unless EventHub metrics
+    // are enabled
+    volatile long dispatchNanos;
+    // Case-folded type and source under which listeners for this event are looked up, computed
+    // once by the EventHub when the event is first routed
+    String routeKey;
 
     /** Event Builder */
     public static class Builder {
@@ -290,6 +299,9 @@ public final class Event {
         newEvent.uniqueIdentifier = this.uniqueIdentifier;
         newEvent.timestamp = this.timestamp;
         newEvent.responseID = this.responseID;
+        newEvent.eventNumber = this.eventNumber;
+        newEvent.dispatchNanos = this.dispatchNanos;
+        newEvent.routeKey = this.routeKey;
         return newEvent;
     }
 
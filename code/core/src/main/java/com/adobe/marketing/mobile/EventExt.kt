@@ -0,0 +1,45 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile
+
+/**
+ * The internal sequence number assigned to this [Event] by the EventHub when it was dispatched,
+ * or null if the event has not been dispatched.
+ *
+ * The number is carried on the event itself (and on its clones) so that it lives exactly as long
+ * as the event does, instead of being tracked in an ever growing lookup table.
+ */
+internal var Event.dispatchNumber: Int?
+    get() = eventNumber.takeIf { it > 0 }
+    set(value) {
+        eventNumber = value ?: 0
+    }
+
+/**
+ * The [System.nanoTime] at which the EventHub dispatched this [Event], or 0 if it was dispatched
+ * while EventHub metrics were disabled.
+ */
+internal var Event.dispatchTimeNanos: Long
+    get() = dispatchNanos
+    set(value) {
+        dispatchNanos = value
+    }
+
+/**
+ * The key under which the listeners for this [Event] are looked up, or null if it has not been computed yet.
+ * It only depends on the type and source of the event, so it is computed once and carried on its clones.
+ */
+internal var Event.listenerRouteKey: String?
+    get() = routeKey
+    set(value) {
+        routeKey = value
+    }
@@ -0,0 +1,54 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile
+
+/**
+ * A point in time snapshot of the runtime metrics of the EventHub, returned by [MobileCore.getEventHubMetrics].
+ * Metrics are only recorded while enabled through [MobileCore.setEventHubMetricsEnabled].
+ *
+ * @param extensions The metrics of each registered extension, keyed by extension name
+ * @param pendingResponseListenerCount The number of response listeners still waiting for their response event
+ * @param responseListenerTimeoutCount The number of response listeners that timed out before their response event was dispatched
+ */
+class EventHubMetrics internal constructor(
+    @JvmField val extensions: Map<String, ExtensionMetrics>,
+    @JvmField val pendingResponseListenerCount: Int,
+    @JvmField val responseListenerTimeoutCount: Int
+)
+
+/**
+ * The runtime metrics of a registered extension, part of [EventHubMetrics].
+ *
+ * Durations are bucketed in powers of two microseconds: bucket 0 counts durations under 1 microsecond,
+ * bucket `i` counts durations from `2^(i-1)` up to `2^i` microseconds, and the last bucket also counts
+ * all longer durations. Percentiles are reported as the upper bound of the bucket they fall in.
+ *
+ * @param queueDepth The number of events waiting in the extension's event queue
+ * @param eventsProcessed The number of events processed by the extension's event queue. Events that no listener of the
+ *        extension is registered for are not counted when they bypass the queue
+ * @param readyForEventBlockedMillis The total time in milliseconds the event queue was blocked
+ *        because [Extension.readyForEvent] returned false
+ * @param listenerExecutionHistogram The number of listener executions per duration bucket
+ * @param deliveryLatencyP50Micros The median time in microseconds from an event being dispatched to the EventHub
+ *        until it is delivered to the extension's listeners
+ * @param deliveryLatencyP90Micros The 90th percentile of the dispatch to delivery time in microseconds
+ * @param deliveryLatencyP99Micros The 99th percentile of the dispatch to delivery time in microseconds
+ */
+class ExtensionMetrics internal constructor(
+    @JvmField val queueDepth: Int,
+    @JvmField val eventsProcessed: Long,
+    @JvmField val readyForEventBlockedMillis: Long,
+    @JvmField val listenerExecutionHistogram: List<Long>,
+    @JvmField val deliveryLatencyP50Micros: Long,
+    @JvmField val deliveryLatencyP90Micros: Long,
+    @JvmField val deliveryLatencyP99Micros: Long
+)
@@ -13,6 +13,7 @@ package com.adobe.marketing.mobile;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,6 +42,17 @@ public abstract class ExtensionApi {
      */
     public abstract void dispatch(@NonNull final Event event);
 
+    /**
+     * Dispatches a list of `Event`s to the `EventHub`, in order.
+     *
+     * @param events the Events to be dispatched to the {@code EventHub}
+     */
+    public void dispatch(@NonNull final List<Event> events) {
+        for (final Event event : events) {
+            dispatch(event);
+        }
+    }
+
     /** Starts the `Event` queue for this extension */
     public abstract void startEvents();
 
@@ -163,6 +175,38 @@ public abstract class ExtensionApi {
             final boolean barrier,
             @NonNull final SharedStateResolution resolution);
 
+    /**
+     * Resumes the {@code Event} queue of this extension once the shared state of {@code
+     * extensionName} for {@code event} is set, that is once {@link #getSharedState(String, Event,
+     * boolean, SharedStateResolution)} would resolve it to a set shared state.
+     *
+     * <p>This is intended to be called from {@link Extension#readyForEvent(Event)} before returning
+     * false because a shared state is not yet available. Rather than being asked again for every
+     * event dispatched in the meantime, the extension is asked again as soon as the shared state is
+     * set. The wait is also cleared when {@link #startEvents()} is called or {@code extensionName}
+     * is unregistered, and does not start if {@code extensionName} is not registered. If the
+     * shared state is not set within a few seconds, the extension is asked again for the next
+     * dispatched event. Only the latest wait requested by this extension is honored.
+     *
+     * @param extensionName extension name of the shared state to wait for
+     * @param event the {@link Event} for which the shared state is awaited. Passing null will wait
+     *     for the latest shared state of {@code extensionName} to be set.
+     */
+    public void resumeOnSharedState(
+            @NonNull final String extensionName, @Nullable final Event event) {}
+
+    /**
+     * Resumes the {@code Event} queue of this extension once the XDM shared state of {@code
+     * extensionName} for {@code event} is set.
+     *
+     * @param extensionName extension name of the XDM shared state to wait for
+     * @param event the {@link Event} for which the XDM shared state is awaited. Passing null will
+     *     wait for the latest XDM shared state of {@code extensionName} to be set.
+     * @see #resumeOnSharedState(String, Event)
+     */
+    public void resumeOnXDMSharedState(
+            @NonNull final String extensionName, @Nullable final Event event) {}
+
     /**
      * Unregisters current extension. <br>
      * This method executes asynchronously, unregistering the extension on the event hub thread.
@@ -24,6 +24,10 @@ class InitOptions {
             field = value?.toMap()
         }
 
+    // Flag indicating whether the SDK's event queues share a small bounded thread pool
+    // instead of each using a dedicated thread. Event ordering is preserved within each queue.
+    var sharedThreadPoolEnabled: Boolean = false
+
     @JvmSynthetic
     internal var config: ConfigType = ConfigType.Bundled
 
@@ -13,9 +13,11 @@ package com.adobe.marketing.mobile.internal.configuration
 
 import androidx.annotation.VisibleForTesting
 import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine
 import com.adobe.marketing.mobile.launch.rulesengine.download.RulesLoadResult
 import com.adobe.marketing.mobile.launch.rulesengine.download.RulesLoader
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRuleParts
 import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser
 import com.adobe.marketing.mobile.services.Log
 import com.adobe.marketing.mobile.services.NamedCollection
@@ -37,6 +39,7 @@ internal class ConfigurationRulesManager {
     private val launchRulesEngine: LaunchRulesEngine
     private val rulesLoader: RulesLoader
     private val configDataStore: NamedCollection?
+    private val rulesSnapshotCache = RulesSnapshotCache(RULES_CACHE_NAME)
 
     constructor(launchRulesEngine: LaunchRulesEngine) : this(
         launchRulesEngine,
@@ -78,6 +81,17 @@ internal class ConfigurationRulesManager {
             return false
         }
 
+        val snapshotRules = rulesSnapshotCache.load(persistedRulesUrl, extensionApi)
+        if (snapshotRules != null) {
+            Log.trace(
+                ConfigurationExtension.TAG,
+                LOG_TAG,
+                "Replacing rules with the snapshot of cached rules."
+            )
+            updateRules(snapshotRules)
+            return true
+        }
+
         val rulesLoadResult: RulesLoadResult = rulesLoader.loadFromCache(persistedRulesUrl)
 
         if (rulesLoadResult.reason != RulesLoadResult.Reason.SUCCESS) {
@@ -94,7 +108,7 @@ internal class ConfigurationRulesManager {
             LOG_TAG,
             "Attempting to replace rules with cached rules"
         )
-        return replaceRules(rulesLoadResult.data, extensionApi)
+        return replaceRules(rulesLoadResult.data, extensionApi, persistedRulesUrl)
     }
 
     /**
@@ -136,7 +150,7 @@ internal class ConfigurationRulesManager {
                     "Attempting to replace rules with downloaded rules."
                 )
 
-                replaceRules(rulesDownloadResult.data, extensionApi)
+                replaceRules(rulesDownloadResult.data, extensionApi, url)
             }
         }
 
@@ -174,9 +188,14 @@ internal class ConfigurationRulesManager {
      *
      * @param rulesJson the input json string from which rules must be parsed
      * @param extensionApi extensionApi
+     * @param rulesUrl the URL the rules were downloaded from, used to store a snapshot of the parsed rules
      * @return true if a rule replacement was triggered, false otherwise
      */
-    private fun replaceRules(rulesJson: String?, extensionApi: ExtensionApi): Boolean {
+    private fun replaceRules(
+        rulesJson: String?,
+        extensionApi: ExtensionApi,
+        rulesUrl: String? = null
+    ): Boolean {
         if (rulesJson == null) {
             Log.debug(
                 ConfigurationExtension.TAG,
@@ -186,7 +205,8 @@ internal class ConfigurationRulesManager {
             return false
         }
 
-        val rules = JSONRulesParser.parse(rulesJson, extensionApi)
+        var ruleParts: List<JSONRuleParts>? = null
+        val rules = JSONRulesParser.parse(rulesJson, extensionApi) { ruleParts = it }
         return if (rules == null) {
             Log.debug(
                 ConfigurationExtension.TAG,
@@ -200,8 +220,25 @@ internal class ConfigurationRulesManager {
                 LOG_TAG,
                 "Replacing rules."
             )
-            launchRulesEngine.replaceRules(rules)
+            updateRules(rules)
+            if (rulesUrl != null) {
+                ruleParts?.let { rulesSnapshotCache.store(rulesUrl, it) }
+            }
             true
         }
     }
+
+    /**
+     * Updates the rules of [launchRulesEngine], keeping the current rules that did not change.
+     *
+     * @param rules the new rules
+     */
+    private fun updateRules(rules: List<LaunchRule>) {
+        val update = launchRulesEngine.updateRules(rules) ?: return
+        Log.trace(
+            ConfigurationExtension.TAG,
+            LOG_TAG,
+            "Rules updated - ${update.addedRules.size} added, ${update.removedRules.size} removed."
+        )
+    }
 }
@@ -0,0 +1,121 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.configuration
+
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRuleParts
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesSnapshot
+import com.adobe.marketing.mobile.services.Log
+import com.adobe.marketing.mobile.services.ServiceProvider
+import com.adobe.marketing.mobile.services.caching.CacheEntry
+import com.adobe.marketing.mobile.services.caching.CacheExpiry
+import com.adobe.marketing.mobile.services.caching.CacheService
+import java.io.ByteArrayInputStream
+
+/**
+ * Stores a [JSONRulesSnapshot] of the rules downloaded from a url next to their cached JSON, so that
+ * the cached rules can be applied without parsing their JSON again.
+ *
+ * The snapshot is keyed by the rules url and holds the ETag and Last-Modified of the cached JSON it
+ * was made from. It is only used while they match the cached JSON, otherwise the JSON is parsed and
+ * a new snapshot is stored.
+ */
+internal class RulesSnapshotCache(private val cacheName: String) {
+
+    companion object {
+        private const val LOG_TAG = "RulesSnapshotCache"
+        private const val SNAPSHOT_KEY_SUFFIX = ".snapshot"
+        private const val HTTP_HEADER_ETAG = "ETag"
+        private const val HTTP_HEADER_LAST_MODIFIED = "Last-Modified"
+        internal const val METADATA_SOURCE_ETAG = "rules.snapshot.etag"
+        internal const val METADATA_SOURCE_LAST_MODIFIED = "rules.snapshot.lastModified"
+    }
+
+    /**
+     * Loads the rules from the snapshot of the JSON rules cached for [rulesUrl]
+     *
+     * @param rulesUrl the url from which the cached JSON rules were downloaded
+     * @return the list of [LaunchRule]s, or null if there is no snapshot matching the cached JSON rules
+     */
+    fun load(rulesUrl: String, extensionApi: ExtensionApi): List<LaunchRule>? {
+        val cacheService = ServiceProvider.getInstance().cacheService ?: return null
+        val source = sourceVersion(cacheService, rulesUrl) ?: return null
+        val snapshot = cacheService.get(cacheName, snapshotKey(rulesUrl)) ?: return null
+        val metadata = snapshot.metadata
+        if (metadata == null ||
+            metadata[METADATA_SOURCE_ETAG] != source.first ||
+            metadata[METADATA_SOURCE_LAST_MODIFIED] != source.second
+        ) {
+            Log.debug(ConfigurationExtension.TAG, LOG_TAG, "Rules snapshot for $rulesUrl is stale.")
+            return null
+        }
+
+        return try {
+            val data = snapshot.data?.use { it.readBytes() } ?: return null
+            val ruleParts = JSONRulesSnapshot.read(data, extensionApi)
+            if (ruleParts == null) {
+                Log.debug(ConfigurationExtension.TAG, LOG_TAG, "Rules snapshot for $rulesUrl has another format version.")
+                return null
+            }
+            ruleParts.map { it.toLaunchRule() ?: return null }
+        } catch (e: Exception) {
+            Log.debug(ConfigurationExtension.TAG, LOG_TAG, "Failed to read rules snapshot for $rulesUrl - ${e.message}")
+            null
+        }
+    }
+
+    /**
+     * Stores a snapshot of [ruleParts] for the JSON rules cached for [rulesUrl]
+     *
+     * @param rulesUrl the url from which the cached JSON rules were downloaded
+     * @param ruleParts the [JSONRuleParts] parsed from the cached JSON rules
+     */
+    fun store(rulesUrl: String, ruleParts: List<JSONRuleParts>) {
+        val cacheService = ServiceProvider.getInstance().cacheService ?: return
+        val source = sourceVersion(cacheService, rulesUrl) ?: return
+        val snapshot = try {
+            JSONRulesSnapshot.write(ruleParts)
+        } catch (e: Exception) {
+            Log.debug(ConfigurationExtension.TAG, LOG_TAG, "Cannot write rules snapshot for $rulesUrl - ${e.message}")
+            return
+        }
+
+        val cacheEntry = CacheEntry(
+            ByteArrayInputStream(snapshot),
+            CacheExpiry.never(),
+            mapOf(
+                METADATA_SOURCE_ETAG to source.first,
+                METADATA_SOURCE_LAST_MODIFIED to source.second
+            )
+        )
+        if (!cacheService.set(cacheName, snapshotKey(rulesUrl), cacheEntry)) {
+            Log.debug(ConfigurationExtension.TAG, LOG_TAG, "Could not cache rules snapshot for $rulesUrl")
+        }
+    }
+
+    /**
+     * Returns the ETag and Last-Modified of the JSON rules cached for [rulesUrl], or null if
+     * the cached JSON rules have no ETag to tell their versions apart.
+     */
+    private fun sourceVersion(cacheService: CacheService, rulesUrl: String): Pair<String, String>? {
+        val source = cacheService.get(cacheName, rulesUrl) ?: return null
+        val metadata = source.metadata ?: return null
+        val eTag = metadata[HTTP_HEADER_ETAG]
+        if (eTag.isNullOrEmpty()) {
+            return null
+        }
+        return Pair(eTag, metadata[HTTP_HEADER_LAST_MODIFIED] ?: "")
+    }
+
+    private fun snapshotKey(rulesUrl: String): String = rulesUrl + SNAPSHOT_KEY_SUFFIX
+}
@@ -0,0 +1,73 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.eventhub
+
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * A lock-free histogram of durations, bucketed in powers of two microseconds.
+ * Bucket 0 counts durations under 1 microsecond, bucket `i` counts durations in `[2^(i-1), 2^i)` microseconds
+ * and the last bucket also counts all longer durations.
+ */
+internal class DurationHistogram {
+
+    companion object {
+        /**
+         * The number of buckets, the last one starting at 2^18 microseconds (~262ms).
+         */
+        const val BUCKET_COUNT = 20
+    }
+
+    private val buckets = AtomicLongArray(BUCKET_COUNT)
+
+    /**
+     * Records a duration.
+     *
+     * @param durationNanos the duration in nanoseconds
+     */
+    fun record(durationNanos: Long) {
+        val micros = durationNanos / 1000
+        val bucket = if (micros <= 0) 0 else minOf(64 - java.lang.Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1)
+        buckets.incrementAndGet(bucket)
+    }
+
+    /**
+     * Returns the number of recorded durations in each bucket.
+     */
+    fun counts(): List<Long> {
+        return List(BUCKET_COUNT) { buckets.get(it) }
+    }
+
+    /**
+     * Returns the upper bound, in microseconds, of the bucket holding the [percentile] of the recorded durations.
+     *
+     * @param percentile the percentile to be computed, between 0 and 1
+     * @return the upper bound of the bucket in microseconds, or 0 if no duration was recorded
+     */
+    fun percentileMicros(percentile: Double): Long {
+        val counts = counts()
+        val total = counts.sum()
+        if (total == 0L) {
+            return 0
+        }
+
+        val target = maxOf(1L, Math.ceil(total * percentile).toLong())
+        var cumulative = 0L
+        counts.forEachIndexed { bucket, count ->
+            cumulative += count
+            if (cumulative >= target) {
+                return 1L shl bucket
+            }
+        }
+        return 1L shl (BUCKET_COUNT - 1)
+    }
+}
@@ -16,15 +16,19 @@ import com.adobe.marketing.mobile.AdobeCallback
 import com.adobe.marketing.mobile.AdobeCallbackWithError
 import com.adobe.marketing.mobile.AdobeError
 import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventHubMetrics
 import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
 import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionMetrics
 import com.adobe.marketing.mobile.LoggingMode
 import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.SharedStateResolver
 import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
 import com.adobe.marketing.mobile.WrapperType
+import com.adobe.marketing.mobile.dispatchNumber
+import com.adobe.marketing.mobile.dispatchTimeNanos
 import com.adobe.marketing.mobile.internal.CoreConstants
 import com.adobe.marketing.mobile.internal.eventhub.history.AndroidEventHistory
 import com.adobe.marketing.mobile.internal.eventhub.history.EventHistory
@@ -38,6 +42,7 @@ import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicInteger
 
@@ -68,11 +73,10 @@ internal class EventHub {
         ConcurrentHashMap()
 
     /**
-     * Concurrent list which stores the event listeners for response events.
+     * Registry which stores the event listeners for response events, indexed by their trigger event.
      */
     @VisibleForTesting
-    internal val responseEventListeners: ConcurrentLinkedQueue<ResponseListenerContainer> =
-        ConcurrentLinkedQueue()
+    internal val responseEventListeners: ResponseListenerRegistry = ResponseListenerRegistry()
 
     /**
      * Concurrent list which stores the registered event preprocessors.
@@ -85,11 +89,6 @@ internal class EventHub {
      */
     private val lastEventNumber: AtomicInteger = AtomicInteger(0)
 
-    /**
-     * A cache that maps UUID of an Event to an internal sequence of its dispatch.
-     */
-    private val eventNumberMap: ConcurrentHashMap<String, Int> = ConcurrentHashMap<String, Int>()
-
     /**
      * Boolean to denote if event hub has started processing events
      */
@@ -97,100 +96,88 @@ internal class EventHub {
 
     /**
      * Implementation of [SerialWorkDispatcher.WorkHandler] that is responsible for dispatching
-     * an [Event] "e". Dispatch is regarded complete when [SerialWorkDispatcher.WorkHandler.doWork] finishes for "e".
+     * a batch of [Event]s "b", in order. Dispatch is regarded complete when [SerialWorkDispatcher.WorkHandler.doWork] finishes for "b".
      */
-    private val dispatchJob: SerialWorkDispatcher.WorkHandler<Event> =
-        SerialWorkDispatcher.WorkHandler { event ->
-
-            var processedEvent: Event = event
-            for (eventPreprocessor in eventPreprocessors) {
-                processedEvent = eventPreprocessor.process(processedEvent)
-            }
-
-            // Handle response event listeners
-            if (processedEvent.responseID != null) {
-                val matchingResponseListeners = responseEventListeners.filterRemove { listener ->
-                    if (listener.shouldNotify(processedEvent)) {
-                        listener.timeoutTask?.cancel(false)
-                        true
-                    } else {
-                        false
-                    }
-                }
-
-                // Call the response event listeners from different thread to avoid block event processing queue
-                executeCompletionHandler {
-                    matchingResponseListeners.forEach { listener ->
-                        listener.notify(processedEvent)
-                    }
-                }
+    private val dispatchJob: SerialWorkDispatcher.WorkHandler<List<Event>> =
+        SerialWorkDispatcher.WorkHandler { events ->
+            val processedEvents = events.map {
+                val processedEvent = preprocessEvent(it)
+                // Record each event before the next one is preprocessed, so that the rules of the next
+                // events of the batch observe it in the event history, as with events dispatched one by one.
+                recordEventHistory(processedEvent)
+                processedEvent
             }
 
             // Notify to extensions for processing
             registeredExtensions.values.forEach {
-                it.eventProcessor.offer(processedEvent)
+                it.offerAll(processedEvents)
             }
 
             if (Log.getLogLevel() >= LoggingMode.DEBUG) {
-                Log.debug(
-                    CoreConstants.LOG_TAG,
-                    LOG_TAG,
-                    "Dispatched Event #${getEventNumber(event)} to extensions after processing rules - ($processedEvent)"
-                )
-            }
-
-            // Record event history
-            processedEvent.mask?.let {
-                eventHistory?.recordEvent(
-                    processedEvent,
-                    object : AdobeCallbackWithError<Boolean> {
-                        override fun call(result: Boolean) {
-                            if (!result) {
-                                Log.debug(
-                                    CoreConstants.LOG_TAG,
-                                    LOG_TAG,
-                                    "Failed to insert Event(${processedEvent.uniqueIdentifier}) into EventHistory database"
-                                )
-                            }
-                        }
-
-                        override fun fail(error: AdobeError) {
-                            Log.debug(
-                                CoreConstants.LOG_TAG,
-                                LOG_TAG,
-                                "Failed to insert Event(${processedEvent.uniqueIdentifier}) into EventHistory database with error ${error.errorName}"
-                            )
-                        }
-                    }
-                )
+                events.forEachIndexed { index, event ->
+                    Log.debug(
+                        CoreConstants.LOG_TAG,
+                        LOG_TAG,
+                        "Dispatched Event #${getEventNumber(event)} to extensions after processing rules - (${processedEvents[index]})"
+                    )
+                }
             }
             true
         }
 
     /**
-     * Responsible for processing and dispatching each event.
+     * Responsible for processing and dispatching each batch of events.
+     * Runs on a thread of its own even when the [com.adobe.marketing.mobile.internal.util.SharedThreadPool]
+     * is enabled, so that extension listeners blocking the shared pool cannot hold back event dispatch.
      */
-    private val eventDispatcher: SerialWorkDispatcher<Event> =
-        SerialWorkDispatcher("EventHub", dispatchJob)
+    private val eventDispatcher: SerialWorkDispatcher<List<Event>> =
+        SerialWorkDispatcher("EventHub", dispatchJob, true)
 
     /**
      * Responsible for managing event history.
      */
     var eventHistory: EventHistory? = null
 
+    /**
+     * The number of response listeners that are still waiting for their response event.
+     */
+    val pendingResponseListenerCount: Int
+        get() = responseEventListeners.pendingCount
+
+    /**
+     * The number of response listeners that timed out before their response event was dispatched.
+     */
+    val responseListenerTimeoutCount: Int
+        get() = responseEventListeners.timeoutCount
+
+    /**
+     * Denotes whether the runtime metrics of the registered extensions are being recorded.
+     */
+    var metricsEnabled: Boolean
+        get() = ExtensionMetricsRecorder.enabled
+        set(value) {
+            ExtensionMetricsRecorder.enabled = value
+        }
+
+    /**
+     * The periodic task delivering metrics snapshots, see [setMetricsCallback].
+     */
+    private var metricsCallbackTask: ScheduledFuture<*>? = null
+
     init {
         registerExtension(EventHubPlaceholderExtension::class.java)
     }
 
-    private var _wrapperType = WrapperType.NONE
+    /**
+     * The wrapper type and the SDK version string derived from it.
+     * Only replaced on the EventHub thread before the hub starts and frozen afterwards, so it can be
+     * read from any thread without hopping onto the EventHub thread.
+     */
+    @Volatile
+    private var wrapper = WrapperInfo(WrapperType.NONE)
+
     var wrapperType: WrapperType
-        get() {
-            return eventHubExecutor.submit(
-                Callable {
-                    return@Callable _wrapperType
-                }
-            ).get()
-        }
+        get() = wrapper.type
         set(value) {
             eventHubExecutor.submit(
                 Callable {
@@ -203,7 +190,7 @@ internal class EventHub {
                         return@Callable
                     }
 
-                    _wrapperType = value
+                    wrapper = WrapperInfo(value)
                     Log.debug(
                         CoreConstants.LOG_TAG,
                         LOG_TAG,
@@ -213,6 +200,12 @@ internal class EventHub {
             ).get()
         }
 
+    /**
+     * The SDK version string, suffixed with the tag of [wrapperType] when a wrapper is used.
+     */
+    val sdkVersion: String
+        get() = wrapper.sdkVersion
+
     /**
      * Initializes event history. This must be called after the SDK has application context.
      */
@@ -259,31 +252,129 @@ internal class EventHub {
      */
     fun dispatch(event: Event) {
         eventHubExecutor.submit {
-            dispatchInternal(event)
+            dispatchInternal(listOf(event))
         }
     }
 
     /**
-     * Internal method to dispatch an event
+     * Dispatches [events], in order, to all listeners who have registered for their event type and source.
+     * The events are numbered contiguously and handed to each extension in one batch.
+     * Null elements, which Java callers may pass, are logged and skipped.
+     *
+     * @param events the [Event]s to be dispatched to listeners
      */
-    private fun dispatchInternal(event: Event) {
-        val eventNumber = lastEventNumber.incrementAndGet()
-        eventNumberMap[event.uniqueIdentifier] = eventNumber
+    fun dispatch(events: List<Event>) {
+        val elements: List<Event?> = events
+        val batch = ArrayList<Event>(elements.size)
+        elements.forEachIndexed { index, event ->
+            if (event == null) {
+                Log.error(CoreConstants.LOG_TAG, LOG_TAG, "Failed to dispatch event at index $index - event is null")
+            } else {
+                batch.add(event)
+            }
+        }
+        if (batch.isEmpty()) {
+            return
+        }
 
-        // Offer event to the serial dispatcher to perform operations on the event.
-        if (!eventDispatcher.offer(event)) {
-            Log.warning(
-                CoreConstants.LOG_TAG,
-                LOG_TAG,
-                "Failed to dispatch event #$eventNumber - ($event)"
-            )
+        eventHubExecutor.submit {
+            dispatchInternal(batch)
+        }
+    }
+
+    /**
+     * Internal method to dispatch a batch of events
+     */
+    private fun dispatchInternal(events: List<Event>) {
+        val recordMetrics = ExtensionMetricsRecorder.enabled
+        val dispatchTime = if (recordMetrics) System.nanoTime() else 0L
+        events.forEach {
+            it.dispatchNumber = lastEventNumber.incrementAndGet()
+            if (recordMetrics) it.dispatchTimeNanos = dispatchTime
+        }
+
+        // Offer events to the serial dispatcher to perform operations on the events.
+        if (!eventDispatcher.offer(events)) {
+            events.forEach {
+                Log.warning(
+                    CoreConstants.LOG_TAG,
+                    LOG_TAG,
+                    "Failed to dispatch event #${it.dispatchNumber} - ($it)"
+                )
+            }
         }
 
         if (Log.getLogLevel() >= LoggingMode.DEBUG) {
-            Log.debug(
-                CoreConstants.LOG_TAG,
-                LOG_TAG,
-                "Dispatching Event #$eventNumber - ($event)"
+            events.forEach {
+                Log.debug(
+                    CoreConstants.LOG_TAG,
+                    LOG_TAG,
+                    "Dispatching Event #${it.dispatchNumber} - ($it)"
+                )
+            }
+        }
+    }
+
+    /**
+     * Runs [event] through the registered preprocessors and notifies the response listeners waiting for it.
+     *
+     * @param event the [Event] being dispatched
+     * @return the [Event] to be handed to the extensions
+     */
+    private fun preprocessEvent(event: Event): Event {
+        var processedEvent: Event = event
+        for (eventPreprocessor in eventPreprocessors) {
+            processedEvent = eventPreprocessor.process(processedEvent)
+        }
+
+        // Handle response event listeners
+        processedEvent.responseID?.let { responseID ->
+            val matchingResponseListeners = responseEventListeners.removeAll(responseID)
+            if (matchingResponseListeners.isEmpty()) {
+                return@let
+            }
+            matchingResponseListeners.forEach { listener ->
+                listener.timeoutTask?.cancel(false)
+            }
+
+            // Call the response event listeners from different thread to avoid block event processing queue
+            executeCompletionHandler {
+                matchingResponseListeners.forEach { listener ->
+                    listener.notify(processedEvent)
+                }
+            }
+        }
+        return processedEvent
+    }
+
+    /**
+     * Records [processedEvent] in [eventHistory] if it has a mask.
+     *
+     * @param processedEvent the [Event] dispatched to the extensions
+     */
+    private fun recordEventHistory(processedEvent: Event) {
+        processedEvent.mask?.let {
+            eventHistory?.recordEvent(
+                processedEvent,
+                object : AdobeCallbackWithError<Boolean> {
+                    override fun call(result: Boolean) {
+                        if (!result) {
+                            Log.debug(
+                                CoreConstants.LOG_TAG,
+                                LOG_TAG,
+                                "Failed to insert Event(${processedEvent.uniqueIdentifier}) into EventHistory database"
+                            )
+                        }
+                    }
+
+                    override fun fail(error: AdobeError) {
+                        Log.debug(
+                            CoreConstants.LOG_TAG,
+                            LOG_TAG,
+                            "Failed to insert Event(${processedEvent.uniqueIdentifier}) into EventHistory database with error ${error.errorName}"
+                        )
+                    }
+                }
             )
         }
     }
@@ -379,6 +470,9 @@ internal class EventHub {
         val container = registeredExtensions.remove(extensionName)
         val error: EventHubError = if (container != null) {
             container.shutdown()
+            container.sharedStateName?.let { sharedStateName ->
+                registeredExtensions.values.forEach { it.onSharedStateProviderUnregistered(sharedStateName) }
+            }
             shareEventHubSharedState()
             Log.trace(CoreConstants.LOG_TAG, LOG_TAG, "Extension $extensionClass unregistered successfully")
             EventHubError.None
@@ -404,21 +498,23 @@ internal class EventHub {
         listener: AdobeCallbackWithError<Event>
     ) {
         eventHubExecutor.submit {
-            val triggerEventId = triggerEvent.uniqueIdentifier
+            val responseListener = ResponseListenerContainer(
+                triggerEvent.uniqueIdentifier,
+                null,
+                listener
+            )
+            responseEventListeners.add(responseListener)
 
             if (timeoutMS == Long.MAX_VALUE) {
-                responseEventListeners.add(
-                    ResponseListenerContainer(
-                        triggerEventId,
-                        null,
-                        listener
-                    )
-                )
                 return@submit
             }
 
             val timeoutCallable: Callable<Unit> = Callable {
-                responseEventListeners.filterRemove { it.triggerEventId == triggerEventId }
+                // Only fail the listener if it has not been notified of its response event in the meantime
+                if (!responseEventListeners.removeTimedOut(responseListener)) {
+                    return@Callable
+                }
+
                 try {
                     listener.fail(AdobeError.CALLBACK_TIMEOUT)
                 } catch (ex: Exception) {
@@ -429,16 +525,8 @@ internal class EventHub {
                     )
                 }
             }
-            val timeoutTask =
+            responseListener.timeoutTask =
                 scheduledExecutor.schedule(timeoutCallable, timeoutMS, TimeUnit.MILLISECONDS)
-
-            responseEventListeners.add(
-                ResponseListenerContainer(
-                    triggerEventId,
-                    timeoutTask,
-                    listener
-                )
-            )
         }
     }
 
@@ -541,6 +629,8 @@ internal class EventHub {
                 LOG_TAG,
                 "Created $sharedStateType shared state for extension \"$extensionName\" with version $version and data ${state?.prettify()}"
             )
+            compactSharedState(sharedStateManager)
+            notifySharedStateSet(sharedStateType, extensionName, sharedStateManager)
             dispatchSharedStateEvent(sharedStateType, extensionName)
         }
 
@@ -647,6 +737,8 @@ internal class EventHub {
                 LOG_TAG,
                 "Resolved pending $sharedStateType shared state for \"$extensionName\" and version $version with data ${immutableState?.prettify()}"
             )
+            compactSharedState(sharedStateManager)
+            notifySharedStateSet(sharedStateType, extensionName, sharedStateManager)
             dispatchSharedStateEvent(sharedStateType, extensionName)
         }
         eventHubExecutor.submit(callable).get()
@@ -668,45 +760,65 @@ internal class EventHub {
         barrier: Boolean,
         resolution: SharedStateResolution
     ): SharedStateResult? {
-        val callable = Callable<SharedStateResult?> {
-            val container = getExtensionContainer(extensionName) ?: run {
-                Log.debug(
-                    CoreConstants.LOG_TAG,
-                    LOG_TAG,
-                    "Unable to retrieve $sharedStateType shared state for \"$extensionName\". No such extension is registered."
-                )
-
-                return@Callable null
+        // An event that was just handed to dispatch() may not have been assigned its number yet.
+        // Resolve it on the EventHub thread so that it observes the version it is dispatched at.
+        if (event != null && getEventNumber(event) == null) {
+            val callable = Callable<SharedStateResult?> {
+                return@Callable resolveSharedState(sharedStateType, extensionName, event, barrier, resolution)
             }
+            return eventHubExecutor.submit(callable).get()
+        }
 
-            val sharedStateManager = getSharedStateManager(sharedStateType, extensionName) ?: run {
-                Log.warning(
-                    CoreConstants.LOG_TAG,
-                    LOG_TAG,
-                    "Unable to retrieve $sharedStateType shared state for \"$extensionName\". SharedStateManager is null"
-                )
-                return@Callable null
-            }
+        // Otherwise resolve it on the caller's thread from the published snapshot of the SharedStateManager.
+        return resolveSharedState(sharedStateType, extensionName, event, barrier, resolution)
+    }
 
-            val version = getEventNumber(event) ?: SharedStateManager.VERSION_LATEST
+    /**
+     * Internal method to retrieve the shared state for a specific extension.
+     * This method does not require the EventHub thread and can be called from any thread.
+     */
+    private fun resolveSharedState(
+        sharedStateType: SharedStateType,
+        extensionName: String,
+        event: Event?,
+        barrier: Boolean,
+        resolution: SharedStateResolution
+    ): SharedStateResult? {
+        val container = getExtensionContainer(extensionName) ?: run {
+            Log.debug(
+                CoreConstants.LOG_TAG,
+                LOG_TAG,
+                "Unable to retrieve $sharedStateType shared state for \"$extensionName\". No such extension is registered."
+            )
 
-            val result: SharedStateResult = when (resolution) {
-                SharedStateResolution.ANY -> sharedStateManager.resolve(version)
-                SharedStateResolution.LAST_SET -> sharedStateManager.resolveLastSet(version)
-            }
+            return null
+        }
 
-            val stateProviderLastVersion = getEventNumber(container.lastProcessedEvent) ?: 0
-            // shared state is still considered pending if barrier is used and the state provider has not processed past the previous event
-            val hasProcessedEvent =
-                if (event == null) true else stateProviderLastVersion > version - 1
-            return@Callable if (barrier && !hasProcessedEvent && result.status == SharedStateStatus.SET) {
-                SharedStateResult(SharedStateStatus.PENDING, result.value)
-            } else {
-                result
-            }
+        val sharedStateManager = container.getSharedStateManager(sharedStateType) ?: run {
+            Log.warning(
+                CoreConstants.LOG_TAG,
+                LOG_TAG,
+                "Unable to retrieve $sharedStateType shared state for \"$extensionName\". SharedStateManager is null"
+            )
+            return null
         }
 
-        return eventHubExecutor.submit(callable).get()
+        val version = getEventNumber(event) ?: SharedStateManager.VERSION_LATEST
+
+        val result: SharedStateResult = when (resolution) {
+            SharedStateResolution.ANY -> sharedStateManager.resolve(version)
+            SharedStateResolution.LAST_SET -> sharedStateManager.resolveLastSet(version)
+        }
+
+        val stateProviderLastVersion = getEventNumber(container.lastProcessedEvent) ?: 0
+        // shared state is still considered pending if barrier is used and the state provider has not processed past the previous event
+        val hasProcessedEvent =
+            if (event == null) true else stateProviderLastVersion > version - 1
+        return if (barrier && !hasProcessedEvent && result.status == SharedStateStatus.SET) {
+            SharedStateResult(SharedStateStatus.PENDING, result.value)
+        } else {
+            result
+        }
     }
 
     /**
@@ -742,6 +854,21 @@ internal class EventHub {
         return eventHubExecutor.submit(callable).get()
     }
 
+    /**
+     * Retrieves the number of shared state versions currently retained for [extensionName].
+     * Reads the published snapshot of the [SharedStateManager], so it does not wait for the EventHub thread.
+     *
+     * @param sharedStateType the type of shared state to inspect
+     * @param extensionName the name of the extension whose shared state is to be inspected
+     * @return the number of retained versions, or null if no such extension is registered
+     */
+    fun getSharedStateVersionCount(
+        sharedStateType: SharedStateType,
+        extensionName: String
+    ): Int? {
+        return getSharedStateManager(sharedStateType, extensionName)?.retainedVersionCount
+    }
+
     /**
      * Stops processing events and shuts down all registered extensions.
      */
@@ -761,18 +888,73 @@ internal class EventHub {
     }
 
     /**
-     * Retrieve the event number for the Event from the [eventNumberMap]
+     * Creates a snapshot of the runtime metrics of the EventHub and its registered extensions.
+     * Extension metrics only account for the time [metricsEnabled] was set.
+     *
+     * @return the current [EventHubMetrics]
+     */
+    fun getMetrics(): EventHubMetrics {
+        val extensions = mutableMapOf<String, ExtensionMetrics>()
+        registeredExtensions.values.forEach {
+            val extensionName = it.sharedStateName ?: return@forEach
+            extensions[extensionName] = it.getMetrics()
+        }
+
+        return EventHubMetrics(extensions, pendingResponseListenerCount, responseListenerTimeoutCount)
+    }
+
+    /**
+     * Delivers a snapshot of the runtime metrics to [callback] every [intervalMillis] milliseconds, replacing
+     * any callback set previously. Passing a null [callback] stops the delivery.
+     *
+     * @param intervalMillis the interval between two snapshots, in milliseconds
+     * @param callback the callback receiving the snapshots, called on a background thread
+     */
+    @Synchronized
+    fun setMetricsCallback(intervalMillis: Long, callback: AdobeCallback<EventHubMetrics>?) {
+        metricsCallbackTask?.cancel(false)
+        metricsCallbackTask = null
+
+        if (callback == null) {
+            return
+        }
+
+        if (intervalMillis <= 0) {
+            Log.warning(
+                CoreConstants.LOG_TAG,
+                LOG_TAG,
+                "Failed to set metrics callback - interval $intervalMillis ms is not positive"
+            )
+            return
+        }
+
+        metricsCallbackTask = scheduledExecutor.scheduleAtFixedRate(
+            {
+                try {
+                    callback.call(getMetrics())
+                } catch (ex: Exception) {
+                    Log.warning(
+                        CoreConstants.LOG_TAG,
+                        LOG_TAG,
+                        "Exception thrown from metrics callback - $ex"
+                    )
+                }
+            },
+            intervalMillis,
+            intervalMillis,
+            TimeUnit.MILLISECONDS
+        )
+    }
+
+    /**
+     * Retrieve the event number that was assigned to the Event when it was dispatched
      *
      * @param event the [Event] for which the event number should be resolved
      * @return the event number for the event if it exists (if it has been recorded/dispatched),
      *         null otherwise
      */
     private fun getEventNumber(event: Event?): Int? {
-        if (event == null) {
-            return null
-        }
-        val eventUUID = event.uniqueIdentifier
-        return eventNumberMap[eventUUID]
+        return event?.dispatchNumber
     }
 
     /**
@@ -816,7 +998,7 @@ internal class EventHub {
      * @return [SharedStateManager] with [extensionName] provided if one was registered and initialized
      *         null otherwise
      */
-    private fun getSharedStateManager(
+    fun getSharedStateManager(
         sharedStateType: SharedStateType,
         extensionName: String
     ): SharedStateManager? {
@@ -851,6 +1033,66 @@ internal class EventHub {
         }
     }
 
+    /**
+     * Retrieves the smallest event number that is still queued for processing, either by the EventHub or by a registered extension.
+     * Extensions resolve shared state at the events they process, so versions older than this are no longer requested.
+     * Extensions that have no events queued do not hold back this number, however long ago they processed their last event.
+     * Must be called on the EventHub thread, so that no event is numbered in the meantime.
+     *
+     * @return the smallest event number that is still queued, or the number of the next event if none is
+     */
+    private fun getOldestQueuedEventNumber(): Int {
+        // Read the EventHub queue first: a batch is only removed from it once it has been queued for every extension.
+        var oldestQueuedEventNumber = lastEventNumber.get() + 1
+        eventDispatcher.peekWorkItem()?.firstOrNull()?.dispatchNumber?.let {
+            oldestQueuedEventNumber = minOf(oldestQueuedEventNumber, it)
+        }
+        registeredExtensions.values.forEach { container ->
+            container.getOldestQueuedEvent()?.dispatchNumber?.let {
+                oldestQueuedEventNumber = minOf(oldestQueuedEventNumber, it)
+            }
+        }
+        return oldestQueuedEventNumber
+    }
+
+    /**
+     * Drops the shared state versions of [sharedStateManager] that can no longer be requested, once it has grown
+     * past [SharedStateManager.COMPACTION_THRESHOLD] versions.
+     *
+     * @param sharedStateManager the [SharedStateManager] to compact
+     */
+    private fun compactSharedState(sharedStateManager: SharedStateManager) {
+        if (sharedStateManager.retainedVersionCount <= SharedStateManager.COMPACTION_THRESHOLD) {
+            return
+        }
+
+        val removed = sharedStateManager.compact(getOldestQueuedEventNumber())
+        if (removed > 0) {
+            Log.trace(
+                CoreConstants.LOG_TAG,
+                LOG_TAG,
+                "Compacted shared state history, dropped $removed versions"
+            )
+        }
+    }
+
+    /**
+     * Wakes the extensions waiting on the shared state of [extensionName] to be set.
+     *
+     * @param sharedStateType The type of shared state set
+     * @param extensionName Extension whose shared state was updated
+     * @param sharedStateManager The [SharedStateManager] holding the updated shared state
+     */
+    private fun notifySharedStateSet(
+        sharedStateType: SharedStateType,
+        extensionName: String,
+        sharedStateManager: SharedStateManager
+    ) {
+        registeredExtensions.values.forEach {
+            it.onSharedStateSet(sharedStateType, extensionName, sharedStateManager)
+        }
+    }
+
     /**
      * Dispatch shared state update event for the [sharedStateType] and [extensionName]
      * @param sharedStateType The type of shared state set
@@ -864,7 +1106,7 @@ internal class EventHub {
 
         val event = Event.Builder(eventName, EventType.HUB, EventSource.SHARED_STATE)
             .setEventData(data).build()
-        dispatchInternal(event)
+        dispatchInternal(listOf(event))
     }
 
     private fun shareEventHubSharedState() {
@@ -886,9 +1128,10 @@ internal class EventHub {
             }
         }
 
+        val wrapperType = wrapper.type
         val wrapperInfo = mapOf(
-            EventHubConstants.EventDataKeys.TYPE to _wrapperType.wrapperTag,
-            EventHubConstants.EventDataKeys.FRIENDLY_NAME to _wrapperType.friendlyName
+            EventHubConstants.EventDataKeys.TYPE to wrapperType.wrapperTag,
+            EventHubConstants.EventDataKeys.FRIENDLY_NAME to wrapperType.friendlyName
         )
 
         val data = mapOf(
@@ -920,15 +1163,13 @@ internal class EventHub {
     }
 }
 
-private fun <T> MutableCollection<T>.filterRemove(predicate: (T) -> Boolean): MutableCollection<T> {
-    val ret = mutableListOf<T>()
-    this.removeAll {
-        if (predicate(it)) {
-            ret.add(it)
-            true
-        } else {
-            false
-        }
+/**
+ * Immutable pairing of a [WrapperType] with the SDK version string reported for it.
+ */
+private class WrapperInfo(val type: WrapperType) {
+    val sdkVersion: String = if (type == WrapperType.NONE) {
+        EventHubConstants.VERSION_NUMBER
+    } else {
+        EventHubConstants.VERSION_NUMBER + "-" + type.wrapperTag
     }
-    return ret
 }
@@ -17,6 +17,7 @@ import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
 import com.adobe.marketing.mobile.ExtensionEventListener
 import com.adobe.marketing.mobile.internal.CoreConstants
+import com.adobe.marketing.mobile.listenerRouteKey
 import com.adobe.marketing.mobile.services.Log
 import java.lang.Exception
 import java.util.concurrent.ScheduledFuture
@@ -29,7 +30,7 @@ internal sealed class EventListenerContainer {
 
 internal class ResponseListenerContainer(
     val triggerEventId: String,
-    val timeoutTask: ScheduledFuture<Unit>?,
+    @Volatile var timeoutTask: ScheduledFuture<Unit>?,
     val listener: AdobeCallbackWithError<Event>
 ) : EventListenerContainer() {
     override fun shouldNotify(event: Event): Boolean {
@@ -72,3 +73,78 @@ internal class ExtensionListenerContainer(val eventType: String, val eventSource
         }
     }
 }
+
+/**
+ * Routes events to the [ExtensionListenerContainer]s registered for their type and source.
+ * Listeners are indexed by their normalized type and source when they are registered so that finding
+ * the listeners for an event is a single hash lookup instead of a scan over every listener.
+ * Each route holds the matching listeners, including wildcard listeners, in registration order.
+ *
+ * Instances are immutable. [add] returns an updated copy of the index.
+ */
+internal class ExtensionListenerIndex private constructor(
+    private val routes: Map<String, List<ExtensionListenerContainer>>,
+    private val wildcardListeners: List<ExtensionListenerContainer>
+) {
+    constructor() : this(emptyMap(), emptyList())
+
+    /**
+     * Returns a copy of this index which additionally routes events to [listener].
+     *
+     * @param listener the [ExtensionListenerContainer] to be added
+     * @return the updated [ExtensionListenerIndex]
+     */
+    fun add(listener: ExtensionListenerContainer): ExtensionListenerIndex {
+        if (listener.eventType == EventType.WILDCARD && listener.eventSource == EventSource.WILDCARD) {
+            // Wildcard listeners are notified of every event, so they are appended to every route.
+            return ExtensionListenerIndex(
+                routes.mapValues { (_, listeners) -> listeners + listener },
+                wildcardListeners + listener
+            )
+        }
+
+        val key = routeKey(listener.eventType, listener.eventSource)
+        val listeners = routes[key] ?: wildcardListeners
+        return ExtensionListenerIndex(routes + (key to (listeners + listener)), wildcardListeners)
+    }
+
+    /**
+     * Retrieves the listeners that should be notified of [event], in registration order.
+     *
+     * @param event the [Event] to be routed
+     * @return the [ExtensionListenerContainer]s for which [ExtensionListenerContainer.shouldNotify] is true
+     */
+    fun listenersFor(event: Event): List<ExtensionListenerContainer> {
+        // Wildcard listeners should only be notified of paired response events.
+        if (event.responseID != null) {
+            return wildcardListeners
+        }
+
+        val key = event.listenerRouteKey ?: run {
+            val type = event.type ?: return wildcardListeners
+            val source = event.source ?: return wildcardListeners
+            routeKey(type, source).also { event.listenerRouteKey = it }
+        }
+        return routes[key] ?: wildcardListeners
+    }
+
+    /**
+     * Builds the key of the route for [type] and [source]. The key is the same for a type and source that
+     * are equal ignoring case, with the same per character folding as [String.equals] ignoring case.
+     * The length of [type] is included so that no other type and source produce the same key.
+     */
+    private fun routeKey(type: String, source: String): String {
+        val key = StringBuilder(type.length + source.length + 8)
+        key.append(type.length).append('|')
+        appendFolded(key, type)
+        key.append('|')
+        appendFolded(key, source)
+        return key.toString()
+    }
+
+    private fun appendFolded(builder: StringBuilder, value: String) {
+        for (char in value) {
+            builder.append(Character.toLowerCase(Character.toUpperCase(char)))
+        }
+    }
+}
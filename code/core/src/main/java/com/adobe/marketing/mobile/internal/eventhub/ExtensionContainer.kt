@@ -20,14 +20,34 @@ import com.adobe.marketing.mobile.EventHistoryResultHandler
 import com.adobe.marketing.mobile.Extension
 import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.ExtensionEventListener
+import com.adobe.marketing.mobile.ExtensionMetrics
 import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.SharedStateResolver
 import com.adobe.marketing.mobile.SharedStateResult
+import com.adobe.marketing.mobile.dispatchNumber
 import com.adobe.marketing.mobile.internal.CoreConstants
 import com.adobe.marketing.mobile.launch.rulesengine.convertEventHistoryResultToInt
 import com.adobe.marketing.mobile.services.Log
 import com.adobe.marketing.mobile.util.SerialWorkDispatcher
-import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * A shared state that an extension waits on before it can process its next event.
+ *
+ * @property type the [SharedStateType] of the awaited shared state
+ * @property extensionName the name of the extension owning the awaited shared state
+ * @property version the shared state version that ends the wait once it resolves to a SET state
+ * @property deadlineNanos the [System.nanoTime] after which the wait no longer holds back events
+ */
+internal class SharedStateWait(
+    val type: SharedStateType,
+    val extensionName: String,
+    val version: Int,
+    val deadlineNanos: Long
+) {
+    fun isExpired(): Boolean = System.nanoTime() - deadlineNanos >= 0
+}
 
 internal class ExtensionContainer constructor(
     private val extensionClass: Class<out Extension>,
@@ -36,8 +56,15 @@ internal class ExtensionContainer constructor(
 
     companion object {
         const val LOG_TAG = "ExtensionContainer"
+
+        /**
+         * The time after which a [SharedStateWait] that was not satisfied stops holding back events.
+         * [Extension.readyForEvent] is then polled again when the next event is queued.
+         */
+        val SHARED_STATE_WAIT_TIMEOUT_NANOS: Long = TimeUnit.SECONDS.toNanos(5)
     }
 
+    @Volatile
     var sharedStateName: String? = null
         private set
 
@@ -50,15 +77,36 @@ internal class ExtensionContainer constructor(
     var metadata: Map<String, String>? = null
         private set
 
+    @Volatile
     var lastProcessedEvent: Event? = null
         private set
 
     var extension: Extension? = null
         private set
 
+    @Volatile
     private var sharedStateManagers: Map<SharedStateType, SharedStateManager>? = null
-    private val eventListeners: ConcurrentLinkedQueue<ExtensionListenerContainer> =
-        ConcurrentLinkedQueue()
+
+    @Volatile
+    private var eventListeners: ExtensionListenerIndex = ExtensionListenerIndex()
+
+    /**
+     * Denotes whether events that no listener is registered for can bypass the event queue.
+     * This is only the case once the extension is registered, and if it does not override [Extension.readyForEvent].
+     */
+    @Volatile
+    private var canSkipUnheardEvents = false
+
+    /**
+     * The shared state the extension is waiting on, see [resumeOnSharedState].
+     * Events are not handed to [Extension.readyForEvent] until the wait is over.
+     */
+    private val sharedStateWait: AtomicReference<SharedStateWait?> = AtomicReference(null)
+
+    /**
+     * Records the runtime metrics of this extension while [ExtensionMetricsRecorder.enabled].
+     */
+    private val metrics = ExtensionMetricsRecorder()
 
     /**
      * Implementation of [SerialWorkDispatcher.WorkHandler] that is responsible for dispatching
@@ -66,12 +114,21 @@ internal class ExtensionContainer constructor(
      */
     private val dispatchJob: SerialWorkDispatcher.WorkHandler<Event> =
         SerialWorkDispatcher.WorkHandler { event ->
-            if (extension?.readyForEvent(event) != true) {
+            val recordMetrics = ExtensionMetricsRecorder.enabled
+            if (isWaitingForSharedState() || extension?.readyForEvent(event) != true) {
+                if (recordMetrics) metrics.onBlocked()
                 return@WorkHandler false
             }
 
-            eventListeners.forEach {
-                if (it.shouldNotify(event)) {
+            if (recordMetrics) {
+                metrics.onEventDelivered(event)
+                eventListeners.listenersFor(event).forEach {
+                    val start = System.nanoTime()
+                    it.notify(event)
+                    metrics.onListenerExecuted(System.nanoTime() - start)
+                }
+            } else {
+                eventListeners.listenersFor(event).forEach {
                     it.notify(event)
                 }
             }
@@ -114,6 +171,8 @@ internal class ExtensionContainer constructor(
 
         // Notify that the extension is registered
         extension.onExtensionRegistered()
+
+        canSkipUnheardEvents = !extension.overridesReadyForEvent()
     }
 
     private val teardownJob = Runnable {
@@ -125,8 +184,17 @@ internal class ExtensionContainer constructor(
         )
     }
 
+    /**
+     * Processes the events of the extension. The container of the [EventHubPlaceholderExtension] is created
+     * along with the EventHub, which may happen before the [com.adobe.marketing.mobile.internal.util.SharedThreadPool]
+     * mode is selected, so it always runs on a thread of its own like the EventHub dispatcher.
+     */
     val eventProcessor: SerialWorkDispatcher<Event> =
-        SerialWorkDispatcher(extensionClass.extensionTypeName, dispatchJob)
+        SerialWorkDispatcher(
+            extensionClass.extensionTypeName,
+            dispatchJob,
+            extensionClass == EventHubPlaceholderExtension::class.java
+        )
 
     init {
 
@@ -139,6 +207,128 @@ internal class ExtensionContainer constructor(
         eventProcessor.shutdown()
     }
 
+    /**
+     * Queues [event] for processing by the extension.
+     * If no listener is registered for [event] and the extension has no other events queued, the event is
+     * marked as processed without being queued.
+     *
+     * @param event the [Event] to be processed
+     * @return true if [event] has been queued or skipped, false otherwise
+     */
+    fun offer(event: Event): Boolean {
+        if (canSkipUnheardEvents && eventListeners.listenersFor(event).isEmpty() && eventProcessor.isIdle()) {
+            // Events are only offered from the EventHub dispatch thread and the extension has no pending work,
+            // so nothing else can be updating the last processed event at this point.
+            lastProcessedEvent = event
+            return true
+        }
+
+        return eventProcessor.offer(event)
+    }
+
+    /**
+     * Queues [events] for processing by the extension, in order.
+     * Leading events that no listener is registered for are marked as processed without being queued,
+     * as long as the extension has no other events queued. See [offer].
+     *
+     * @param events the [Event]s to be processed
+     * @return true if [events] have been queued or skipped, false otherwise
+     */
+    fun offerAll(events: List<Event>): Boolean {
+        if (events.size == 1) {
+            return offer(events[0])
+        }
+
+        var firstQueuedIndex = 0
+        if (canSkipUnheardEvents && eventProcessor.isIdle()) {
+            while (firstQueuedIndex < events.size && eventListeners.listenersFor(events[firstQueuedIndex]).isEmpty()) {
+                lastProcessedEvent = events[firstQueuedIndex]
+                firstQueuedIndex++
+            }
+        }
+
+        return when (firstQueuedIndex) {
+            events.size -> true
+            0 -> eventProcessor.offerAll(events)
+            else -> eventProcessor.offerAll(events.subList(firstQueuedIndex, events.size))
+        }
+    }
+
+    /**
+     * Ends the wait requested via [resumeOnSharedState] if [sharedStateManager] now satisfies it,
+     * and resumes processing of the queued events.
+     *
+     * @param type the [SharedStateType] of the shared state that was set
+     * @param extensionName the name of the extension whose shared state was set
+     * @param sharedStateManager the [SharedStateManager] holding the shared state that was set
+     */
+    fun onSharedStateSet(type: SharedStateType, extensionName: String, sharedStateManager: SharedStateManager) {
+        val wait = sharedStateWait.get() ?: return
+        if (wait.type != type || !wait.extensionName.equals(extensionName, true)) {
+            return
+        }
+
+        if (sharedStateManager.isSetAt(wait.version) && sharedStateWait.compareAndSet(wait, null)) {
+            eventProcessor.requestResume()
+        }
+    }
+
+    /**
+     * Ends the wait requested via [resumeOnSharedState] if it is on the shared state of an extension
+     * that was unregistered, as that shared state will not be set anymore, and resumes processing
+     * of the queued events.
+     *
+     * @param extensionName the shared state name of the extension that was unregistered
+     */
+    fun onSharedStateProviderUnregistered(extensionName: String) {
+        val wait = sharedStateWait.get() ?: return
+        if (!wait.extensionName.equals(extensionName, true)) {
+            return
+        }
+
+        if (sharedStateWait.compareAndSet(wait, null)) {
+            eventProcessor.requestResume()
+        }
+    }
+
+    /**
+     * Checks whether the extension is still waiting on a shared state, ending the wait
+     * once it has expired.
+     *
+     * @return true if events should be held back until the awaited shared state is set, false otherwise
+     */
+    private fun isWaitingForSharedState(): Boolean {
+        val wait = sharedStateWait.get() ?: return false
+        if (!wait.isExpired()) {
+            return true
+        }
+
+        if (sharedStateWait.compareAndSet(wait, null)) {
+            Log.debug(
+                CoreConstants.LOG_TAG,
+                getTag(),
+                "Shared state ${wait.extensionName} was not set in time, polling readyForEvent again."
+            )
+        }
+        return false
+    }
+
+    /**
+     * Retrieves the oldest event that is queued for, or being processed by, the extension.
+     *
+     * @return the oldest queued [Event], or null if no event is queued
+     */
+    fun getOldestQueuedEvent(): Event? {
+        return eventProcessor.peekWorkItem()
+    }
+
+    /**
+     * Creates a snapshot of the runtime metrics recorded for this extension.
+     */
+    fun getMetrics(): ExtensionMetrics {
+        return metrics.snapshot(eventProcessor.queueDepth())
+    }
+
     /**
      * Returns instance of [SharedStateManager] for [SharedStateType]
      */
@@ -155,12 +345,13 @@ internal class ExtensionContainer constructor(
     }
 
     // Override ExtensionApi Methods
+    @Synchronized
     override fun registerEventListener(
         eventType: String,
         eventSource: String,
         eventListener: ExtensionEventListener
     ) {
-        eventListeners.add(ExtensionListenerContainer(eventType, eventSource, eventListener))
+        eventListeners = eventListeners.add(ExtensionListenerContainer(eventType, eventSource, eventListener))
     }
 
     override fun dispatch(
@@ -169,7 +360,12 @@ internal class ExtensionContainer constructor(
         EventHub.shared.dispatch(event)
     }
 
+    override fun dispatch(events: List<Event>) {
+        EventHub.shared.dispatch(events)
+    }
+
     override fun startEvents() {
+        sharedStateWait.set(null)
         eventProcessor.resume()
     }
 
@@ -278,6 +474,34 @@ internal class ExtensionContainer constructor(
         )
     }
 
+    override fun resumeOnSharedState(extensionName: String, event: Event?) {
+        waitForSharedState(SharedStateType.STANDARD, extensionName, event)
+    }
+
+    override fun resumeOnXDMSharedState(extensionName: String, event: Event?) {
+        waitForSharedState(SharedStateType.XDM, extensionName, event)
+    }
+
+    private fun waitForSharedState(type: SharedStateType, extensionName: String, event: Event?) {
+        // Like getSharedState, a null event waits on the latest shared state.
+        val version = event?.dispatchNumber ?: SharedStateManager.VERSION_LATEST
+        val wait = SharedStateWait(type, extensionName, version, System.nanoTime() + SHARED_STATE_WAIT_TIMEOUT_NANOS)
+        sharedStateWait.set(wait)
+
+        // Without a registered provider there is no shared state to be notified about, so the
+        // extension is asked again for the next events instead of waiting.
+        val sharedStateManager = EventHub.shared.getSharedStateManager(type, extensionName) ?: run {
+            sharedStateWait.compareAndSet(wait, null)
+            return
+        }
+
+        // The shared state may have been set before the wait was published, in which case
+        // the EventHub will not notify this container about it.
+        if (sharedStateManager.isSetAt(wait.version) && sharedStateWait.compareAndSet(wait, null)) {
+            eventProcessor.requestResume()
+        }
+    }
+
     override fun unregisterExtension() {
         EventHub.shared.unregisterExtension(extensionClass) {}
     }
@@ -11,6 +11,7 @@
 
 package com.adobe.marketing.mobile.internal.eventhub
 
+import com.adobe.marketing.mobile.Event
 import com.adobe.marketing.mobile.Extension
 import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.ExtensionHelper
@@ -73,6 +74,17 @@ internal fun Extension.onExtensionRegistered() {
     ExtensionHelper.notifyRegistered(this)
 }
 
+/**
+ * Function to check if the Extension provides its own implementation of [Extension.readyForEvent]
+ */
+internal fun Extension.overridesReadyForEvent(): Boolean {
+    return try {
+        this.javaClass.getMethod("readyForEvent", Event::class.java).declaringClass != Extension::class.java
+    } catch (ex: Exception) {
+        true
+    }
+}
+
 /**
  * Helper to get extension type name
  */
@@ -0,0 +1,110 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.eventhub
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.ExtensionMetrics
+import com.adobe.marketing.mobile.dispatchTimeNanos
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Records the runtime metrics of an [ExtensionContainer].
+ * Callers are expected to check [enabled] before recording, so that disabled metrics cost a single volatile read.
+ */
+internal class ExtensionMetricsRecorder {
+
+    companion object {
+        /**
+         * Denotes whether EventHub metrics are being recorded.
+         */
+        @Volatile
+        @JvmStatic
+        var enabled: Boolean = false
+    }
+
+    private val eventsProcessed = AtomicLong(0)
+    private val blockedNanos = AtomicLong(0)
+
+    /**
+     * The [System.nanoTime] at which the event queue got blocked by [com.adobe.marketing.mobile.Extension.readyForEvent],
+     * 0 if it is not blocked. Only accessed from the extension's event queue.
+     */
+    @Volatile
+    private var blockedSinceNanos = 0L
+
+    private val listenerExecution = DurationHistogram()
+    private val deliveryLatency = DurationHistogram()
+
+    /**
+     * Records that the event queue could not process its next event.
+     */
+    fun onBlocked() {
+        if (blockedSinceNanos == 0L) {
+            blockedSinceNanos = System.nanoTime()
+        }
+    }
+
+    /**
+     * Records that [event] is being delivered to the extension's listeners.
+     * Events skipped without being queued, because no listener is registered for them, are not recorded.
+     *
+     * @param event the [Event] delivered
+     */
+    fun onEventDelivered(event: Event) {
+        val now = System.nanoTime()
+        val blockedSince = blockedSinceNanos
+        if (blockedSince != 0L) {
+            blockedNanos.addAndGet(now - blockedSince)
+            blockedSinceNanos = 0L
+        }
+
+        eventsProcessed.incrementAndGet()
+        val dispatchTime = event.dispatchTimeNanos
+        if (dispatchTime != 0L) {
+            deliveryLatency.record(now - dispatchTime)
+        }
+    }
+
+    /**
+     * Records the execution time of a listener.
+     *
+     * @param durationNanos the time the listener took to handle an event, in nanoseconds
+     */
+    fun onListenerExecuted(durationNanos: Long) {
+        listenerExecution.record(durationNanos)
+    }
+
+    /**
+     * Creates a snapshot of the recorded metrics.
+     *
+     * @param queueDepth the number of events waiting in the extension's event queue
+     * @return the [ExtensionMetrics] recorded so far
+     */
+    fun snapshot(queueDepth: Int): ExtensionMetrics {
+        var blocked = blockedNanos.get()
+        val blockedSince = blockedSinceNanos
+        if (blockedSince != 0L) {
+            blocked += System.nanoTime() - blockedSince
+        }
+
+        return ExtensionMetrics(
+            queueDepth,
+            eventsProcessed.get(),
+            TimeUnit.NANOSECONDS.toMillis(blocked),
+            listenerExecution.counts(),
+            deliveryLatency.percentileMicros(0.5),
+            deliveryLatency.percentileMicros(0.9),
+            deliveryLatency.percentileMicros(0.99)
+        )
+    }
+}
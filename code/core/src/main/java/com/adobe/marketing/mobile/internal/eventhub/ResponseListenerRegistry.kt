@@ -0,0 +1,101 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.eventhub
+
+import androidx.annotation.VisibleForTesting
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Stores the [ResponseListenerContainer]s waiting for a response event, indexed by the id of their trigger event.
+ * Finding and removing the listeners for a response event, or a single listener on timeout, does not
+ * require scanning the listeners registered for other trigger events.
+ */
+internal class ResponseListenerRegistry {
+
+    /**
+     * A mapping between the id of a trigger event to the listeners waiting for its response, in registration order.
+     */
+    private val listeners: MutableMap<String, MutableList<ResponseListenerContainer>> = HashMap()
+
+    private val timeouts: AtomicInteger = AtomicInteger(0)
+
+    /**
+     * The number of listeners still waiting for a response event.
+     */
+    @get:Synchronized
+    var pendingCount: Int = 0
+        private set
+
+    /**
+     * The number of listeners that timed out before their response event was dispatched.
+     */
+    val timeoutCount: Int
+        get() = timeouts.get()
+
+    /**
+     * Adds [listener] to the listeners waiting for the response to [ResponseListenerContainer.triggerEventId].
+     *
+     * @param listener the [ResponseListenerContainer] to be added
+     */
+    @Synchronized
+    fun add(listener: ResponseListenerContainer) {
+        listeners.getOrPut(listener.triggerEventId) { ArrayList(1) }.add(listener)
+        pendingCount++
+    }
+
+    /**
+     * Removes and returns all the listeners waiting for the response to [triggerEventId].
+     *
+     * @param triggerEventId the id of the trigger event
+     * @return the removed [ResponseListenerContainer]s, in registration order
+     */
+    @Synchronized
+    fun removeAll(triggerEventId: String): List<ResponseListenerContainer> {
+        val removed = listeners.remove(triggerEventId) ?: return emptyList()
+        pendingCount -= removed.size
+        return removed
+    }
+
+    /**
+     * Removes [listener] after it timed out waiting for its response event.
+     *
+     * @param listener the [ResponseListenerContainer] that timed out
+     * @return true if [listener] was still waiting and has been removed,
+     *         false if it has already been removed (i.e. notified of its response event)
+     */
+    @Synchronized
+    fun removeTimedOut(listener: ResponseListenerContainer): Boolean {
+        val triggerListeners = listeners[listener.triggerEventId] ?: return false
+        if (!triggerListeners.remove(listener)) {
+            return false
+        }
+
+        if (triggerListeners.isEmpty()) {
+            listeners.remove(listener.triggerEventId)
+        }
+        pendingCount--
+        timeouts.incrementAndGet()
+        return true
+    }
+
+    /**
+     * Retrieves the listeners waiting for the response to [triggerEventId].
+     *
+     * @param triggerEventId the id of the trigger event
+     * @return a copy of the [ResponseListenerContainer]s waiting for [triggerEventId], in registration order
+     */
+    @VisibleForTesting
+    @Synchronized
+    fun get(triggerEventId: String): List<ResponseListenerContainer> {
+        return listeners[triggerEventId]?.toList() ?: emptyList()
+    }
+}
@@ -15,7 +15,6 @@ import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
 import com.adobe.marketing.mobile.internal.CoreConstants
 import com.adobe.marketing.mobile.services.Log
-import java.util.TreeMap
 
 /**
  * Internal representation of a shared event state.
@@ -25,6 +24,38 @@ private data class SharedState constructor(val version: Int, val status: SharedS
     fun getResult(): SharedStateResult = SharedStateResult(status, data)
 }
 
+/**
+ * An immutable view of the shared states retained by a [SharedStateManager], ordered by version.
+ * Holds the states at indices [start] (inclusive) to [end] (exclusive) of [states]. Slots past [end] are
+ * not part of this view, so a newer view can append to the same array without affecting this one.
+ */
+private class SharedStateSnapshot(val states: Array<SharedState?>, val start: Int, val end: Int) {
+    val size: Int
+        get() = end - start
+
+    operator fun get(index: Int): SharedState = states[start + index]!!
+
+    /**
+     * Finds the index of the state with the highest version at or before [version].
+     *
+     * @param version the version to search for
+     * @return the index of the state at or before [version], -1 if there is no such state
+     */
+    fun floorIndex(version: Int): Int {
+        var low = 0
+        var high = size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            if (get(mid).version <= version) {
+                low = mid + 1
+            } else {
+                high = mid - 1
+            }
+        }
+        return high
+    }
+}
+
 /**
  * Represents the types of shared state that are supported.
  */
@@ -35,10 +66,14 @@ internal enum class SharedStateType {
 
 /**
  * Responsible for managing the shared state operations for an extension.
- * Employs a red-black tree to store the state data and their versions
+ * Stores the states in an array ordered by version, as states are only ever created at increasing versions.
  * The knowledge of whether or not a state is pending is deferred to the caller to ensure this class
  * is decoupled from the rules for a pending state.
  *
+ * Writes are serialized and publish a new immutable [SharedStateSnapshot], so reads never take a lock
+ * and always observe a consistent snapshot of the versions. Creating a state appends it to the array
+ * shared with the previous snapshot, and only resolving a pending state copies the retained versions.
+ *
  * Note that the methods in this class fall on the public ExtensionApi path and, changes to method
  * behaviors may impact the shared state API behavior.
  */
@@ -47,14 +82,29 @@ internal class SharedStateManager(private val name: String) {
     private val LOG_TAG = "SharedStateManager($name)"
 
     /**
-     * A mapping between the version of the state to the state.
+     * The states retained by this manager, ordered by version.
+     * A snapshot is never mutated once published. Writers replace it with an updated one.
      */
-    private val states: TreeMap<Int, SharedState> = TreeMap<Int, SharedState>()
+    @Volatile
+    private var states: SharedStateSnapshot = SharedStateSnapshot(arrayOfNulls(INITIAL_CAPACITY), 0, 0)
 
     companion object {
         const val VERSION_LATEST: Int = Int.MAX_VALUE
+
+        /**
+         * The number of retained versions above which the owner of this manager should attempt to [compact] it.
+         */
+        const val COMPACTION_THRESHOLD: Int = 16
+
+        private const val INITIAL_CAPACITY: Int = COMPACTION_THRESHOLD * 2
     }
 
+    /**
+     * The number of shared state versions currently retained by this manager.
+     */
+    val retainedVersionCount: Int
+        get() = states.size
+
     /**
      * Sets the shared state for the extension at [version] as [data] if it does not already exist.
      *
@@ -87,14 +137,22 @@ internal class SharedStateManager(private val name: String) {
      */
     @Synchronized
     fun updatePendingState(version: Int, data: Map<String, Any?>?): Boolean {
-        val stateAtVersion = states[version] ?: return false
-        if (stateAtVersion.status != SharedStateStatus.PENDING) {
+        val snapshot = states
+        val index = snapshot.floorIndex(version)
+        if (index < 0) {
+            return false
+        }
+
+        val stateAtVersion = snapshot[index]
+        if (stateAtVersion.version != version || stateAtVersion.status != SharedStateStatus.PENDING) {
             return false
         }
 
         // At this point, there exists a previously recorded state at the version provided.
-        // Overwrite its value with a confirmed state.
-        states[version] = SharedState(version, SharedStateStatus.SET, data)
+        // Overwrite its value with a confirmed state in a copy, as older snapshots may still be read.
+        val copy = copyOf(snapshot, maxOf(INITIAL_CAPACITY, snapshot.size * 2))
+        copy[index] = SharedState(version, SharedStateStatus.SET, data)
+        states = SharedStateSnapshot(copy, 0, snapshot.size)
         return true
     }
 
@@ -107,16 +165,17 @@ internal class SharedStateManager(private val name: String) {
      *         shared state at [version] does not exist,
      *         null - If no state at or before [version] is found
      */
-    @Synchronized
     fun resolve(version: Int): SharedStateResult {
+        val snapshot = states
+
         // Return first state equal to or less than version
-        val resolvedState = states.floorEntry(version)?.value
-        if (resolvedState != null) {
-            return resolvedState.getResult()
+        val index = snapshot.floorIndex(version)
+        if (index >= 0) {
+            return snapshot[index].getResult()
         }
 
         // If not return the lowest shared state or null if empty
-        return states.firstEntry()?.value?.getResult() ?: SharedStateResult(SharedStateStatus.NONE, null)
+        return if (snapshot.size > 0) snapshot[0].getResult() else SharedStateResult(SharedStateStatus.NONE, null)
     }
 
     /**
@@ -128,18 +187,19 @@ internal class SharedStateManager(private val name: String) {
      *         shared state at [version] does not exist,
      *         null - If no state at or before [version] is found
      */
-    @Synchronized
     fun resolveLastSet(version: Int): SharedStateResult {
+        val snapshot = states
+
         // Return the first non pending state equal to or less than version
-        states.descendingMap().tailMap(version).forEach {
-            val state = it.value
+        for (index in snapshot.floorIndex(version) downTo 0) {
+            val state = snapshot[index]
             if (state.status != SharedStateStatus.PENDING) {
                 return state.getResult()
             }
         }
 
         // If not return the lowest shared state if it is non pending or null otherwise
-        val lowestState = states.firstEntry()?.value
+        val lowestState = if (snapshot.size > 0) snapshot[0] else null
         return if (lowestState?.status == SharedStateStatus.SET) {
             lowestState.getResult()
         } else {
@@ -147,18 +207,72 @@ internal class SharedStateManager(private val name: String) {
         }
     }
 
+    /**
+     * Drops the versions that can no longer be resolved by a reader asking for a version at or after [floorVersion].
+     * The state that [floorVersion] resolves to, the last SET state at or before it and all pending states
+     * (which can still be resolved via [updatePendingState]) are always retained, so [resolve] and [resolveLastSet]
+     * return the same result as before compaction for any version at or after [floorVersion].
+     *
+     * @param floorVersion the oldest version that may still be requested
+     * @return the number of versions that were dropped
+     */
+    @Synchronized
+    fun compact(floorVersion: Int): Int {
+        val snapshot = states
+
+        // Find the last SET state that readers at or after the floor can fall back on.
+        var lastSetIndex = snapshot.floorIndex(floorVersion)
+        while (lastSetIndex >= 0 && snapshot[lastSetIndex].status != SharedStateStatus.SET) {
+            lastSetIndex--
+        }
+        if (lastSetIndex <= 0) {
+            return 0
+        }
+
+        var pendingCount = 0
+        for (index in 0 until lastSetIndex) {
+            if (snapshot[index].status == SharedStateStatus.PENDING) pendingCount++
+        }
+
+        if (pendingCount == 0) {
+            // The dropped versions are a prefix, so the new snapshot can share the array.
+            states = SharedStateSnapshot(snapshot.states, snapshot.start + lastSetIndex, snapshot.end)
+            return lastSetIndex
+        }
+
+        val copy = arrayOfNulls<SharedState>(maxOf(INITIAL_CAPACITY, snapshot.size * 2))
+        var size = 0
+        for (index in 0 until snapshot.size) {
+            val state = snapshot[index]
+            if (index >= lastSetIndex || state.status == SharedStateStatus.PENDING) {
+                copy[size++] = state
+            }
+        }
+        states = SharedStateSnapshot(copy, 0, size)
+        return snapshot.size - size
+    }
+
     /**
      * Removes all the states being tracked from [states]
      */
     @Synchronized
     fun clear() {
-        states.clear()
+        states = SharedStateSnapshot(arrayOfNulls(INITIAL_CAPACITY), 0, 0)
+    }
+
+    /**
+     * Checks if the shared state that [resolve] returns for [version] is SET.
+     *
+     * @param version the version of the shared state to be checked
+     * @return true if [version] resolves to a SET shared state, false otherwise
+     */
+    fun isSetAt(version: Int): Boolean {
+        return resolve(version).status == SharedStateStatus.SET
     }
 
     /**
      * Checks if the [SharedStateManager] is empty.
      */
-    @Synchronized
     fun isEmpty(): Boolean {
         return states.size == 0
     }
@@ -172,7 +286,8 @@ internal class SharedStateManager(private val name: String) {
      */
     private fun set(version: Int, state: SharedState): Boolean {
         // Check if there exists a state at a version equal to, or higher than the one provided.
-        if (states.ceilingEntry(version) != null) {
+        val snapshot = states
+        if (snapshot.size > 0 && snapshot[snapshot.size - 1].version >= version) {
             Log.trace(
                 CoreConstants.LOG_TAG,
                 LOG_TAG,
@@ -182,8 +297,29 @@ internal class SharedStateManager(private val name: String) {
             return false
         }
 
-        // At this point, there does not exist a state at the provided version.
-        states[version] = state
+        // At this point, there does not exist a state at the provided version, so it goes at the end.
+        // The slot past the end of the current snapshot is not visible to any published snapshot.
+        if (snapshot.end < snapshot.states.size) {
+            snapshot.states[snapshot.end] = state
+            states = SharedStateSnapshot(snapshot.states, snapshot.start, snapshot.end + 1)
+        } else {
+            val copy = copyOf(snapshot, maxOf(INITIAL_CAPACITY, snapshot.size * 2))
+            copy[snapshot.size] = state
+            states = SharedStateSnapshot(copy, 0, snapshot.size + 1)
+        }
         return true
     }
+
+    /**
+     * Copies the states of [snapshot] to the start of a new array of [capacity] slots.
+     *
+     * @param snapshot the [SharedStateSnapshot] to be copied
+     * @param capacity the size of the new array, at least the size of [snapshot]
+     * @return the new array
+     */
+    private fun copyOf(snapshot: SharedStateSnapshot, capacity: Int): Array<SharedState?> {
+        val copy = arrayOfNulls<SharedState>(capacity)
+        System.arraycopy(snapshot.states, snapshot.start, copy, 0, snapshot.size)
+        return copy
+    }
 }
@@ -37,6 +37,10 @@ internal class AndroidEventHistory : EventHistory {
     /**
      * Responsible for holding a single thread executor for lazy initialization only if
      * AndroidEventHistory operations are used.
+     *
+     * It never runs on the [com.adobe.marketing.mobile.internal.util.SharedThreadPool]: the serial queues
+     * on that pool block while waiting for history results, and could otherwise occupy every thread of
+     * the pool while the queries they wait for cannot run.
      */
     private val executor by lazy { Executors.newSingleThreadExecutor() }
 
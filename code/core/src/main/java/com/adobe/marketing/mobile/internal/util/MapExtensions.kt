@@ -87,6 +87,83 @@ internal fun Map<String, Any?>.flattening(prefix: String = "", flattenListAndArr
     return flattenedMap
 }
 
+/**
+ * Returns the value that [flattening] would map to [key], without building the flattened [Map].
+ * The dot-separated [key] is walked through the nested [Map]s, [List]s and [Array]s, so that for example
+ * `rootKey.key1.0` returns `value0` for `{rootKey: {key1 : [value0, value1]}}`.
+ *
+ * Keys containing dots are matched the same way as by [flattening]: all the entries that would flatten to
+ * [key] are visited in iteration order and the last one wins.
+ *
+ * @param key the dot-separated key to look up
+ * @return the value [flattening] would map to [key], null if there is none
+ */
+@JvmSynthetic
+internal fun Map<String, Any?>.getFlattenedValue(key: String): Any? {
+    val value = findFlattenedValue(this, key, 0)
+    return if (value === NOT_FOUND) null else value
+}
+
+private val NOT_FOUND = Any()
+
+/**
+ * Finds the value [flattening] would map to the part of [key] starting at [offset], in a [Map], [List] or [Array].
+ *
+ * @return the value found, [NOT_FOUND] if there is none
+ */
+private fun findFlattenedValue(container: Any?, key: String, offset: Int): Any? {
+    var found: Any? = NOT_FOUND
+    when (container) {
+        is Map<*, *> -> container.forEach { entry ->
+            val entryKey = entry.key as? String ?: return@forEach
+            val value = findFlattenedEntry(entryKey, entry.value, key, offset)
+            if (value !== NOT_FOUND) {
+                found = value
+            }
+        }
+        is List<*> -> container.forEachIndexed { index, item ->
+            val value = findFlattenedEntry(index.toString(), item, key, offset)
+            if (value !== NOT_FOUND) {
+                found = value
+            }
+        }
+        is Array<*> -> container.forEachIndexed { index, item ->
+            val value = findFlattenedEntry(index.toString(), item, key, offset)
+            if (value !== NOT_FOUND) {
+                found = value
+            }
+        }
+    }
+    return found
+}
+
+/**
+ * Finds the value [flattening] would map to the part of [key] starting at [offset], in the entry
+ * [entryKey] = [value] of a flattened [Map], [List] or [Array].
+ *
+ * @return the value found, [NOT_FOUND] if there is none
+ */
+private fun findFlattenedEntry(entryKey: String, value: Any?, key: String, offset: Int): Any? {
+    if (!key.startsWith(entryKey, offset)) {
+        return NOT_FOUND
+    }
+
+    val end = offset + entryKey.length
+    val isNested = (value is Map<*, *> && value.keys.isAllString()) || value is List<*> || value is Array<*>
+    if (!isNested) {
+        return if (end == key.length) value else NOT_FOUND
+    }
+
+    if (end == 0) {
+        // Like flattening, no dot follows an empty prefix
+        return findFlattenedValue(value, key, 0)
+    }
+    if (end >= key.length || key[end] != '.') {
+        return NOT_FOUND
+    }
+    return findFlattenedValue(value, key, end + 1)
+}
+
 /**
  * Serializes a map to key value pairs for url string.
  * This method is recursive to handle the nested data objects.
@@ -0,0 +1,153 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.util
+
+import com.adobe.marketing.mobile.internal.CoreConstants
+import com.adobe.marketing.mobile.services.Log
+import java.util.ArrayDeque
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * An [java.util.concurrent.ExecutorService] that runs the tasks submitted to it one at a time, in submission order,
+ * on the threads of a shared [pool]. This gives each user the ordering guarantees of a single thread executor
+ * without each of them owning a thread.
+ *
+ * Only one task of a lane is scheduled on the [pool] at a time, and the lane reschedules itself after each task
+ * so that busy lanes do not starve the other lanes sharing the [pool].
+ */
+internal class SerialLaneExecutor(private val pool: Executor) : AbstractExecutorService() {
+
+    private companion object {
+        private const val LOG_TAG = "SerialLaneExecutor"
+    }
+
+    private val lock = ReentrantLock()
+    private val terminatedCondition = lock.newCondition()
+
+    /**
+     * Tasks waiting to be run on this lane, guarded by [lock].
+     */
+    private val tasks: ArrayDeque<Runnable> = ArrayDeque()
+
+    /**
+     * Denotes whether a task of this lane is scheduled on or running on the [pool], guarded by [lock].
+     */
+    private var scheduled = false
+
+    private var shutdown = false
+    private var terminated = false
+
+    private val runNext = Runnable { runNextTask() }
+
+    override fun execute(command: Runnable) {
+        lock.withLock {
+            if (shutdown) {
+                throw RejectedExecutionException("SerialLaneExecutor has been shutdown")
+            }
+            tasks.addLast(command)
+            if (scheduled) {
+                return
+            }
+            scheduled = true
+        }
+        schedule()
+    }
+
+    private fun schedule() {
+        try {
+            pool.execute(runNext)
+        } catch (ex: RejectedExecutionException) {
+            Log.warning(CoreConstants.LOG_TAG, LOG_TAG, "Shared pool rejected task - $ex")
+            lock.withLock {
+                tasks.clear()
+                scheduled = false
+                markTerminatedIfIdle()
+            }
+            throw ex
+        }
+    }
+
+    private fun runNextTask() {
+        val task = lock.withLock { tasks.pollFirst() }
+        if (task != null) {
+            // Clear any interrupt left behind for this pool thread by a previous task (e.g. a cancelled future).
+            Thread.interrupted()
+            try {
+                task.run()
+            } catch (ex: Exception) {
+                Log.warning(CoreConstants.LOG_TAG, LOG_TAG, "Exception thrown from task - $ex")
+            }
+        }
+
+        val hasMoreTasks = lock.withLock {
+            if (tasks.isEmpty()) {
+                scheduled = false
+                markTerminatedIfIdle()
+                false
+            } else {
+                true
+            }
+        }
+        if (hasMoreTasks) {
+            schedule()
+        }
+    }
+
+    /**
+     * Must be called while holding [lock].
+     */
+    private fun markTerminatedIfIdle() {
+        if (shutdown && !scheduled && tasks.isEmpty()) {
+            terminated = true
+            terminatedCondition.signalAll()
+        }
+    }
+
+    override fun shutdown() {
+        lock.withLock {
+            shutdown = true
+            markTerminatedIfIdle()
+        }
+    }
+
+    override fun shutdownNow(): MutableList<Runnable> {
+        lock.withLock {
+            shutdown = true
+            val pending = tasks.toMutableList()
+            tasks.clear()
+            markTerminatedIfIdle()
+            return pending
+        }
+    }
+
+    override fun isShutdown(): Boolean = lock.withLock { shutdown }
+
+    override fun isTerminated(): Boolean = lock.withLock { terminated }
+
+    override fun awaitTermination(timeout: Long, unit: TimeUnit): Boolean {
+        var remainingNanos = unit.toNanos(timeout)
+        lock.withLock {
+            while (!terminated) {
+                if (remainingNanos <= 0) {
+                    return false
+                }
+                remainingNanos = terminatedCondition.awaitNanos(remainingNanos)
+            }
+            return true
+        }
+    }
+}
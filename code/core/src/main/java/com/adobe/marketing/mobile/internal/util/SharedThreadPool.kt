@@ -0,0 +1,55 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.util
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Provides the executors backing the serial work queues of the SDK (extension and EventHub dispatchers).
+ *
+ * Work that these queues block on, such as event history queries, must not run on the shared pool: once every
+ * thread of the pool is blocked, that work could never run.
+ *
+ * By default every serial queue owns a single thread executor. When [enabled], serial queues created afterwards
+ * run as [SerialLaneExecutor]s on one bounded work-stealing pool instead, keeping their strict ordering while
+ * sharing a handful of threads. Listeners that block hold a thread of the pool, so the EventHub keeps its own
+ * queues on dedicated threads and event dispatch continues while extension listeners block.
+ */
+internal object SharedThreadPool {
+
+    /**
+     * Upper bound on the number of threads of the shared pool.
+     */
+    private const val MAX_PARALLELISM = 4
+
+    /**
+     * Denotes whether serial executors created from now on should run on the shared pool.
+     */
+    @Volatile
+    var enabled: Boolean = false
+
+    private val pool: ExecutorService by lazy {
+        val parallelism = Runtime.getRuntime().availableProcessors().coerceIn(2, MAX_PARALLELISM)
+        ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true)
+    }
+
+    /**
+     * Creates an executor which runs the submitted tasks serially, in submission order.
+     *
+     * @return a [SerialLaneExecutor] on the shared pool if [enabled], a new single thread executor otherwise
+     */
+    fun newSerialExecutor(): ExecutorService {
+        return if (enabled) SerialLaneExecutor(pool) else Executors.newSingleThreadExecutor()
+    }
+}
@@ -0,0 +1,89 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.rulesengine.DelimiterPair
+import com.adobe.marketing.mobile.rulesengine.Template
+import com.adobe.marketing.mobile.rulesengine.TokenFinder
+import com.adobe.marketing.mobile.rulesengine.Transforming
+import com.adobe.marketing.mobile.util.EventDataUtils
+
+/**
+ * The detail of a [RuleConsequence] with the templates of its [String] values parsed ahead of time,
+ * so that rendering it for a matched rule does not parse them again.
+ * Strings without a token delimiter are kept as they are and never rendered.
+ *
+ * @param detail the detail of the [RuleConsequence]
+ */
+internal class ConsequenceDetailTemplate(detail: Map<String, Any?>) {
+
+    companion object {
+        private const val LAUNCH_RULE_TOKEN_LEFT_DELIMITER = "{%"
+        private const val LAUNCH_RULE_TOKEN_RIGHT_DELIMITER = "%}"
+        private val DELIMITER_PAIR =
+            DelimiterPair(LAUNCH_RULE_TOKEN_LEFT_DELIMITER, LAUNCH_RULE_TOKEN_RIGHT_DELIMITER)
+    }
+
+    private val parsedDetail: Map<String, Any?> = parseMap(detail)
+
+    /**
+     * Renders the detail, replacing its tokens with the values found by [tokenFinder].
+     *
+     * @param tokenFinder [TokenFinder] instance which replaces the tokens with values
+     * @param transforming [Transforming] instance used to transform the token values
+     * @return a new detail [Map] with its tokens replaced
+     */
+    fun render(tokenFinder: TokenFinder, transforming: Transforming): Map<String, Any?> {
+        return renderMap(parsedDetail, tokenFinder, transforming)
+    }
+
+    private fun parse(value: Any?): Any? {
+        return when (value) {
+            is String -> {
+                if (value.contains(LAUNCH_RULE_TOKEN_LEFT_DELIMITER)) Template(value, DELIMITER_PAIR) else value
+            }
+            is Map<*, *> -> EventDataUtils.castFromGenericType(value)?.let { parseMap(it) }
+            is List<*> -> value.map { parse(it) }
+            else -> value
+        }
+    }
+
+    private fun parseMap(detail: Map<String, Any?>): Map<String, Any?> {
+        val parsedMap = LinkedHashMap<String, Any?>(detail.size)
+        for ((key, value) in detail) {
+            parsedMap[key] = parse(value)
+        }
+        return parsedMap
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun render(value: Any?, tokenFinder: TokenFinder, transforming: Transforming): Any? {
+        return when (value) {
+            is Template -> value.render(tokenFinder, transforming)
+            is Map<*, *> -> renderMap(value as Map<String, Any?>, tokenFinder, transforming)
+            is List<*> -> value.map { render(it, tokenFinder, transforming) }
+            else -> value
+        }
+    }
+
+    private fun renderMap(
+        parsedMap: Map<String, Any?>,
+        tokenFinder: TokenFinder,
+        transforming: Transforming
+    ): Map<String, Any?> {
+        val renderedMap = LinkedHashMap<String, Any?>(parsedMap.size)
+        for ((key, value) in parsedMap) {
+            renderedMap[key] = render(value, tokenFinder, transforming)
+        }
+        return renderedMap
+    }
+}
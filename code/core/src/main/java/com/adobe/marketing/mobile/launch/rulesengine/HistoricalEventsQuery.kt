@@ -0,0 +1,62 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.EventHistoryRequest
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.rulesengine.FunctionBlock
+
+/**
+ * A query of a historical condition against the event history database.
+ *
+ * When the query was prefetched by the [HistoricalEventsResultSet] of the current evaluation, its
+ * result is read from that result set. Otherwise the event history database is queried directly.
+ *
+ * @property requests the events to query
+ * @property searchType the type of search to perform, either "any", "ordered" or "mostRecent"
+ */
+internal class HistoricalEventsQuery(
+    val requests: List<EventHistoryRequest>,
+    val searchType: String,
+    private val extensionApi: ExtensionApi
+) : FunctionBlock<Int> {
+
+    /**
+     * The [HistoricalEventKey]s of [requests], in the same order.
+     */
+    val keys: List<HistoricalEventKey> by lazy {
+        requests.map { HistoricalEventKey(it.maskAsDecimalHash, it.fromDate, it.toDate) }
+    }
+
+    override fun execute(vararg e: Any?): Int {
+        return LaunchRulesProfiler.measureHistoricalQuery {
+            try {
+                HistoricalEventsResultSet.current()?.resultOf(this) ?: when (searchType) {
+                    SEARCH_TYPE_MOST_RECENT -> getMostRecentHistoricalEvent(requests, extensionApi)
+                    else -> getHistoricalEventCount(requests, searchType, extensionApi)
+                }
+            } catch (e: Exception) {
+                0
+            }
+        }
+    }
+}
+
+/**
+ * Identifies the lookup of an event in a date range, so that [EventHistoryRequest]s looking up the
+ * same event in the same date range share their result.
+ */
+internal data class HistoricalEventKey(
+    val hash: Long,
+    val fromDate: Long,
+    val toDate: Long
+)
@@ -146,28 +146,12 @@ internal fun getMostRecentHistoricalEvent(
     try {
         val latch = CountDownLatch(1)
         var mostRecentIndex = EVENT_HISTORY_ERROR
-        var mostRecentDate = Long.MIN_VALUE
         extensionApi.getHistoricalEvents(
             requests.toTypedArray(),
             false,
             object : AdobeCallbackWithError<Array<EventHistoryResult>> {
                 override fun call(results: Array<EventHistoryResult>) {
-                    for ((index, result) in results.withIndex()) {
-                        // If a database error is returned for any result, early exit and return the error value
-                        if (result.count == EVENT_HISTORY_ERROR) {
-                            mostRecentIndex = EVENT_HISTORY_ERROR
-                            break
-                        }
-                        // Check that there is a newest occurrence date for this result
-                        if (result.newestOccurrence == null) {
-                            continue
-                        }
-                        // Check if the current result is newer than the current most recent date
-                        if (result.newestOccurrence > mostRecentDate) {
-                            mostRecentDate = result.newestOccurrence
-                            mostRecentIndex = index
-                        }
-                    }
+                    mostRecentIndex = convertEventHistoryResultToMostRecentIndex(results)
                     latch.countDown()
                 }
 
@@ -192,3 +176,31 @@ internal fun getMostRecentHistoricalEvent(
         return EVENT_HISTORY_ERROR
     }
 }
+
+/**
+ * Converts the result of an event history lookup query to the index of the most recent event.
+ * If no events were found or a database error occurred, this method will return -1.
+ *
+ * @param eventHistoryResult `Array<EventHistoryResult>` the result of the event history lookup query
+ */
+@JvmSynthetic
+internal fun convertEventHistoryResultToMostRecentIndex(
+    eventHistoryResult: Array<EventHistoryResult>
+): Int {
+    var mostRecentIndex = EVENT_HISTORY_ERROR
+    var mostRecentDate = Long.MIN_VALUE
+    for ((index, result) in eventHistoryResult.withIndex()) {
+        // If a database error is returned for any result, early exit and return the error value
+        if (result.count == EVENT_HISTORY_ERROR) {
+            return EVENT_HISTORY_ERROR
+        }
+        // Check that there is a newest occurrence date for this result
+        val newestOccurrence = result.newestOccurrence ?: continue
+        // Check if the current result is newer than the current most recent date
+        if (newestOccurrence > mostRecentDate) {
+            mostRecentDate = newestOccurrence
+            mostRecentIndex = index
+        }
+    }
+    return mostRecentIndex
+}
@@ -0,0 +1,248 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.AdobeCallbackWithError
+import com.adobe.marketing.mobile.AdobeError
+import com.adobe.marketing.mobile.EventHistoryRequest
+import com.adobe.marketing.mobile.EventHistoryResult
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.internal.eventhub.history.EventHistoryConstants.EVENT_HISTORY_ERROR
+import com.adobe.marketing.mobile.services.Log
+import java.util.IdentityHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * The results of the [HistoricalEventsQuery]s of a set of rules, fetched as one batch before the
+ * rules are evaluated.
+ *
+ * Requests of "any" and "mostRecent" searches are deduplicated by [HistoricalEventKey] and looked
+ * up in a single query. An "ordered" search narrows the date range of each request with the result
+ * of the previous one, so each of them is looked up by its own query within the same batch. The
+ * whole batch is awaited once, and evaluation then reads the results from memory through
+ * [withResults].
+ */
+internal class HistoricalEventsResultSet private constructor(
+    private val queries: Set<HistoricalEventsQuery>,
+    private val results: Map<HistoricalEventKey, EventHistoryResult>,
+    private val orderedResults: Map<HistoricalEventsQuery, Int>,
+    private val unorderedFailed: Boolean
+) {
+
+    companion object {
+        private const val LOG_TAG = "HistoricalEventsResultSet"
+        private const val PREFETCH_TIMEOUT = 1000L
+        private val EMPTY = HistoricalEventsResultSet(emptySet(), emptyMap(), emptyMap(), false)
+        private val currentResultSet = ThreadLocal<HistoricalEventsResultSet?>()
+
+        /**
+         * Returns the result set of the evaluation running on the current thread, if any.
+         */
+        @JvmSynthetic
+        internal fun current(): HistoricalEventsResultSet? = currentResultSet.get()
+
+        /**
+         * Returns whether any of the given rules has historical conditions, without allocating.
+         *
+         * @param rules the rules about to be evaluated
+         * @return true if [prefetch] has events to query for [rules]
+         */
+        @JvmStatic
+        fun hasHistoricalQueries(rules: List<LaunchRule>): Boolean {
+            for (index in rules.indices) {
+                if (rules[index].historicalQueries.isNotEmpty()) {
+                    return true
+                }
+            }
+            return false
+        }
+
+        /**
+         * Queries the event history database for the [HistoricalEventsQuery]s of the given rules.
+         *
+         * @param rules the rules about to be evaluated
+         * @param extensionApi the extension API to use for querying
+         * @return the [HistoricalEventsResultSet] of the given rules
+         */
+        @JvmStatic
+        fun prefetch(rules: List<LaunchRule>, extensionApi: ExtensionApi): HistoricalEventsResultSet {
+            val queries = LinkedHashSet<HistoricalEventsQuery>()
+            for (rule in rules) {
+                queries.addAll(rule.historicalQueries)
+            }
+            if (queries.isEmpty()) {
+                return EMPTY
+            }
+
+            val unorderedRequests = LinkedHashMap<HistoricalEventKey, EventHistoryRequest>()
+            val orderedQueries = ArrayList<HistoricalEventsQuery>()
+            for (query in queries) {
+                if (query.searchType == SEARCH_TYPE_ORDERED) {
+                    orderedQueries.add(query)
+                } else {
+                    query.keys.forEachIndexed { index, key ->
+                        unorderedRequests.getOrPut(key) { query.requests[index] }
+                    }
+                }
+            }
+
+            val lookUpCount = orderedQueries.size + if (unorderedRequests.isEmpty()) 0 else 1
+            val batch = Batch(queries, lookUpCount)
+            if (unorderedRequests.isNotEmpty()) {
+                val keys = ArrayList(unorderedRequests.keys)
+                lookUp(unorderedRequests.values.toTypedArray(), false, extensionApi) { eventHistoryResults ->
+                    batch.completeUnordered(keys, eventHistoryResults)
+                }
+            }
+            for (query in orderedQueries) {
+                lookUp(query.requests.toTypedArray(), true, extensionApi) { eventHistoryResults ->
+                    val eventCount = eventHistoryResults?.let { convertEventHistoryResultToInt(true, it) }
+                    batch.completeOrdered(query, eventCount ?: EVENT_HISTORY_ERROR)
+                }
+            }
+            return batch.await()
+        }
+
+        private fun lookUp(
+            requests: Array<EventHistoryRequest>,
+            enforceOrder: Boolean,
+            extensionApi: ExtensionApi,
+            onComplete: (Array<EventHistoryResult>?) -> Unit
+        ) {
+            try {
+                extensionApi.getHistoricalEvents(
+                    requests,
+                    enforceOrder,
+                    object : AdobeCallbackWithError<Array<EventHistoryResult>> {
+                        override fun call(results: Array<EventHistoryResult>) {
+                            onComplete(results)
+                        }
+
+                        override fun fail(error: AdobeError) {
+                            Log.warning(
+                                LaunchRulesEngineConstants.LOG_TAG,
+                                LOG_TAG,
+                                "Unable to retrieve historical events, caused by the error: ${error.errorName}"
+                            )
+                            onComplete(null)
+                        }
+                    }
+                )
+            } catch (e: Exception) {
+                Log.warning(
+                    LaunchRulesEngineConstants.LOG_TAG,
+                    LOG_TAG,
+                    "Unable to retrieve historical events, caused by the exception: ${e.localizedMessage}"
+                )
+                onComplete(null)
+            }
+        }
+    }
+
+    /**
+     * Returns the result of the given query, or null if it was not part of this result set.
+     *
+     * A query whose lookup failed resolves to -1. A query whose lookup did not complete in time
+     * resolves to -1 for a "mostRecent" search and to 0 otherwise.
+     *
+     * @param query the [HistoricalEventsQuery] to resolve
+     */
+    fun resultOf(query: HistoricalEventsQuery): Int? {
+        if (query !in queries) {
+            return null
+        }
+        if (query.searchType == SEARCH_TYPE_ORDERED) {
+            return orderedResults[query] ?: 0
+        }
+        val mostRecent = query.searchType == SEARCH_TYPE_MOST_RECENT
+        if (unorderedFailed) {
+            return EVENT_HISTORY_ERROR
+        }
+        val queryResults = ArrayList<EventHistoryResult>(query.keys.size)
+        for (key in query.keys) {
+            queryResults.add(results[key] ?: return if (mostRecent) EVENT_HISTORY_ERROR else 0)
+        }
+        return if (mostRecent) {
+            convertEventHistoryResultToMostRecentIndex(queryResults.toTypedArray())
+        } else {
+            convertEventHistoryResultToInt(false, queryResults.toTypedArray())
+        }
+    }
+
+    /**
+     * Makes this result set available to the [HistoricalEventsQuery]s evaluated by [block] on the
+     * current thread.
+     *
+     * @param block the evaluation to run
+     * @return the result of [block]
+     */
+    fun <T> withResults(block: () -> T): T {
+        val previous = currentResultSet.get()
+        currentResultSet.set(this)
+        try {
+            return block()
+        } finally {
+            currentResultSet.set(previous)
+        }
+    }
+
+    /**
+     * Collects the results of the queries of a batch as they complete.
+     */
+    private class Batch(private val queries: Set<HistoricalEventsQuery>, lookUpCount: Int) {
+        private val latch = CountDownLatch(lookUpCount)
+        private val results = HashMap<HistoricalEventKey, EventHistoryResult>()
+        private val orderedResults = IdentityHashMap<HistoricalEventsQuery, Int>()
+        private var unorderedFailed = false
+        private var closed = false
+
+        @Synchronized
+        fun completeUnordered(keys: List<HistoricalEventKey>, eventHistoryResults: Array<EventHistoryResult>?) {
+            if (closed) return
+            if (eventHistoryResults == null) {
+                unorderedFailed = true
+            } else {
+                for ((index, key) in keys.withIndex()) {
+                    results[key] = eventHistoryResults.getOrNull(index) ?: break
+                }
+            }
+            latch.countDown()
+        }
+
+        @Synchronized
+        fun completeOrdered(query: HistoricalEventsQuery, result: Int) {
+            if (closed) return
+            orderedResults[query] = result
+            latch.countDown()
+        }
+
+        fun await(): HistoricalEventsResultSet {
+            try {
+                if (!latch.await(PREFETCH_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    Log.warning(
+                        LaunchRulesEngineConstants.LOG_TAG,
+                        LOG_TAG,
+                        "Timed out retrieving historical events after $PREFETCH_TIMEOUT ms"
+                    )
+                }
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+            }
+            synchronized(this) {
+                // Results arriving after the batch is closed are ignored
+                closed = true
+                return HistoricalEventsResultSet(queries, results, orderedResults, unorderedFailed)
+            }
+        }
+    }
+}
@@ -27,6 +27,28 @@ data class LaunchRule @JvmOverloads constructor(
     val consequenceList: List<RuleConsequence>,
     val meta: RuleMeta = RuleMeta()
 ) : Rule {
+    /**
+     * The [HistoricalEventsQuery]s of [condition], prefetched by [LaunchRulesEngine] before the rule is evaluated.
+     */
+    @get:JvmSynthetic
+    @set:JvmSynthetic
+    internal var historicalQueries: List<HistoricalEventsQuery> = emptyList()
+
+    /**
+     * A fingerprint of the JSON content the rule was parsed from, used by [LaunchRulesDiff] to find the rules
+     * that did not change. Null if the rule was not parsed from JSON.
+     */
+    @get:JvmSynthetic
+    @set:JvmSynthetic
+    internal var fingerprint: Long? = null
+
+    /**
+     * Identifies the rule by the ids of its consequences.
+     */
+    @get:JvmSynthetic
+    internal val ruleId: String
+        get() = consequenceList.joinToString(",") { it.id }
+
     override fun getEvaluable(): Evaluable {
         return condition
     }
@@ -18,6 +18,12 @@ import com.adobe.marketing.mobile.rulesengine.Transforming
 
 internal object LaunchRuleTransformer {
 
+    /**
+     * The [Transforming] instance shared by Launch Rules Engine. Its functions are only registered
+     * while it is created, so it can be used from any thread.
+     */
+    val transforming: Transforming = createTransforming()
+
     /**
      * Generates the [Transforming] instance used by Launch Rules Engine.
      *
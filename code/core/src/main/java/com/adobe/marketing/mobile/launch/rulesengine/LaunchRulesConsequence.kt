@@ -25,8 +25,6 @@ import com.adobe.marketing.mobile.internal.util.EventDataMerger
 import com.adobe.marketing.mobile.internal.util.fnv1a32
 import com.adobe.marketing.mobile.internal.util.prettify
 import com.adobe.marketing.mobile.internal.util.toEventHistoryRequest
-import com.adobe.marketing.mobile.rulesengine.DelimiterPair
-import com.adobe.marketing.mobile.rulesengine.Template
 import com.adobe.marketing.mobile.rulesengine.TokenFinder
 import com.adobe.marketing.mobile.services.Log
 import com.adobe.marketing.mobile.util.DataReader
@@ -42,8 +40,6 @@ internal class LaunchRulesConsequence(
     private var dispatchChainedEventsCount = mutableMapOf<String, Int>()
 
     companion object {
-        private const val LAUNCH_RULE_TOKEN_LEFT_DELIMITER = "{%"
-        private const val LAUNCH_RULE_TOKEN_RIGHT_DELIMITER = "%}"
         private const val CONSEQUENCE_TYPE_ADD = "add"
         private const val CONSEQUENCE_TYPE_MOD = "mod"
         private const val CONSEQUENCE_TYPE_DISPATCH = "dispatch"
@@ -191,42 +187,11 @@ internal class LaunchRulesConsequence(
         consequence: RuleConsequence,
         tokenFinder: TokenFinder
     ): RuleConsequence {
-        val tokenReplacedMap = replaceToken(consequence.detail, tokenFinder)
+        val tokenReplacedMap = consequence.getDetailTemplate()
+            .render(tokenFinder, LaunchRuleTransformer.transforming)
         return RuleConsequence(consequence.id, consequence.type, tokenReplacedMap)
     }
 
-    private fun replaceToken(value: Any?, tokenFinder: TokenFinder): Any? {
-        return when (value) {
-            is String -> replaceToken(value, tokenFinder)
-            is Map<*, *> -> replaceToken(EventDataUtils.castFromGenericType(value), tokenFinder)
-            is List<*> -> replaceToken(value, tokenFinder)
-            else -> value
-        }
-    }
-
-    private fun replaceToken(
-        detail: Map<String, Any?>,
-        tokenFinder: TokenFinder
-    ): Map<String, Any?> {
-        val mutableDetail = detail.toMutableMap()
-        for ((key, value) in detail) {
-            mutableDetail[key] = replaceToken(value, tokenFinder)
-        }
-        return mutableDetail
-    }
-
-    private fun replaceToken(value: List<Any?>, tokenFinder: TokenFinder): List<Any?> {
-        return value.map { replaceToken(it, tokenFinder) }
-    }
-
-    private fun replaceToken(value: String, tokenFinder: TokenFinder): String {
-        val template = Template(
-            value,
-            DelimiterPair(LAUNCH_RULE_TOKEN_LEFT_DELIMITER, LAUNCH_RULE_TOKEN_RIGHT_DELIMITER)
-        )
-        return template.render(tokenFinder, LaunchRuleTransformer.createTransforming())
-    }
-
     /**
      * Process an attach data consequence event.  Attaches the triggering event data from the [RuleConsequence] to the
      * triggering event data without overwriting the original event data. If either the event data
@@ -0,0 +1,74 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import java.util.Collections
+import java.util.IdentityHashMap
+
+/**
+ * Computes the [LaunchRulesUpdate] from the current rules to a new set of rules.
+ *
+ * Rules are keyed by [LaunchRule.ruleId], and a new rule is the same as a current rule
+ * with the same key when both were parsed from the same JSON content. The current rule is then kept
+ * in place of the new one, along with its parsed templates, historical queries and index guards.
+ */
+internal object LaunchRulesDiff {
+
+    /**
+     * Computes the [LaunchRulesUpdate] from [currentRules] to [newRules]
+     *
+     * @param currentRules the current rules
+     * @param newRules the new rules
+     * @return the [LaunchRulesUpdate] with the rules to apply and the changes
+     */
+    @JvmStatic
+    fun diff(currentRules: List<LaunchRule>, newRules: List<LaunchRule>): LaunchRulesUpdate {
+        val currentRulesByKey = HashMap<String, MutableList<LaunchRule>>()
+        for (rule in currentRules) {
+            currentRulesByKey.getOrPut(rule.ruleId) { ArrayList() }.add(rule)
+        }
+
+        val rules = ArrayList<LaunchRule>(newRules.size)
+        val addedRules = ArrayList<LaunchRule>()
+        for (rule in newRules) {
+            val keptRule = removeSameRule(currentRulesByKey[rule.ruleId], rule)
+            if (keptRule != null) {
+                rules.add(keptRule)
+            } else {
+                rules.add(rule)
+                addedRules.add(rule)
+            }
+        }
+
+        // The current rules that were not kept are removed, in their original order
+        val remainingRules = Collections.newSetFromMap(IdentityHashMap<LaunchRule, Boolean>())
+        currentRulesByKey.values.forEach { remainingRules.addAll(it) }
+        val removedRules = currentRules.filter { it in remainingRules }
+        return LaunchRulesUpdate(rules, addedRules, removedRules)
+    }
+
+    private fun removeSameRule(candidates: MutableList<LaunchRule>?, rule: LaunchRule): LaunchRule? {
+        if (candidates.isNullOrEmpty()) {
+            return null
+        }
+        val fingerprint = rule.fingerprint ?: return null
+        val iterator = candidates.iterator()
+        while (iterator.hasNext()) {
+            val candidate = iterator.next()
+            if (candidate.fingerprint == fingerprint) {
+                iterator.remove()
+                return candidate
+            }
+        }
+        return null
+    }
+}
@@ -23,26 +23,32 @@ import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class LaunchRulesEngine {
 
     @VisibleForTesting static final String RULES_ENGINE_NAME = "name";
+    @VisibleForTesting static final String RULES_ENGINE_PROFILING_REPORT = "profilingReport";
     private final String name;
     private final RulesEngine<LaunchRule> ruleRulesEngine;
     private final ExtensionApi extensionApi;
     private final LaunchRulesConsequence launchRulesConsequence;
     private final List<Event> cachedEvents = new ArrayList<>();
+    private final Object rulesUpdateMutex = new Object();
     private boolean initialRulesReceived = false;
+    private boolean rulesSet = false;
     private RuleReevaluationInterceptor reevaluationInterceptor;
+    private volatile LaunchRulesProfiler profiler;
 
     public LaunchRulesEngine(@NonNull final String name, @NonNull final ExtensionApi extensionApi) {
         this(
                 name,
                 extensionApi,
                 new RulesEngine<>(
-                        new ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE),
-                        LaunchRuleTransformer.INSTANCE.createTransforming()),
+                        new ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE, true),
+                        LaunchRuleTransformer.INSTANCE.getTransforming()),
                 new LaunchRulesConsequence(extensionApi));
     }
 
@@ -71,6 +77,60 @@ public class LaunchRulesEngine {
         this.reevaluationInterceptor = interceptor;
     }
 
+    /**
+     * Enables or disables the profiling of rule evaluations. While enabled, the evaluation count,
+     * match count and evaluation times of each rule are recorded and can be read with {@link
+     * #getProfilingReport()}. Disabling profiling discards the recorded evaluations.
+     *
+     * @param enabled whether rule evaluations should be profiled
+     */
+    public void setProfilingEnabled(final boolean enabled) {
+        synchronized (rulesUpdateMutex) {
+            if (enabled == (profiler != null)) {
+                return;
+            }
+
+            profiler = enabled ? new LaunchRulesProfiler() : null;
+            ruleRulesEngine.setRuleEvaluationListener(profiler);
+        }
+    }
+
+    /**
+     * Returns the rule evaluations recorded since profiling was enabled, with the rules sorted by
+     * descending cumulative evaluation time.
+     *
+     * @return the profiling report, or null if profiling is not enabled
+     */
+    public Map<String, Object> getProfilingReport() {
+        final LaunchRulesProfiler currentProfiler = profiler;
+        if (currentProfiler == null) {
+            return null;
+        }
+
+        return new HashMap<>(currentProfiler.report());
+    }
+
+    /**
+     * Dispatches the profiling report as a rules engine debug event, so that it can be inspected
+     * in Assurance. Does nothing if profiling is not enabled.
+     */
+    public void dispatchProfilingReport() {
+        final Map<String, Object> report = getProfilingReport();
+        if (report == null) {
+            return;
+        }
+
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(RULES_ENGINE_NAME, name);
+        eventData.put(RULES_ENGINE_PROFILING_REPORT, report);
+        final Event dispatchEvent =
+                new Event.Builder(name, EventType.RULES_ENGINE, EventSource.DEBUG)
+                        .setEventData(eventData)
+                        .build();
+
+        extensionApi.dispatch(dispatchEvent);
+    }
+
     /**
      * Set a new set of rules, the new rules replace the current rules.
      *
@@ -79,15 +139,39 @@ public class LaunchRulesEngine {
     public void replaceRules(final List<LaunchRule> rules) {
         if (rules == null) return;
 
-        ruleRulesEngine.replaceRules(rules);
+        synchronized (rulesUpdateMutex) {
+            ruleRulesEngine.replaceRules(rules);
+            rulesSet = true;
+        }
 
-        // send a reset request event for the current LaunchRulesEngine
-        final Event dispatchEvent =
-                new Event.Builder(name, EventType.RULES_ENGINE, EventSource.REQUEST_RESET)
-                        .setEventData(Collections.singletonMap(RULES_ENGINE_NAME, name))
-                        .build();
+        dispatchResetEvent();
+    }
 
-        extensionApi.dispatch(dispatchEvent);
+    /**
+     * Updates the current rules to a new set of rules. Unlike {@link #replaceRules(List)}, the
+     * current rules that are the same in the new set are kept along with their parsed state, and
+     * the reset event is only dispatched when rules were added or removed.
+     *
+     * @param rules a list of {@link LaunchRule}s
+     * @return the {@link LaunchRulesUpdate} describing the changes, or null if {@code rules} is null
+     */
+    public LaunchRulesUpdate updateRules(final List<LaunchRule> rules) {
+        if (rules == null) return null;
+
+        final LaunchRulesUpdate update;
+        final boolean firstRules;
+        synchronized (rulesUpdateMutex) {
+            update = LaunchRulesDiff.diff(ruleRulesEngine.getRules(), rules);
+            ruleRulesEngine.replaceRules(update.getRules());
+            firstRules = !rulesSet;
+            rulesSet = true;
+        }
+
+        // The first rules always dispatch the reset event, which starts processing cached events
+        if (firstRules || update.getHasChanges()) {
+            dispatchResetEvent();
+        }
+        return update;
     }
 
     /**
@@ -134,16 +218,14 @@ public class LaunchRulesEngine {
             throw new IllegalArgumentException("Cannot evaluate null event.");
         }
 
-        final LaunchTokenFinder tokenFinder = new LaunchTokenFinder(event, extensionApi);
-        final List<LaunchRule> matchedRules = ruleRulesEngine.evaluate(tokenFinder);
+        final List<LaunchRule> matchedRules = evaluateRules(event);
 
         // get token replaced consequences
         return launchRulesConsequence.evaluate(event, matchedRules);
     }
 
     private Event processAndIntercept(final Event event) {
-        final LaunchTokenFinder tokenFinder = new LaunchTokenFinder(event, extensionApi);
-        final List<LaunchRule> matchedRules = ruleRulesEngine.evaluate(tokenFinder);
+        final List<LaunchRule> matchedRules = evaluateRules(event);
 
         // If no interceptor is set, process consequences immediately.
         if (reevaluationInterceptor == null) {
@@ -171,7 +253,6 @@ public class LaunchRulesEngine {
             final List<LaunchRule> revaluableRules,
             final List<LaunchRule> processedRules,
             final RuleReevaluationInterceptor reevaluationInterceptor) {
-        final LaunchTokenFinder tokenFinder = new LaunchTokenFinder(processedEvent, extensionApi);
         reevaluationInterceptor.onReevaluationTriggered(
                 processedEvent,
                 revaluableRules,
@@ -180,14 +261,63 @@ public class LaunchRulesEngine {
                     // consequences. If update is not success intercepted rules are not
                     // processed
                     if (success) {
+                        // Shared states and historical events are resolved as of the
+                        // re-evaluation
                         final ArrayList<LaunchRule> newlyMatchedRules =
-                                new ArrayList<>(ruleRulesEngine.evaluate(tokenFinder));
+                                new ArrayList<>(evaluateRules(processedEvent));
                         newlyMatchedRules.removeAll(processedRules);
                         launchRulesConsequence.process(processedEvent, newlyMatchedRules);
                     }
                 });
     }
 
+    /**
+     * Evaluates the supplied event against the current rules. The historical events referenced by
+     * the candidate rules are fetched in one batch before evaluation, so that historical conditions
+     * read their results from memory instead of querying the event history one by one.
+     *
+     * @param event the event to be evaluated
+     * @return the rules that matched the supplied event
+     */
+    private List<LaunchRule> evaluateRules(final Event event) {
+        final LaunchTokenFinder tokenFinder = new LaunchTokenFinder(event, extensionApi);
+        // The candidates are looked up once, so the rules prefetched are the rules evaluated
+        final List<LaunchRule> candidateRules = ruleRulesEngine.getCandidateRules(tokenFinder);
+        final LaunchRulesProfiler currentProfiler = profiler;
+        if (!HistoricalEventsResultSet.hasHistoricalQueries(candidateRules)) {
+            return currentProfiler == null
+                    ? ruleRulesEngine.evaluate(tokenFinder, candidateRules)
+                    : currentProfiler.profile(
+                            () -> ruleRulesEngine.evaluate(tokenFinder, candidateRules));
+        }
+
+        if (currentProfiler == null) {
+            final HistoricalEventsResultSet historicalEvents =
+                    HistoricalEventsResultSet.prefetch(candidateRules, extensionApi);
+            return historicalEvents.withResults(
+                    () -> ruleRulesEngine.evaluate(tokenFinder, candidateRules));
+        }
+
+        final long prefetchStart = System.nanoTime();
+        final HistoricalEventsResultSet historicalEvents =
+                HistoricalEventsResultSet.prefetch(candidateRules, extensionApi);
+        currentProfiler.onHistoricalEventsPrefetched(System.nanoTime() - prefetchStart);
+        return historicalEvents.withResults(
+                () ->
+                        currentProfiler.profile(
+                                () -> ruleRulesEngine.evaluate(tokenFinder, candidateRules)));
+    }
+
+    private void dispatchResetEvent() {
+        // send a reset request event for the current LaunchRulesEngine
+        final Event dispatchEvent =
+                new Event.Builder(name, EventType.RULES_ENGINE, EventSource.REQUEST_RESET)
+                        .setEventData(Collections.singletonMap(RULES_ENGINE_NAME, name))
+                        .build();
+
+        extensionApi.dispatch(dispatchEvent);
+    }
+
     List<LaunchRule> getRules() {
         return ruleRulesEngine.getRules();
     }
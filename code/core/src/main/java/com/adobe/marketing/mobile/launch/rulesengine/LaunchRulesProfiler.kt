@@ -0,0 +1,181 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.rulesengine.RuleEvaluationListener
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.ceil
+
+/**
+ * Records the evaluations of the rules of a [LaunchRulesEngine], per [LaunchRule.ruleId].
+ *
+ * For each rule it records the number of evaluations and matches, the cumulative evaluation time and
+ * the part of it spent resolving tokens and querying historical events. The p99 evaluation time is
+ * computed over the most recent [MAX_SAMPLES] evaluations of the rule. The historical events of the
+ * candidate rules are prefetched in one batch per evaluated event, so that time is recorded for the
+ * engine as a whole rather than per rule.
+ */
+internal class LaunchRulesProfiler : RuleEvaluationListener<LaunchRule> {
+
+    companion object {
+        internal const val MAX_SAMPLES = 1000
+        internal const val KEY_RULES = "rules"
+        internal const val KEY_RULE_ID = "id"
+        internal const val KEY_EVALUATION_COUNT = "evaluationCount"
+        internal const val KEY_MATCH_COUNT = "matchCount"
+        internal const val KEY_TOTAL_EVALUATION_TIME = "totalEvaluationTimeMicros"
+        internal const val KEY_P99_EVALUATION_TIME = "p99EvaluationTimeMicros"
+        internal const val KEY_TOKEN_RESOLUTION_TIME = "tokenResolutionTimeMicros"
+        internal const val KEY_HISTORICAL_QUERY_TIME = "historicalQueryTimeMicros"
+        internal const val KEY_HISTORICAL_PREFETCH_COUNT = "historicalPrefetchCount"
+        internal const val KEY_HISTORICAL_PREFETCH_TIME = "historicalPrefetchTimeMicros"
+
+        /**
+         * The historical query time of the rule being evaluated within [profile] on the current thread.
+         * Internal so that [measureHistoricalQuery] can be inlined.
+         */
+        internal val historicalQueryNanos = ThreadLocal<LongArray?>()
+
+        /**
+         * Runs [block] and, when it runs within [profile], records its duration as a historical query of
+         * the rule being evaluated on the current thread. Inlined so that queries run outside [profile]
+         * do not allocate.
+         *
+         * @param block the historical query to run
+         * @return the result of [block]
+         */
+        @JvmSynthetic
+        internal inline fun <T> measureHistoricalQuery(block: () -> T): T {
+            val elapsed = historicalQueryNanos.get() ?: return block()
+            val start = System.nanoTime()
+            try {
+                return block()
+            } finally {
+                elapsed[0] += System.nanoTime() - start
+            }
+        }
+
+        private fun toMicros(nanos: Long): Long = TimeUnit.NANOSECONDS.toMicros(nanos)
+    }
+
+    private val ruleStats = ConcurrentHashMap<String, RuleStats>()
+    private val prefetchCount = AtomicLong()
+    private val prefetchNanos = AtomicLong()
+
+    /**
+     * Runs the evaluation of [block], attributing the historical queries it runs to the rule being
+     * evaluated.
+     *
+     * @param block the evaluation to run
+     * @return the result of [block]
+     */
+    fun <T> profile(block: () -> T): T {
+        val previous = historicalQueryNanos.get()
+        historicalQueryNanos.set(LongArray(1))
+        try {
+            return block()
+        } finally {
+            historicalQueryNanos.set(previous)
+        }
+    }
+
+    /**
+     * Records a prefetch of the historical events of the candidate rules of an event.
+     *
+     * @param nanos the duration of the prefetch, in nanoseconds
+     */
+    fun onHistoricalEventsPrefetched(nanos: Long) {
+        prefetchCount.incrementAndGet()
+        prefetchNanos.addAndGet(nanos)
+    }
+
+    override fun onRuleEvaluated(
+        rule: LaunchRule,
+        matched: Boolean,
+        evaluationNanos: Long,
+        tokenResolutionNanos: Long
+    ) {
+        val historicalNanos = historicalQueryNanos.get()?.let {
+            val elapsed = it[0]
+            it[0] = 0
+            elapsed
+        } ?: 0L
+        ruleStats.getOrPut(rule.ruleId) { RuleStats() }
+            .record(matched, evaluationNanos, tokenResolutionNanos, historicalNanos)
+    }
+
+    /**
+     * Returns the recorded evaluations as event data, with the rules sorted by descending cumulative
+     * evaluation time. Durations are reported in microseconds.
+     *
+     * @return the profiling report
+     */
+    fun report(): Map<String, Any> {
+        val rules = ruleStats.entries
+            .map { (ruleId, stats) -> stats.report(ruleId) }
+            .sortedByDescending { it[KEY_TOTAL_EVALUATION_TIME] as Long }
+        return mapOf(
+            KEY_RULES to rules,
+            KEY_HISTORICAL_PREFETCH_COUNT to prefetchCount.get(),
+            KEY_HISTORICAL_PREFETCH_TIME to toMicros(prefetchNanos.get())
+        )
+    }
+
+    /**
+     * The recorded evaluations of a rule.
+     */
+    private class RuleStats {
+        private var evaluationCount = 0L
+        private var matchCount = 0L
+        private var totalNanos = 0L
+        private var tokenResolutionNanos = 0L
+        private var historicalQueryNanos = 0L
+        private val samples = LongArray(MAX_SAMPLES)
+
+        @Synchronized
+        fun record(matched: Boolean, evaluationNanos: Long, tokenResolutionNanos: Long, historicalQueryNanos: Long) {
+            samples[(evaluationCount % MAX_SAMPLES).toInt()] = evaluationNanos
+            evaluationCount++
+            if (matched) {
+                matchCount++
+            }
+            totalNanos += evaluationNanos
+            this.tokenResolutionNanos += tokenResolutionNanos
+            this.historicalQueryNanos += historicalQueryNanos
+        }
+
+        @Synchronized
+        fun report(ruleId: String): Map<String, Any> {
+            return mapOf(
+                KEY_RULE_ID to ruleId,
+                KEY_EVALUATION_COUNT to evaluationCount,
+                KEY_MATCH_COUNT to matchCount,
+                KEY_TOTAL_EVALUATION_TIME to toMicros(totalNanos),
+                KEY_P99_EVALUATION_TIME to toMicros(p99Nanos()),
+                KEY_TOKEN_RESOLUTION_TIME to toMicros(tokenResolutionNanos),
+                KEY_HISTORICAL_QUERY_TIME to toMicros(historicalQueryNanos)
+            )
+        }
+
+        private fun p99Nanos(): Long {
+            val sampleCount = minOf(evaluationCount, MAX_SAMPLES.toLong()).toInt()
+            if (sampleCount == 0) {
+                return 0
+            }
+            val sorted = samples.copyOf(sampleCount)
+            sorted.sort()
+            return sorted[ceil(sampleCount * 0.99).toInt() - 1]
+        }
+    }
+}
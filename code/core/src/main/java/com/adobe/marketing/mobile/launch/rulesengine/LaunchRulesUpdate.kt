@@ -0,0 +1,32 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+/**
+ * The changes applied to the rules of a [LaunchRulesEngine] by [LaunchRulesEngine.updateRules].
+ * A rule whose content changed is reported both as removed, with its previous content, and as added.
+ *
+ * @property rules the rules after the update, in the order they were provided
+ * @property addedRules the rules that were added
+ * @property removedRules the rules that were removed
+ */
+class LaunchRulesUpdate internal constructor(
+    val rules: List<LaunchRule>,
+    val addedRules: List<LaunchRule>,
+    val removedRules: List<LaunchRule>
+) {
+    /**
+     * Whether any rule was added or removed
+     */
+    val hasChanges: Boolean
+        get() = addedRules.isNotEmpty() || removedRules.isNotEmpty()
+}
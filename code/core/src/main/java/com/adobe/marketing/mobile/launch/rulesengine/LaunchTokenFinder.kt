@@ -16,6 +16,7 @@ import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.MobileCore
 import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.internal.util.flattening
+import com.adobe.marketing.mobile.internal.util.getFlattenedValue
 import com.adobe.marketing.mobile.internal.util.serializeToQueryString
 import com.adobe.marketing.mobile.rulesengine.TokenFinder
 import com.adobe.marketing.mobile.services.Log
@@ -114,6 +115,12 @@ internal class LaunchTokenFinder(val event: Event, val extensionApi: ExtensionAp
     // private getter methods
     // ========================================================
 
+    /**
+     * Shared states resolved for [event], keyed by extension name. A token finder is used for a single
+     * evaluation, so each shared state is only fetched once however many tokens reference it.
+     */
+    private val sharedStates = HashMap<String, Map<String, Any?>?>()
+
     private fun getValueFromSharedState(key: String): Any? {
         val sharedStateKeyString = key.substring(KEY_SHARED_STATE.length)
         if (sharedStateKeyString.isBlank()) {
@@ -123,20 +130,40 @@ internal class LaunchTokenFinder(val event: Event, val extensionApi: ExtensionAp
             return null
         }
         val (sharedStateName, dataKeyName) = sharedStateKeyString.split(SHARED_STATE_KEY_DELIMITER)
-        val sharedStateMap = extensionApi.getSharedState(
+        if (dataKeyName.isBlank()) {
+            return null
+        }
+        val sharedState = getSharedState(sharedStateName)
+        if (sharedState.isNullOrEmpty()) {
+            return null
+        }
+        return sharedState.getFlattenedValue(dataKeyName)
+    }
+
+    /**
+     * Returns the shared state of [sharedStateName] for [event], fetching it on first use.
+     * The value is looked up by key path, so the shared state is never flattened.
+     *
+     * @param sharedStateName the name of the extension owning the shared state
+     * @return the shared state data, null if none is available
+     */
+    private fun getSharedState(sharedStateName: String): Map<String, Any?>? {
+        if (sharedStates.containsKey(sharedStateName)) {
+            return sharedStates[sharedStateName]
+        }
+        val sharedState = extensionApi.getSharedState(
             sharedStateName,
             event,
             false,
             SharedStateResolution.ANY
-        )?.value?.flattening()
-        if (sharedStateMap.isNullOrEmpty() || dataKeyName.isBlank() || !sharedStateMap.containsKey(dataKeyName)) {
-            return null
-        }
-        return sharedStateMap[dataKeyName]
+        )?.value
+        sharedStates[sharedStateName] = sharedState
+        return sharedState
     }
 
     /**
      * Returns the value for the [key] provided as input by searching in the current [Event]'s data.
+     * The dot-separated [key] is looked up directly in the nested event data, without flattening it.
      *
      * @param key [String] containing the key whose value needs to be determined
      *
@@ -146,7 +173,6 @@ internal class LaunchTokenFinder(val event: Event, val extensionApi: ExtensionAp
         if (event.eventData == null) {
             return EMPTY_STRING
         }
-        val eventDataMap = event.eventData.flattening()
-        return eventDataMap[key]
+        return event.eventData.getFlattenedValue(key)
     }
 }
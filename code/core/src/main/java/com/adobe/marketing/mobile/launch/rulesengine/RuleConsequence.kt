@@ -24,4 +24,15 @@ data class RuleConsequence(
     val id: String,
     val type: String,
     val detail: Map<String, Any?>
-)
+) {
+    @Volatile
+    private var detailTemplate: ConsequenceDetailTemplate? = null
+
+    /**
+     * Returns the [ConsequenceDetailTemplate] of [detail], parsing it on first use.
+     */
+    @JvmSynthetic
+    internal fun getDetailTemplate(): ConsequenceDetailTemplate {
+        return detailTemplate ?: ConsequenceDetailTemplate(detail).also { detailTemplate = it }
+    }
+}
@@ -182,7 +182,7 @@ public class RulesLoader {
 
         switch (response.getResponseCode()) {
             case HttpURLConnection.HTTP_OK:
-                return extractRules(
+                return streamRules(
                         url, response.getInputStream(), extractMetadataFromResponse(response));
             case HttpURLConnection.HTTP_NOT_MODIFIED:
                 return new RulesLoadResult(null, RulesLoadResult.Reason.NOT_MODIFIED);
@@ -238,21 +238,63 @@ public class RulesLoader {
         }
 
         // Cache the extracted contents
+        cacheRules(key, rules.getBytes(StandardCharsets.UTF_8), metadata);
+
+        // Delete the temporary directory created for processing
+        rulesZipProcessingHelper.deleteTemporaryDirectory(key);
+
+        return new RulesLoadResult(rules, RulesLoadResult.Reason.SUCCESS);
+    }
+
+    /**
+     * Reads the rules from {@code zipContentStream} as it is received, without staging the zip or
+     * its content in a temporary directory, and returns a {@code RulesDownloadResult} with rules if
+     * successful. If the extraction is unsuccessful, returns a {@code RulesDownloadResult} with the
+     * error reason.
+     *
+     * @param key the key that will be used for caching the extracted rules
+     * @param zipContentStream the zip stream that will need to be processed
+     * @param metadata any metadata associated with the zipContentStream
+     */
+    private RulesLoadResult streamRules(
+            final String key,
+            final InputStream zipContentStream,
+            final Map<String, String> metadata) {
+        if (zipContentStream == null) {
+            Log.debug(TAG, cacheName, "Zip content stream is null");
+            return new RulesLoadResult(null, RulesLoadResult.Reason.NO_DATA);
+        }
+
+        final byte[] rules = rulesZipProcessingHelper.readRulesFromZip(zipContentStream);
+        if (rules == null) {
+            Log.debug(TAG, cacheName, "Failed to extract rules from response zip.");
+            return new RulesLoadResult(null, RulesLoadResult.Reason.ZIP_EXTRACTION_FAILED);
+        }
+
+        // The same bytes are cached and decoded for the parser, so the rules are read only once
+        cacheRules(key, rules, metadata);
+
+        return new RulesLoadResult(
+                new String(rules, StandardCharsets.UTF_8), RulesLoadResult.Reason.SUCCESS);
+    }
+
+    /**
+     * Caches the extracted rules in the cache bucket with name {@code cacheName} and {@code key}
+     * as the key.
+     *
+     * @param key the key that will be used for caching the rules
+     * @param rules the UTF-8 content of the extracted rules
+     * @param metadata any metadata associated with the rules
+     */
+    private void cacheRules(
+            final String key, final byte[] rules, final Map<String, String> metadata) {
         final CacheEntry cacheEntry =
-                new CacheEntry(
-                        new ByteArrayInputStream(rules.getBytes(StandardCharsets.UTF_8)),
-                        CacheExpiry.never(),
-                        metadata);
+                new CacheEntry(new ByteArrayInputStream(rules), CacheExpiry.never(), metadata);
         final boolean cached =
                 ServiceProvider.getInstance().getCacheService().set(cacheName, key, cacheEntry);
         if (!cached) {
             Log.debug(TAG, cacheName, "Could not cache rules from source %s", key);
         }
-
-        // Delete the temporary directory created for processing
-        rulesZipProcessingHelper.deleteTemporaryDirectory(key);
-
-        return new RulesLoadResult(rules, RulesLoadResult.Reason.SUCCESS);
     }
 
     /**
@@ -20,10 +20,15 @@ import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.util.StreamUtils;
 import com.adobe.marketing.mobile.util.StringEncoder;
 import com.adobe.marketing.mobile.util.StringUtils;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /** Helper class to handle rules zip file related processing. */
 class RulesZipProcessingHelper {
@@ -34,6 +39,7 @@ class RulesZipProcessingHelper {
 
     private static final String TEMP_RULES_ZIP = "rules.zip";
     private static final String TEMP_RULES_JSON = "rules.json";
+    private static final int ZIP_READ_BUFFER_SIZE = 8192;
 
     /**
      * Creates a temporary directory to store and process rules. Such a directory (if created
@@ -132,6 +138,54 @@ class RulesZipProcessingHelper {
         }
     }
 
+    /**
+     * Reads the content of the file with name TEMP_RULES_JSON from the rules zip stream {@code
+     * zip}, without storing the zip or any of its entries on disk. As with {@code
+     * unzipRules(tag)}, the zip is rejected if it has no entries or if any of its entries has a
+     * path outside of the zip root.
+     *
+     * @param zip the rules zip stream, which is closed once read
+     * @return the UTF-8 content of TEMP_RULES_JSON if it was found and was readable; null
+     *     otherwise.
+     */
+    byte[] readRulesFromZip(@NonNull final InputStream zip) {
+        byte[] rules = null;
+        try (final ZipInputStream zipInputStream = new ZipInputStream(zip)) {
+            ZipEntry entry = zipInputStream.getNextEntry();
+            if (entry == null) {
+                Log.debug(CoreConstants.LOG_TAG, TAG, "Rules zip stream was invalid.");
+                return null;
+            }
+
+            while (entry != null) {
+                final String entryPath = normalizeZipEntryPath(entry.getName());
+                if (entryPath == null) {
+                    Log.debug(
+                            CoreConstants.LOG_TAG,
+                            TAG,
+                            "The zip file contained an invalid path. Verify that your zip file is"
+                                    + " formatted correctly and has not been tampered with.");
+                    return null;
+                }
+
+                if (!entry.isDirectory() && TEMP_RULES_JSON.equals(entryPath)) {
+                    rules = readZipEntry(zipInputStream);
+                }
+
+                zipInputStream.closeEntry();
+                entry = zipInputStream.getNextEntry();
+            }
+        } catch (final Exception e) {
+            Log.debug(CoreConstants.LOG_TAG, TAG, "Failed to read rules zip stream - %s", e);
+            return null;
+        }
+
+        if (rules == null) {
+            Log.debug(CoreConstants.LOG_TAG, TAG, "Rules zip does not contain a rules.json file.");
+        }
+        return rules;
+    }
+
     /**
      * Deletes the temporary directory created via {@code createTemporaryRulesDirectory()}
      *
@@ -161,6 +215,51 @@ class RulesZipProcessingHelper {
         return new File(getTemporaryDirectory(tag).getPath() + File.separator + TEMP_RULES_ZIP);
     }
 
+    private byte[] readZipEntry(@NonNull final ZipInputStream zipInputStream)
+            throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[ZIP_READ_BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = zipInputStream.read(buffer, 0, buffer.length)) != -1) {
+            content.write(buffer, 0, bytesRead);
+        }
+        return content.toByteArray();
+    }
+
+    /**
+     * Resolves the {@code .} and {@code ..} segments of a zip entry name the way extracting the
+     * entry into a directory would.
+     *
+     * @param entryName the name of the zip entry
+     * @return the path of the entry relative to the zip root, or null if it is outside of the root
+     */
+    private static String normalizeZipEntryPath(@NonNull final String entryName) {
+        final List<String> segments = new ArrayList<>();
+        for (final String segment : entryName.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+
+            if ("..".equals(segment)) {
+                if (segments.isEmpty()) {
+                    return null;
+                }
+                segments.remove(segments.size() - 1);
+            } else {
+                segments.add(segment);
+            }
+        }
+
+        final StringBuilder path = new StringBuilder();
+        for (final String segment : segments) {
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(segment);
+        }
+        return path.toString();
+    }
+
     private boolean canProcess(@NonNull final String tag) {
         return !StringUtils.isNullOrEmpty(tag);
     }
@@ -11,6 +11,7 @@
 
 package com.adobe.marketing.mobile.launch.rulesengine.json
 
+import com.adobe.marketing.mobile.launch.rulesengine.HistoricalEventsQuery
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngineConstants
 import com.adobe.marketing.mobile.rulesengine.Evaluable
 import com.adobe.marketing.mobile.rulesengine.LogicalExpression
@@ -20,7 +21,7 @@ import java.util.Locale
 /**
  * The class representing a group of [JSONCondition]s
  */
-internal class GroupCondition(private val definition: JSONDefinition) : JSONCondition() {
+internal class GroupCondition(internal val definition: JSONDefinition) : JSONCondition() {
     companion object {
         private const val LOG_TAG = "GroupCondition"
         private val LOGICAL_OPERATORS = listOf("or", "and")
@@ -44,4 +45,9 @@ internal class GroupCondition(private val definition: JSONDefinition) : JSONCond
         val evaluableList = definition.conditions.map { it.toEvaluable() }
         return LogicalExpression(evaluableList, logicalOperator)
     }
+
+    @JvmSynthetic
+    override fun historicalQueries(): List<HistoricalEventsQuery> {
+        return definition.conditions?.flatMap { it.historicalQueries() } ?: emptyList()
+    }
 }
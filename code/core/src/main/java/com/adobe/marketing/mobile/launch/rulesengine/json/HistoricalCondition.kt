@@ -13,10 +13,9 @@ package com.adobe.marketing.mobile.launch.rulesengine.json
 
 import com.adobe.marketing.mobile.EventHistoryRequest
 import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.HistoricalEventsQuery
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngineConstants
 import com.adobe.marketing.mobile.launch.rulesengine.SEARCH_TYPE_MOST_RECENT
-import com.adobe.marketing.mobile.launch.rulesengine.getHistoricalEventCount
-import com.adobe.marketing.mobile.launch.rulesengine.getMostRecentHistoricalEvent
 import com.adobe.marketing.mobile.rulesengine.ComparisonExpression
 import com.adobe.marketing.mobile.rulesengine.Evaluable
 import com.adobe.marketing.mobile.rulesengine.OperandFunction
@@ -24,7 +23,7 @@ import com.adobe.marketing.mobile.rulesengine.OperandLiteral
 import com.adobe.marketing.mobile.services.Log
 
 internal class HistoricalCondition(
-    private val definition: JSONDefinition,
+    internal val definition: JSONDefinition,
     private val extensionApi: ExtensionApi
 ) : JSONCondition() {
 
@@ -32,6 +31,19 @@ internal class HistoricalCondition(
         private const val LOG_TAG = "HistoricalCondition"
     }
 
+    private val query: HistoricalEventsQuery? by lazy {
+        if (definition.events !is List<*>) {
+            return@lazy null
+        }
+        val fromDate = definition.from ?: 0
+        val toDate = definition.to ?: 0
+        val searchType = definition.searchType ?: "any"
+        val requestEvents = definition.events.map {
+            EventHistoryRequest(it, fromDate, toDate)
+        }
+        HistoricalEventsQuery(requestEvents, searchType, extensionApi)
+    }
+
     override fun toEvaluable(): Evaluable? {
         val valueAsInt = definition.value
         val operationName = MatcherCondition.MATCHER_MAPPING[definition.matcher]
@@ -46,52 +58,22 @@ internal class HistoricalCondition(
             )
             return null
         }
-        val fromDate = definition.from ?: 0
-        val toDate = definition.to ?: 0
-        val searchType = definition.searchType ?: "any"
-        val requestEvents = definition.events.map {
-            EventHistoryRequest(it, fromDate, toDate)
-        }
-        if (searchType == SEARCH_TYPE_MOST_RECENT) {
-            return ComparisonExpression(
-                OperandFunction(
-                    {
-                        try {
-                            @Suppress("UNCHECKED_CAST")
-                            getMostRecentHistoricalEvent(
-                                it[0] as List<EventHistoryRequest>,
-                                extensionApi
-                            )
-                        } catch (e: Exception) {
-                            0
-                        }
-                    },
-                    requestEvents
-                ),
+        val query = this.query ?: return null
+        return if (query.searchType == SEARCH_TYPE_MOST_RECENT) {
+            ComparisonExpression(
+                OperandFunction(query, query.requests),
                 operationName,
                 OperandLiteral(valueAsInt)
             )
         } else {
-            return ComparisonExpression(
-                OperandFunction(
-                    {
-                        try {
-                            @Suppress("UNCHECKED_CAST")
-                            getHistoricalEventCount(
-                                it[0] as List<EventHistoryRequest>,
-                                it[1] as String,
-                                extensionApi
-                            )
-                        } catch (e: Exception) {
-                            0
-                        }
-                    },
-                    requestEvents,
-                    searchType
-                ),
+            ComparisonExpression(
+                OperandFunction(query, query.requests, query.searchType),
                 operationName,
                 OperandLiteral(valueAsInt)
             )
         }
     }
+
+    @JvmSynthetic
+    override fun historicalQueries(): List<HistoricalEventsQuery> = listOfNotNull(query)
 }
@@ -12,6 +12,7 @@
 package com.adobe.marketing.mobile.launch.rulesengine.json
 
 import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.HistoricalEventsQuery
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngineConstants
 import com.adobe.marketing.mobile.rulesengine.Evaluable
 import com.adobe.marketing.mobile.services.Log
@@ -95,4 +96,12 @@ internal abstract class JSONCondition {
      */
     @JvmSynthetic
     abstract fun toEvaluable(): Evaluable?
+
+    /**
+     * Returns the [HistoricalEventsQuery]s of this condition
+     *
+     * @return the [HistoricalEventsQuery]s used by the [Evaluable] of this condition
+     */
+    @JvmSynthetic
+    internal open fun historicalQueries(): List<HistoricalEventsQuery> = emptyList()
 }
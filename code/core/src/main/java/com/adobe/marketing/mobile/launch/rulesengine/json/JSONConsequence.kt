@@ -20,10 +20,10 @@ import org.json.JSONObject
 /**
  * The class representing a Rule's consequence
  */
-internal class JSONConsequence private constructor(
-    private val id: String,
-    private val type: String,
-    private val detail: Map<String, Any?>?
+internal class JSONConsequence internal constructor(
+    internal val id: String,
+    internal val type: String,
+    internal val detail: Map<String, Any?>?
 ) {
     companion object {
         private const val KEY_ID = "id"
@@ -62,6 +62,7 @@ internal class JSONConsequence private constructor(
             return null
         }
 
-        return RuleConsequence(id, type, detail)
+        // Parse the detail templates while the rules are loaded rather than on the first match.
+        return RuleConsequence(id, type, detail).also { it.getDetailTemplate() }
     }
 }
@@ -30,8 +30,8 @@ import org.json.JSONObject
  *
  * Future meta keys can be added to this class as requirements evolve.
  */
-internal class JSONMeta private constructor(
-    private val reEvaluate: Boolean,
+internal class JSONMeta internal constructor(
+    internal val reEvaluate: Boolean,
 ) {
     companion object {
         private const val KEY_REEVALUATE = "reEvaluate"
@@ -56,6 +56,41 @@ internal class JSONRule private constructor(
             }
             return JSONRule(condition, consequences, meta)
         }
+
+        /**
+         * Builds a [LaunchRule] from the parsed parts of a Rule
+         *
+         * @param jsonCondition the [JSONCondition] of the Rule
+         * @param jsonConsequences the [JSONConsequence]s of the Rule
+         * @param jsonMeta the [JSONMeta] of the Rule
+         * @return an object of [LaunchRule] or null
+         */
+        @JvmSynthetic
+        internal fun buildLaunchRule(
+            jsonCondition: JSONCondition?,
+            jsonConsequences: List<JSONConsequence?>,
+            jsonMeta: JSONMeta
+        ): LaunchRule? {
+            val evaluable = jsonCondition?.toEvaluable()
+            if (jsonCondition == null || evaluable !is Evaluable) {
+                Log.error(
+                    LaunchRulesEngineConstants.LOG_TAG,
+                    LOG_TAG,
+                    "Failed to build LaunchRule from JSON, the [rule.condition] can't be parsed to Evaluable."
+                )
+                return null
+            }
+            val consequenceList = jsonConsequences.map {
+                it?.toRuleConsequence() ?: throw Exception()
+            }
+            return LaunchRule(evaluable, consequenceList, jsonMeta.toMeta()).also {
+                it.historicalQueries = jsonCondition.historicalQueries()
+                // Only the fingerprint is kept, the parts are released with the JSON
+                it.fingerprint = JSONRulesSnapshot.fingerprint(
+                    JSONRuleParts(jsonCondition, jsonConsequences.filterNotNull(), jsonMeta)
+                )
+            }
+        }
     }
 
     /**
@@ -65,19 +100,10 @@ internal class JSONRule private constructor(
      */
     @JvmSynthetic
     internal fun toLaunchRule(extensionApi: ExtensionApi): LaunchRule? {
-        val evaluable = JSONCondition.build(condition, extensionApi)?.toEvaluable()
-        if (evaluable !is Evaluable) {
-            Log.error(
-                LaunchRulesEngineConstants.LOG_TAG,
-                LOG_TAG,
-                "Failed to build LaunchRule from JSON, the [rule.condition] can't be parsed to Evaluable."
-            )
-            return null
-        }
-        val consequenceList = consequences.map {
-            JSONConsequence(it as? JSONObject)?.toRuleConsequence() ?: throw Exception()
-        }
-        val metaObject = JSONMeta(meta).toMeta()
-        return LaunchRule(evaluable, consequenceList, metaObject)
+        return buildLaunchRule(
+            JSONCondition.build(condition, extensionApi),
+            consequences.map { JSONConsequence(it as? JSONObject) },
+            JSONMeta(meta)
+        )
     }
 }
@@ -0,0 +1,37 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine.json
+
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule
+
+/**
+ * The parsed parts of a Rule, from which a [LaunchRule] is built
+ *
+ * @property condition the [JSONCondition] of the Rule
+ * @property consequences the [JSONConsequence]s of the Rule
+ * @property meta the [JSONMeta] of the Rule
+ */
+internal class JSONRuleParts(
+    val condition: JSONCondition,
+    val consequences: List<JSONConsequence>,
+    val meta: JSONMeta
+) {
+    /**
+     * Converts itself to a [LaunchRule]
+     *
+     * @return an object of [LaunchRule] or null
+     */
+    @JvmSynthetic
+    internal fun toLaunchRule(): LaunchRule? {
+        return JSONRule.buildLaunchRule(condition, consequences, meta)
+    }
+}
@@ -32,7 +32,31 @@ object JSONRulesParser {
      */
     @JvmStatic
     fun parse(jsonString: String, extensionApi: ExtensionApi): List<LaunchRule>? {
+        return parse(jsonString, extensionApi) {}
+    }
+
+    /**
+     * Parses a set of JSON rules to a list of [LaunchRule]s
+     *
+     * @param jsonString a JSON string
+     * @param onRuleParts invoked with the [JSONRuleParts] the rules were built from, when the
+     * JSON string was read in a single pass and all of its rules are valid
+     * @return a list of [LaunchRule]s
+     */
+    @JvmSynthetic
+    internal fun parse(
+        jsonString: String,
+        extensionApi: ExtensionApi,
+        onRuleParts: (List<JSONRuleParts>) -> Unit
+    ): List<LaunchRule>? {
         try {
+            // Most rules are read in a single pass, anything the reader does not support goes through JSONObject
+            val ruleParts = JSONRulesReader(jsonString, extensionApi).readRuleParts()
+            if (ruleParts != null) {
+                val rules = ruleParts.map { it.toLaunchRule() ?: throw Exception() }
+                onRuleParts(ruleParts)
+                return rules
+            }
             val jsonObject = JSONTokener(jsonString).nextValue()
             if (jsonObject is JSONObject) {
                 return JSONRuleRoot(jsonObject)?.toLaunchRules(extensionApi)
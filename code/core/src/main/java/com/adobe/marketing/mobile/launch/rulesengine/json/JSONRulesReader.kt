@@ -0,0 +1,408 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine.json
+
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule
+
+/**
+ * Reads a set of JSON rules in a single pass, building the parts of each [LaunchRule] directly
+ * from the JSON string instead of going through a [org.json.JSONObject] document.
+ *
+ * The reader accepts strict JSON in the layout of a rules payload and produces the same values as
+ * [JSONRuleRoot]: numbers are read as `Int`, `Long` or `Double` like [org.json.JSONTokener] does,
+ * and nested objects and arrays become maps and lists. Lenient JSON, values of unexpected types
+ * and invalid rule layouts are left to [JSONRuleRoot], which also reports the errors.
+ */
+internal class JSONRulesReader(
+    private val json: String,
+    private val extensionApi: ExtensionApi
+) {
+    companion object {
+        private const val KEY_RULES = "rules"
+        private const val KEY_CONDITION = "condition"
+        private const val KEY_CONSEQUENCES = "consequences"
+        private const val KEY_META = "meta"
+        private const val KEY_TYPE = "type"
+        private const val KEY_DEFINITION = "definition"
+        private const val KEY_ID = "id"
+        private const val KEY_DETAIL = "detail"
+        private const val KEY_REEVALUATE = "reEvaluate"
+        private const val KEY_LOGIC = "logic"
+        private const val KEY_CONDITIONS = "conditions"
+        private const val KEY_KEY = "key"
+        private const val KEY_MATCHER = "matcher"
+        private const val KEY_VALUES = "values"
+        private const val KEY_EVENTS = "events"
+        private const val KEY_VALUE = "value"
+        private const val KEY_FROM = "from"
+        private const val KEY_TO = "to"
+        private const val KEY_SEARCH_TYPE = "searchType"
+        private const val TYPE_VALUE_GROUP = "group"
+        private const val TYPE_VALUE_MATCHER = "matcher"
+        private const val TYPE_VALUE_HISTORICAL = "historical"
+    }
+
+    /**
+     * Thrown when the JSON string is not supported by this reader, without a stack trace as it
+     * only ends reading.
+     */
+    private object UnsupportedJSONException : RuntimeException() {
+        override fun fillInStackTrace(): Throwable = this
+    }
+
+    private var position = 0
+
+    /**
+     * Reads the JSON string to the [JSONRuleParts] of each Rule, without building the Rules
+     *
+     * @return a list of [JSONRuleParts], or null if the JSON string is not supported by this reader
+     */
+    @JvmSynthetic
+    fun readRuleParts(): List<JSONRuleParts>? {
+        return try {
+            readRoot()
+        } catch (e: UnsupportedJSONException) {
+            null
+        }
+    }
+
+    private fun readRoot(): List<JSONRuleParts> {
+        var rules: List<JSONRuleParts>? = null
+        readObject { name ->
+            if (name == KEY_RULES) {
+                rules = readList { readRule() }
+            } else {
+                readValue()
+            }
+        }
+        return rules ?: throw UnsupportedJSONException
+    }
+
+    private fun readRule(): JSONRuleParts {
+        var condition: JSONCondition? = null
+        var consequences: List<JSONConsequence>? = null
+        var meta: JSONMeta? = null
+        readObject { name ->
+            when (name) {
+                KEY_CONDITION -> condition = readCondition()
+                KEY_CONSEQUENCES -> consequences = readList { readConsequence() }
+                KEY_META -> meta = readObjectOrNull { readMeta() }
+                else -> readValue()
+            }
+        }
+        return JSONRuleParts(
+            condition ?: throw UnsupportedJSONException,
+            consequences ?: throw UnsupportedJSONException,
+            meta ?: JSONMeta(false)
+        )
+    }
+
+    private fun readCondition(): JSONCondition {
+        var type: String? = null
+        var definition: JSONDefinition? = null
+        readObject { name ->
+            when (name) {
+                KEY_TYPE -> type = readString()
+                KEY_DEFINITION -> definition = readDefinition()
+                else -> readValue()
+            }
+        }
+        val conditionDefinition = definition ?: throw UnsupportedJSONException
+        return when (type) {
+            TYPE_VALUE_GROUP -> GroupCondition(conditionDefinition)
+            TYPE_VALUE_MATCHER -> MatcherCondition(conditionDefinition)
+            TYPE_VALUE_HISTORICAL -> HistoricalCondition(conditionDefinition, extensionApi)
+            else -> throw UnsupportedJSONException
+        }
+    }
+
+    private fun readDefinition(): JSONDefinition {
+        var logic: String? = null
+        var conditions: List<JSONCondition>? = null
+        var key: String? = null
+        var matcher: String? = null
+        var values: List<Any?>? = null
+        var events: List<Map<String, Any?>>? = null
+        var value: Any? = null
+        var from: Long? = null
+        var to: Long? = null
+        var searchType: String? = null
+        readObject { name ->
+            when (name) {
+                KEY_LOGIC -> logic = readValue() as? String
+                KEY_CONDITIONS -> conditions = readListOrNull { readCondition() }
+                KEY_KEY -> key = readValue() as? String
+                KEY_MATCHER -> matcher = readValue() as? String
+                KEY_VALUES -> values = readListOrNull { readPrimitive() }
+                KEY_EVENTS -> events = readListOrNull { readMap() }
+                KEY_VALUE -> value = readPrimitive()
+                KEY_FROM -> from = readValue() as? Long
+                KEY_TO -> to = readValue() as? Long
+                KEY_SEARCH_TYPE -> searchType = readValue() as? String
+                else -> readValue()
+            }
+        }
+        return JSONDefinition(logic, conditions, key, matcher, values, events, value, from, to, searchType)
+    }
+
+    private fun readConsequence(): JSONConsequence {
+        var id = ""
+        var type = ""
+        var detail: Map<String, Any?>? = null
+        readObject { name ->
+            when (name) {
+                KEY_ID -> id = readString()
+                KEY_TYPE -> type = readString()
+                KEY_DETAIL -> detail = readObjectOrNull { readMap() }
+                else -> readValue()
+            }
+        }
+        return JSONConsequence(id, type, detail)
+    }
+
+    private fun readMeta(): JSONMeta {
+        var reEvaluate = false
+        readObject { name ->
+            if (name == KEY_REEVALUATE) {
+                reEvaluate = readValue() as? Boolean ?: throw UnsupportedJSONException
+            } else {
+                readValue()
+            }
+        }
+        return JSONMeta(reEvaluate)
+    }
+
+    /**
+     * Reads a value that is kept as is in a [JSONDefinition], which is a string, a number or a boolean.
+     */
+    private fun readPrimitive(): Any {
+        return when (peek()) {
+            '{', '[' -> throw UnsupportedJSONException
+            else -> readValue() ?: throw UnsupportedJSONException
+        }
+    }
+
+    private fun readValue(): Any? {
+        return when (peek()) {
+            '{' -> readMap()
+            '[' -> readList { readValue() }
+            '"' -> readString()
+            't' -> readLiteral("true", true)
+            'f' -> readLiteral("false", false)
+            'n' -> readLiteral("null", null)
+            else -> readNumber()
+        }
+    }
+
+    private fun readMap(): Map<String, Any?> {
+        val map = LinkedHashMap<String, Any?>()
+        readObject { name -> map[name] = readValue() }
+        return map
+    }
+
+    private inline fun readObject(readField: (String) -> Unit) {
+        expect('{')
+        if (peek() == '}') {
+            position++
+            return
+        }
+        do {
+            val name = readString()
+            expect(':')
+            readField(name)
+        } while (consume(','))
+        expect('}')
+    }
+
+    private inline fun <T> readList(readElement: () -> T): List<T> {
+        val list = ArrayList<T>()
+        expect('[')
+        if (peek() == ']') {
+            position++
+            return list
+        }
+        do {
+            list.add(readElement())
+        } while (consume(','))
+        expect(']')
+        return list
+    }
+
+    /**
+     * Reads an object, or skips the value and returns null if it is not an object.
+     */
+    private inline fun <T> readObjectOrNull(read: () -> T): T? {
+        if (peek() != '{') {
+            readValue()
+            return null
+        }
+        return read()
+    }
+
+    /**
+     * Reads a list, or skips the value and returns null if it is not an array.
+     */
+    private inline fun <T> readListOrNull(readElement: () -> T): List<T>? {
+        if (peek() != '[') {
+            readValue()
+            return null
+        }
+        return readList(readElement)
+    }
+
+    private fun readString(): String {
+        expect('"')
+        val start = position
+        while (position < json.length) {
+            when (json[position]) {
+                '"' -> return json.substring(start, position++)
+                '\\' -> return readEscapedString(start)
+                else -> position++
+            }
+        }
+        throw UnsupportedJSONException
+    }
+
+    private fun readEscapedString(start: Int): String {
+        val builder = StringBuilder().append(json, start, position)
+        while (position < json.length) {
+            val c = json[position++]
+            when (c) {
+                '"' -> return builder.toString()
+                '\\' -> builder.append(readEscapedCharacter())
+                else -> builder.append(c)
+            }
+        }
+        throw UnsupportedJSONException
+    }
+
+    private fun readEscapedCharacter(): Char {
+        if (position >= json.length) {
+            throw UnsupportedJSONException
+        }
+        return when (val c = json[position++]) {
+            '"', '\\', '/' -> c
+            'b' -> '\b'
+            'f' -> '\u000C'
+            'n' -> '\n'
+            'r' -> '\r'
+            't' -> '\t'
+            'u' -> {
+                if (position + 4 > json.length) {
+                    throw UnsupportedJSONException
+                }
+                var code = 0
+                repeat(4) {
+                    val digit = Character.digit(json[position++], 16)
+                    if (digit < 0) {
+                        throw UnsupportedJSONException
+                    }
+                    code = code * 16 + digit
+                }
+                Char(code)
+            }
+            else -> throw UnsupportedJSONException
+        }
+    }
+
+    private fun <T> readLiteral(literal: String, value: T): T {
+        if (!json.startsWith(literal, position)) {
+            throw UnsupportedJSONException
+        }
+        position += literal.length
+        return value
+    }
+
+    /**
+     * Reads a number the way [org.json.JSONTokener] does: integral numbers that fit in a `Long`
+     * are read as an `Int` or a `Long`, all others as a `Double`.
+     */
+    private fun readNumber(): Any {
+        val start = position
+        consume('-')
+        val integerStart = position
+        skipDigits()
+        val integerLength = position - integerStart
+        if (integerLength == 0 || (integerLength > 1 && json[integerStart] == '0')) {
+            throw UnsupportedJSONException
+        }
+        var integral = true
+        if (position < json.length && json[position] == '.') {
+            integral = false
+            position++
+            requireDigits()
+        }
+        if (position < json.length && (json[position] == 'e' || json[position] == 'E')) {
+            integral = false
+            position++
+            if (position < json.length && (json[position] == '+' || json[position] == '-')) {
+                position++
+            }
+            requireDigits()
+        }
+        val literal = json.substring(start, position)
+        if (integral) {
+            val longValue = literal.toLongOrNull()
+            if (longValue != null) {
+                return if (longValue in Int.MIN_VALUE..Int.MAX_VALUE) longValue.toInt() else longValue
+            }
+        }
+        val doubleValue = literal.toDouble()
+        if (doubleValue.isInfinite()) {
+            throw UnsupportedJSONException
+        }
+        return doubleValue
+    }
+
+    private fun requireDigits() {
+        val digitsStart = position
+        skipDigits()
+        if (position == digitsStart) {
+            throw UnsupportedJSONException
+        }
+    }
+
+    private fun skipDigits() {
+        while (position < json.length && json[position] in '0'..'9') {
+            position++
+        }
+    }
+
+    private fun expect(c: Char) {
+        if (peek() != c) {
+            throw UnsupportedJSONException
+        }
+        position++
+    }
+
+    private fun consume(c: Char): Boolean {
+        if (peek() != c) {
+            return false
+        }
+        position++
+        return true
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     */
+    private fun peek(): Char {
+        while (position < json.length) {
+            when (val c = json[position]) {
+                ' ', '\t', '\n', '\r' -> position++
+                else -> return c
+            }
+        }
+        throw UnsupportedJSONException
+    }
+}
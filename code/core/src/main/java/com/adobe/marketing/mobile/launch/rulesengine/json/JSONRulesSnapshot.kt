@@ -0,0 +1,312 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine.json
+
+import com.adobe.marketing.mobile.ExtensionApi
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.OutputStream
+
+/**
+ * Writes and reads a compact binary snapshot of the [JSONRuleParts] of a set of Rules, so that
+ * rules parsed once can be loaded again without reading their JSON.
+ *
+ * A snapshot starts with a header holding [FORMAT_VERSION], and a snapshot written with another
+ * version is not read. The version must be increased whenever the layout below changes.
+ */
+internal object JSONRulesSnapshot {
+    private const val MAGIC = 0x41455052
+    internal const val FORMAT_VERSION = 1
+
+    private const val CONDITION_GROUP = 0
+    private const val CONDITION_MATCHER = 1
+    private const val CONDITION_HISTORICAL = 2
+
+    private const val VALUE_NULL = 0
+    private const val VALUE_STRING = 1
+    private const val VALUE_INT = 2
+    private const val VALUE_LONG = 3
+    private const val VALUE_DOUBLE = 4
+    private const val VALUE_BOOLEAN = 5
+    private const val VALUE_MAP = 6
+    private const val VALUE_LIST = 7
+
+    private const val FNV1A_64_OFFSET_BASIS = -0x340d631b7bdddcdbL
+    private const val FNV1A_64_PRIME = 0x100000001b3L
+
+    /**
+     * Writes the snapshot of [rules]
+     *
+     * @param rules the [JSONRuleParts] of a set of Rules
+     * @return the snapshot bytes
+     * @throws IllegalArgumentException if the rules hold a value that cannot be written
+     */
+    @JvmSynthetic
+    fun write(rules: List<JSONRuleParts>): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { output ->
+            output.writeInt(MAGIC)
+            output.writeInt(FORMAT_VERSION)
+            output.writeList(rules) { writeRule(it) }
+        }
+        return bytes.toByteArray()
+    }
+
+    /**
+     * Reads a snapshot written by [write]
+     *
+     * @param snapshot the snapshot bytes
+     * @return the [JSONRuleParts] of the Rules, or null if the snapshot was written with another format version
+     * @throws IOException if the snapshot is not valid
+     */
+    @JvmSynthetic
+    fun read(snapshot: ByteArray, extensionApi: ExtensionApi): List<JSONRuleParts>? {
+        val input = DataInputStream(ByteArrayInputStream(snapshot))
+        if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+            return null
+        }
+        val rules = input.readList { readRule(extensionApi) }
+        if (input.available() != 0) {
+            throw IOException("Unexpected data at the end of the rules snapshot")
+        }
+        return rules
+    }
+
+    /**
+     * Returns a fingerprint of the content of [rule], which is the same for Rules parsed from the
+     * same JSON whether it was read by [JSONRulesReader], [JSONRuleRoot] or from a snapshot.
+     *
+     * The snapshot of [rule] is hashed as it is written, without buffering it, so that the
+     * fingerprint can be computed when the rule is parsed and the parts released.
+     *
+     * @param rule the [JSONRuleParts] of a Rule
+     * @return the 64-bit FNV-1a hash of the snapshot of [rule], or null if the rule holds a value that cannot be written
+     */
+    @JvmSynthetic
+    fun fingerprint(rule: JSONRuleParts): Long? {
+        val hash = FingerprintOutputStream()
+        try {
+            DataOutputStream(hash).use { it.writeRule(rule) }
+        } catch (e: IllegalArgumentException) {
+            return null
+        }
+        return hash.value
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the bytes written to it.
+     */
+    private class FingerprintOutputStream : OutputStream() {
+        var value = FNV1A_64_OFFSET_BASIS
+            private set
+
+        override fun write(b: Int) {
+            value = (value xor (b.toLong() and 0xff)) * FNV1A_64_PRIME
+        }
+    }
+
+    private fun DataOutputStream.writeRule(rule: JSONRuleParts) {
+        writeCondition(rule.condition)
+        writeList(rule.consequences) { writeConsequence(it) }
+        writeBoolean(rule.meta.reEvaluate)
+    }
+
+    private fun DataInputStream.readRule(extensionApi: ExtensionApi): JSONRuleParts {
+        val condition = readCondition(extensionApi)
+        val consequences = readList { readConsequence() }
+        return JSONRuleParts(condition, consequences, JSONMeta(readBoolean()))
+    }
+
+    private fun DataOutputStream.writeCondition(condition: JSONCondition) {
+        when (condition) {
+            is GroupCondition -> {
+                writeByte(CONDITION_GROUP)
+                writeDefinition(condition.definition)
+            }
+            is MatcherCondition -> {
+                writeByte(CONDITION_MATCHER)
+                writeDefinition(condition.definition)
+            }
+            is HistoricalCondition -> {
+                writeByte(CONDITION_HISTORICAL)
+                writeDefinition(condition.definition)
+            }
+            else -> throw IllegalArgumentException("Unsupported condition ${condition.javaClass.simpleName}")
+        }
+    }
+
+    private fun DataInputStream.readCondition(extensionApi: ExtensionApi): JSONCondition {
+        return when (val type = readByte().toInt()) {
+            CONDITION_GROUP -> GroupCondition(readDefinition(extensionApi))
+            CONDITION_MATCHER -> MatcherCondition(readDefinition(extensionApi))
+            CONDITION_HISTORICAL -> HistoricalCondition(readDefinition(extensionApi), extensionApi)
+            else -> throw IOException("Unsupported condition type $type")
+        }
+    }
+
+    private fun DataOutputStream.writeDefinition(definition: JSONDefinition) {
+        writeNullable(definition.logic) { writeString(it) }
+        writeNullable(definition.conditions) { conditions -> writeList(conditions) { writeCondition(it) } }
+        writeNullable(definition.key) { writeString(it) }
+        writeNullable(definition.matcher) { writeString(it) }
+        writeNullable(definition.values) { values -> writeList(values) { writeValue(it) } }
+        writeNullable(definition.events) { events -> writeList(events) { writeMap(it) } }
+        writeValue(definition.value)
+        writeNullable(definition.from) { writeLong(it) }
+        writeNullable(definition.to) { writeLong(it) }
+        writeNullable(definition.searchType) { writeString(it) }
+    }
+
+    private fun DataInputStream.readDefinition(extensionApi: ExtensionApi): JSONDefinition {
+        return JSONDefinition(
+            logic = readNullable { readString() },
+            conditions = readNullable { readList { readCondition(extensionApi) } },
+            key = readNullable { readString() },
+            matcher = readNullable { readString() },
+            values = readNullable { readList { readValue() } },
+            events = readNullable { readList { readMap() } },
+            value = readValue(),
+            from = readNullable { readLong() },
+            to = readNullable { readLong() },
+            searchType = readNullable { readString() }
+        )
+    }
+
+    private fun DataOutputStream.writeConsequence(consequence: JSONConsequence) {
+        writeString(consequence.id)
+        writeString(consequence.type)
+        writeNullable(consequence.detail) { writeMap(it) }
+    }
+
+    private fun DataInputStream.readConsequence(): JSONConsequence {
+        return JSONConsequence(readString(), readString(), readNullable { readMap() })
+    }
+
+    private fun DataOutputStream.writeValue(value: Any?) {
+        when (value) {
+            null -> writeByte(VALUE_NULL)
+            is String -> {
+                writeByte(VALUE_STRING)
+                writeString(value)
+            }
+            is Int -> {
+                writeByte(VALUE_INT)
+                writeInt(value)
+            }
+            is Long -> {
+                writeByte(VALUE_LONG)
+                writeLong(value)
+            }
+            is Double -> {
+                writeByte(VALUE_DOUBLE)
+                writeDouble(value)
+            }
+            is Boolean -> {
+                writeByte(VALUE_BOOLEAN)
+                writeBoolean(value)
+            }
+            is Map<*, *> -> {
+                writeByte(VALUE_MAP)
+                writeMap(value)
+            }
+            is List<*> -> {
+                writeByte(VALUE_LIST)
+                writeList(value) { writeValue(it) }
+            }
+            else -> throw IllegalArgumentException("Unsupported value type ${value.javaClass.simpleName}")
+        }
+    }
+
+    private fun DataInputStream.readValue(): Any? {
+        return when (val type = readByte().toInt()) {
+            VALUE_NULL -> null
+            VALUE_STRING -> readString()
+            VALUE_INT -> readInt()
+            VALUE_LONG -> readLong()
+            VALUE_DOUBLE -> readDouble()
+            VALUE_BOOLEAN -> readBoolean()
+            VALUE_MAP -> readMap()
+            VALUE_LIST -> readList { readValue() }
+            else -> throw IOException("Unsupported value type $type")
+        }
+    }
+
+    private fun DataOutputStream.writeMap(map: Map<*, *>) {
+        writeInt(map.size)
+        for ((key, value) in map) {
+            writeString(key as? String ?: throw IllegalArgumentException("Unsupported map key $key"))
+            writeValue(value)
+        }
+    }
+
+    private fun DataInputStream.readMap(): Map<String, Any?> {
+        val size = readSize()
+        val map = LinkedHashMap<String, Any?>()
+        repeat(size) {
+            val key = readString()
+            map[key] = readValue()
+        }
+        return map
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes, as [DataOutputStream.writeUTF] is limited to 64 KB.
+     */
+    private fun DataOutputStream.writeString(value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        writeInt(bytes.size)
+        write(bytes)
+    }
+
+    private fun DataInputStream.readString(): String {
+        val bytes = ByteArray(readSize())
+        readFully(bytes)
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    private inline fun <T> DataOutputStream.writeList(list: List<T>, writeElement: DataOutputStream.(T) -> Unit) {
+        writeInt(list.size)
+        list.forEach { writeElement(it) }
+    }
+
+    private inline fun <T> DataInputStream.readList(readElement: DataInputStream.() -> T): List<T> {
+        val size = readSize()
+        val list = ArrayList<T>(size)
+        repeat(size) { list.add(readElement()) }
+        return list
+    }
+
+    private inline fun <T : Any> DataOutputStream.writeNullable(value: T?, writeNonNull: DataOutputStream.(T) -> Unit) {
+        writeBoolean(value != null)
+        if (value != null) {
+            writeNonNull(value)
+        }
+    }
+
+    private inline fun <T> DataInputStream.readNullable(readNonNull: DataInputStream.() -> T): T? {
+        return if (readBoolean()) readNonNull() else null
+    }
+
+    /**
+     * Reads the size of a string or a collection, which cannot be larger than the data left to read.
+     */
+    private fun DataInputStream.readSize(): Int {
+        val size = readInt()
+        if (size < 0 || size > available()) {
+            throw IOException("Invalid size $size in the rules snapshot")
+        }
+        return size
+    }
+}
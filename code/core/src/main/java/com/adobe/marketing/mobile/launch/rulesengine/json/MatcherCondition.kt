@@ -17,13 +17,15 @@ import com.adobe.marketing.mobile.rulesengine.Evaluable
 import com.adobe.marketing.mobile.rulesengine.LogicalExpression
 import com.adobe.marketing.mobile.rulesengine.OperandLiteral
 import com.adobe.marketing.mobile.rulesengine.OperandMustacheToken
+import com.adobe.marketing.mobile.rulesengine.PatternMatcher
 import com.adobe.marketing.mobile.rulesengine.UnaryExpression
 import com.adobe.marketing.mobile.services.Log
+import java.util.regex.Pattern
 
 /**
  * The class representing a matcher condition
  */
-internal class MatcherCondition(private val definition: JSONDefinition) : JSONCondition() {
+internal class MatcherCondition(internal val definition: JSONDefinition) : JSONCondition() {
 
     companion object {
         private const val LOG_TAG = "MatcherCondition"
@@ -40,10 +42,13 @@ internal class MatcherCondition(private val definition: JSONDefinition) : JSONCo
             "nc" to "notContains",
             "sw" to "startsWith",
             "ew" to "endsWith",
+            "mt" to "matches",
             "ex" to "exists",
             "nx" to "notExist"
         )
 
+        private const val MATCHER_MATCHES = "mt"
+
         // Negative matchers that should use AND logic for multiple values
         private val NEGATIVE_MATCHERS = setOf("ne", "nc")
     }
@@ -96,6 +101,9 @@ internal class MatcherCondition(private val definition: JSONDefinition) : JSONCo
                 operationName
             )
         }
+        if (matcher == MATCHER_MATCHES) {
+            return convertPattern(key, operationName, value)
+        }
         val (javaClass: Any, token: String) = when (value) {
             is String -> Pair(
                 String::class.java,
@@ -126,4 +134,27 @@ internal class MatcherCondition(private val definition: JSONDefinition) : JSONCo
             OperandLiteral(value)
         )
     }
+
+    /**
+     * Builds the [Evaluable] of a regular expression matcher. The expression is compiled once here and shared
+     * by all evaluations of the rule. Like the other string matchers of Launch rules, it is case insensitive.
+     * Expressions prone to catastrophic backtracking are rejected, see [PatternMatcher].
+     */
+    private fun convertPattern(key: String, operationName: String, value: Any): Evaluable? {
+        val pattern = try {
+            PatternMatcher.compile(value as String, Pattern.CASE_INSENSITIVE)
+        } catch (e: Exception) {
+            Log.error(
+                LaunchRulesEngineConstants.LOG_TAG,
+                LOG_TAG,
+                "Failed to build Evaluable from [type:matcher] json, [definition.values = $value] is not a supported regular expression."
+            )
+            return null
+        }
+        return ComparisonExpression(
+            OperandMustacheToken("{{${LaunchRulesEngineConstants.Transform.TRANSFORM_TO_STRING}($key)}}", String::class.java),
+            operationName,
+            OperandLiteral(pattern)
+        )
+    }
 }
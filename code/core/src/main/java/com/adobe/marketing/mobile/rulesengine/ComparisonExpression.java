@@ -14,13 +14,14 @@ package com.adobe.marketing.mobile.rulesengine;
 /**
  * {@link ComparisonExpression} allows for comparison of two operands and evaluates to a True or
  * False. Comparison operators include LessThan, LessThanOrEqual to, Equal, NotEqual, GreaterThan,
- * GreaterThanOrEqual to, Contains and notContains.
+ * GreaterThanOrEqual to, Contains, notContains, StartsWith, EndsWith and Matches.
  */
 public class ComparisonExpression<A, B> implements Evaluable {
 
     private final Operand<A> lhs;
     private final Operand<B> rhs;
     private final String operationName;
+    private final ComparisonOperator operator;
 
     /**
      * Initializer. Constructs the {@link ComparisonExpression} object with operands and operation
@@ -35,6 +36,7 @@ public class ComparisonExpression<A, B> implements Evaluable {
         this.lhs = lhs;
         this.operationName = operationName;
         this.rhs = rhs;
+        this.operator = ComparisonOperator.fromName(operationName);
     }
 
     /**
@@ -63,6 +65,16 @@ public class ComparisonExpression<A, B> implements Evaluable {
         A resolvedLhs = lhs.resolve(context);
         B resolvedRhs = rhs.resolve(context);
 
+        if (context.evaluator != null && context.evaluator.getClass() == ConditionEvaluator.class) {
+            // Use the operator resolved when the expression was built. Subclasses are called
+            // through Evaluating, as they may override it.
+            final ConditionEvaluator conditionEvaluator = (ConditionEvaluator) context.evaluator;
+            if (resolvedLhs == null || resolvedRhs == null) {
+                return conditionEvaluator.invalidOperand(resolvedLhs, operationName, resolvedRhs);
+            }
+            return conditionEvaluator.evaluate(resolvedLhs, operator, operationName, resolvedRhs);
+        }
+
         if (resolvedLhs == null || resolvedRhs == null) {
             return new RulesResult(
                     RulesResult.FailureType.INVALID_OPERAND,
@@ -73,4 +85,16 @@ public class ComparisonExpression<A, B> implements Evaluable {
 
         return context.evaluator.evaluate(resolvedLhs, operationName, resolvedRhs);
     }
+
+    Operand<A> getLhs() {
+        return lhs;
+    }
+
+    Operand<B> getRhs() {
+        return rhs;
+    }
+
+    String getOperationName() {
+        return operationName;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** The operators supported by {@link ConditionEvaluator}, resolved once from their names. */
+enum ComparisonOperator {
+    EQUALS("equals"),
+    NOT_EQUALS("notEquals"),
+    GREATER_THAN("greaterThan"),
+    GREATER_THAN_OR_EQUALS("greaterEqual"),
+    LESS_THAN("lessThan"),
+    LESS_THAN_OR_EQUALS("lessEqual"),
+    CONTAINS("contains"),
+    NOT_CONTAINS("notContains"),
+    STARTS_WITH("startsWith"),
+    ENDS_WITH("endsWith"),
+    MATCHES("matches"),
+    EXISTS("exists"),
+    NOT_EXISTS("notExist");
+
+    private static final Map<String, ComparisonOperator> OPERATORS_BY_NAME = new HashMap<>();
+
+    static {
+        for (final ComparisonOperator operator : values()) {
+            OPERATORS_BY_NAME.put(operator.operatorName, operator);
+        }
+    }
+
+    private final String operatorName;
+
+    ComparisonOperator(final String operatorName) {
+        this.operatorName = operatorName;
+    }
+
+    /**
+     * Returns the {@link ComparisonOperator} named {@code operatorName}.
+     *
+     * @param operatorName the name of the operator, as used in the rules
+     * @return the {@link ComparisonOperator}, or null if the name is null or unknown
+     */
+    static ComparisonOperator fromName(final String operatorName) {
+        return operatorName == null ? null : OPERATORS_BY_NAME.get(operatorName);
+    }
+}
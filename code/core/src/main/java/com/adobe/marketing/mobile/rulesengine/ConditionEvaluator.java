@@ -11,23 +11,35 @@
 
 package com.adobe.marketing.mobile.rulesengine;
 
+import com.adobe.marketing.mobile.LoggingMode;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class ConditionEvaluator implements Evaluating {
 
     private final Option option;
-    private static final String OPERATOR_EQUALS = "equals";
-    private static final String OPERATOR_NOT_EQUALS = "notEquals";
-    private static final String OPERATOR_GREATER_THAN = "greaterThan";
-    private static final String OPERATOR_GREATER_THAN_OR_EQUALS = "greaterEqual";
-    private static final String OPERATOR_LESS_THAN = "lessThan";
-    private static final String OPERATOR_LESS_THAN_OR_EQUALS = "lessEqual";
-    private static final String OPERATOR_CONTAINS = "contains";
-    private static final String OPERATOR_NOT_CONTAINS = "notContains";
-    private static final String OPERATOR_STARTS_WITH = "startsWith";
-    private static final String OPERATOR_ENDS_WITH = "endsWith";
-    private static final String OPERATOR_EXISTS = "exists";
-    private static final String OPERATOR_NOT_EXISTS = "notExist";
+    private final boolean fastEvaluation;
+
+    /** Patterns compiled for the "matches" operator, null for invalid expressions. */
+    private final Map<String, Pattern> patternCache =
+            new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Pattern> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            };
+
+    private static final int MAX_CACHED_PATTERNS = 64;
+    private static final RulesResult CONDITION_FAILED =
+            new RulesResult(RulesResult.FailureType.CONDITION_FAILED, "Condition not matched");
+    private static final RulesResult MISSING_OPERATOR =
+            new RulesResult(RulesResult.FailureType.MISSING_OPERATOR, "Operator is invalid");
+    private static final RulesResult INVALID_OPERAND =
+            new RulesResult(
+                    RulesResult.FailureType.INVALID_OPERAND, "Comparison operand is null");
 
     public enum Option {
         DEFAULT, // For case sensitive string operations
@@ -35,11 +47,33 @@ public class ConditionEvaluator implements Evaluating {
     }
 
     public ConditionEvaluator(final Option option) {
-        this.option = option;
+        this(option, false);
     }
 
     public ConditionEvaluator() {
-        this.option = Option.DEFAULT;
+        this(Option.DEFAULT, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * <p>In fast evaluation mode, failed evaluations return shared {@link RulesResult} instances
+     * without a description of the failed condition, unless the log level is {@link
+     * LoggingMode#VERBOSE}.
+     *
+     * <p>In fast evaluation mode, "startsWith" and "endsWith" compare the strings with {@link
+     * String#regionMatches(boolean, int, String, int, int)} instead of a regular expression. Unlike
+     * the default mode, they also match values with line breaks after the prefix or before the
+     * suffix, and {@link Option#CASE_INSENSITIVE} compares characters with {@link
+     * Character#toUpperCase(char)} and {@link Character#toLowerCase(char)} rather than the case
+     * folding of the platform's regular expressions.
+     *
+     * @param option the {@link Option} for string operations
+     * @param fastEvaluation whether failed evaluations return shared {@link RulesResult} instances
+     */
+    public ConditionEvaluator(final Option option, final boolean fastEvaluation) {
+        this.option = option;
+        this.fastEvaluation = fastEvaluation;
     }
 
     /**
@@ -54,74 +88,137 @@ public class ConditionEvaluator implements Evaluating {
      */
     @Override
     public <A, B> RulesResult evaluate(final A lhs, final String operation, final B rhs) {
+        return evaluate(lhs, ComparisonOperator.fromName(operation), operation, rhs);
+    }
+
+    @Override
+    public <A> RulesResult evaluate(final String operation, final A lhs) {
+        final ComparisonOperator operator = ComparisonOperator.fromName(operation);
         boolean evaluationResult;
 
-        switch (operation) {
-            case OPERATOR_EQUALS:
+        if (operator == null) {
+            return missingOperator(operation);
+        }
+
+        switch (operator) {
+            case EXISTS:
+                evaluationResult = this.exists(lhs);
+                break;
+            case NOT_EXISTS:
+                evaluationResult = this.notExists(lhs);
+                break;
+            default:
+                return missingOperator(operation);
+        }
+
+        return evaluationResult ? RulesResult.SUCCESS : conditionFailed(operation);
+    }
+
+    /**
+     * Runs an operation resolved ahead of time on the operands.
+     *
+     * @param lhs A resolved {@link Operand}
+     * @param operator the {@link ComparisonOperator} to be performed, null if it is unknown
+     * @param operation the name of the operation, used to describe failures
+     * @param rhs A resolved {@code Operand}
+     * @return {@link RulesResult#SUCCESS} if the operation on the operands evaluates to true
+     */
+    RulesResult evaluate(
+            final Object lhs,
+            final ComparisonOperator operator,
+            final String operation,
+            final Object rhs) {
+        boolean evaluationResult;
+
+        if (operator == null) {
+            return missingOperator(operation);
+        }
+
+        switch (operator) {
+            case EQUALS:
                 evaluationResult = this.checkEqual(lhs, rhs);
                 break;
-            case OPERATOR_NOT_EQUALS:
+            case NOT_EQUALS:
                 evaluationResult = this.notEqual(lhs, rhs);
                 break;
-            case OPERATOR_STARTS_WITH:
+            case STARTS_WITH:
                 evaluationResult = this.startsWith(lhs, rhs);
                 break;
-            case OPERATOR_ENDS_WITH:
+            case ENDS_WITH:
                 evaluationResult = this.endsWith(lhs, rhs);
                 break;
-            case OPERATOR_GREATER_THAN:
+            case MATCHES:
+                evaluationResult = this.matches(lhs, rhs);
+                break;
+            case GREATER_THAN:
                 evaluationResult = this.greaterThan(lhs, rhs);
                 break;
-            case OPERATOR_GREATER_THAN_OR_EQUALS:
+            case GREATER_THAN_OR_EQUALS:
                 evaluationResult = this.greaterThanEquals(lhs, rhs);
                 break;
-            case OPERATOR_LESS_THAN:
+            case LESS_THAN:
                 evaluationResult = this.lesserThan(lhs, rhs);
                 break;
-            case OPERATOR_LESS_THAN_OR_EQUALS:
+            case LESS_THAN_OR_EQUALS:
                 evaluationResult = this.lesserThanOrEqual(lhs, rhs);
                 break;
-            case OPERATOR_CONTAINS:
+            case CONTAINS:
                 evaluationResult = this.contains(lhs, rhs);
                 break;
-            case OPERATOR_NOT_CONTAINS:
+            case NOT_CONTAINS:
                 evaluationResult = this.notContains(lhs, rhs);
                 break;
             default:
-                return new RulesResult(
-                        RulesResult.FailureType.MISSING_OPERATOR,
-                        String.format("Operator is invalid \"%s\"", operation));
+                return missingOperator(operation);
         }
 
-        return evaluationResult
-                ? RulesResult.SUCCESS
-                : new RulesResult(
-                        RulesResult.FailureType.CONDITION_FAILED,
-                        String.format("Condition not matched for operation \"%s\"", operation));
+        return evaluationResult ? RulesResult.SUCCESS : conditionFailed(operation);
     }
 
-    @Override
-    public <A> RulesResult evaluate(final String operation, final A lhs) {
-        boolean evaluationResult;
+    /**
+     * Returns the failure of a comparison with a null resolved operand.
+     *
+     * @param lhs the resolved left operand
+     * @param operation the name of the operation
+     * @param rhs the resolved right operand
+     * @return a {@link RulesResult} with {@link RulesResult.FailureType#INVALID_OPERAND}
+     */
+    RulesResult invalidOperand(final Object lhs, final String operation, final Object rhs) {
+        if (useSharedFailures()) {
+            return INVALID_OPERAND;
+        }
 
-        switch (operation) {
-            case OPERATOR_EXISTS:
-                evaluationResult = this.exists(lhs);
-                break;
-            case OPERATOR_NOT_EXISTS:
-                evaluationResult = this.notExists(lhs);
-                break;
-            default:
-                return new RulesResult(
-                        RulesResult.FailureType.MISSING_OPERATOR,
-                        String.format("Operator is invalid \"%s\"", operation));
+        return new RulesResult(
+                RulesResult.FailureType.INVALID_OPERAND,
+                String.format("Comparison %s %s %s returned false", lhs, operation, rhs));
+    }
+
+    // --------------------------------------------------------------------------
+    // Private - Failure results
+    // --------------------------------------------------------------------------
+
+    private boolean useSharedFailures() {
+        return fastEvaluation && Log.getLogLevel() != LoggingMode.VERBOSE;
+    }
+
+    private RulesResult missingOperator(final String operation) {
+        if (useSharedFailures()) {
+            return MISSING_OPERATOR;
+        }
+
+        return new RulesResult(
+                RulesResult.FailureType.MISSING_OPERATOR,
+                String.format("Operator is invalid \"%s\"", operation));
+    }
+
+    private RulesResult conditionFailed(final String operation) {
+        if (useSharedFailures()) {
+            return CONDITION_FAILED;
         }
 
-        return evaluationResult
-                ? RulesResult.SUCCESS
-                : new RulesResult(
-                        RulesResult.FailureType.CONDITION_FAILED,
-                        String.format("Condition not matched for operation \"%s\"", operation));
+        return new RulesResult(
+                RulesResult.FailureType.CONDITION_FAILED,
+                String.format("Condition not matched for operation \"%s\"", operation));
     }
 
     // --------------------------------------------------------------------------
@@ -146,6 +243,11 @@ public class ConditionEvaluator implements Evaluating {
         if (lhs instanceof String && rhs instanceof String) {
             String lhsValue = lhs.toString();
             String rhsValue = rhs.toString();
+            if (fastEvaluation) {
+                return lhsValue.regionMatches(
+                        option == Option.CASE_INSENSITIVE, 0, rhsValue, 0, rhsValue.length());
+            }
+
             String matcherMode = option == ConditionEvaluator.Option.CASE_INSENSITIVE ? "(?i)" : "";
             return lhsValue.matches(matcherMode + Pattern.quote(rhsValue) + ".*");
         }
@@ -157,6 +259,15 @@ public class ConditionEvaluator implements Evaluating {
         if (lhs instanceof String && rhs instanceof String) {
             String lhsValue = lhs.toString();
             String rhsValue = rhs.toString();
+            if (fastEvaluation) {
+                return lhsValue.regionMatches(
+                        option == Option.CASE_INSENSITIVE,
+                        lhsValue.length() - rhsValue.length(),
+                        rhsValue,
+                        0,
+                        rhsValue.length());
+            }
+
             String matcherMode = option == ConditionEvaluator.Option.CASE_INSENSITIVE ? "(?i)" : "";
             return lhsValue.matches(matcherMode + ".*" + Pattern.quote(rhsValue));
         }
@@ -164,6 +275,50 @@ public class ConditionEvaluator implements Evaluating {
         return false;
     }
 
+    /**
+     * Returns whether the regular expression {@code rhs} is found in {@code lhs}. The expression is
+     * either a {@link Pattern} compiled with {@link PatternMatcher#compile(String, int)} when the
+     * rule was built, or a {@link String} compiled on first use and cached.
+     */
+    private boolean matches(final Object lhs, final Object rhs) {
+        if (!(lhs instanceof String)) {
+            return false;
+        }
+
+        final Pattern pattern;
+        if (rhs instanceof Pattern) {
+            pattern = (Pattern) rhs;
+        } else if (rhs instanceof String) {
+            pattern = compilePattern((String) rhs);
+        } else {
+            return false;
+        }
+
+        return pattern != null && PatternMatcher.find(pattern, (String) lhs);
+    }
+
+    private Pattern compilePattern(final String regex) {
+        synchronized (patternCache) {
+            if (patternCache.containsKey(regex)) {
+                return patternCache.get(regex);
+            }
+        }
+
+        Pattern pattern;
+        try {
+            pattern =
+                    PatternMatcher.compile(
+                            regex, option == Option.CASE_INSENSITIVE ? Pattern.CASE_INSENSITIVE : 0);
+        } catch (final PatternSyntaxException e) {
+            pattern = null;
+        }
+
+        synchronized (patternCache) {
+            patternCache.put(regex, pattern);
+        }
+        return pattern;
+    }
+
     private boolean exists(final Object lhs) {
         return lhs != null;
     }
@@ -177,44 +332,19 @@ public class ConditionEvaluator implements Evaluating {
     // --------------------------------------------------------------------------
 
     private boolean greaterThan(final Object lhs, final Object rhs) {
-        Double resolvedLhs = tryParseDouble(lhs);
-        Double resolvedRhs = tryParseDouble(rhs);
-
-        if (resolvedLhs == null || resolvedRhs == null) {
-            return false;
-        }
-
-        return resolvedLhs > resolvedRhs;
+        return tryParseDouble(lhs) > tryParseDouble(rhs);
     }
 
     private boolean greaterThanEquals(final Object lhs, final Object rhs) {
-        Double resolvedLhs = tryParseDouble(lhs);
-        Double resolvedRhs = tryParseDouble(rhs);
-
-        if (resolvedLhs == null || resolvedRhs == null) {
-            return false;
-        }
-        return resolvedLhs >= resolvedRhs;
+        return tryParseDouble(lhs) >= tryParseDouble(rhs);
     }
 
     private boolean lesserThan(final Object lhs, final Object rhs) {
-        Double resolvedLhs = tryParseDouble(lhs);
-        Double resolvedRhs = tryParseDouble(rhs);
-
-        if (resolvedLhs == null || resolvedRhs == null) {
-            return false;
-        }
-        return resolvedLhs < resolvedRhs;
+        return tryParseDouble(lhs) < tryParseDouble(rhs);
     }
 
     private boolean lesserThanOrEqual(final Object lhs, final Object rhs) {
-        Double resolvedLhs = tryParseDouble(lhs);
-        Double resolvedRhs = tryParseDouble(rhs);
-
-        if (resolvedLhs == null || resolvedRhs == null) {
-            return false;
-        }
-        return resolvedLhs <= resolvedRhs;
+        return tryParseDouble(lhs) <= tryParseDouble(rhs);
     }
 
     private boolean contains(final Object lhs, final Object rhs) {
@@ -237,11 +367,24 @@ public class ConditionEvaluator implements Evaluating {
         return !contains(lhs, rhs);
     }
 
-    private Double tryParseDouble(final Object value) {
+    /**
+     * Returns the numeric value of {@code value} without boxing it, or {@link Double#NaN} if it is
+     * not a number, so that comparisons with a non numeric operand fail. Integral and double values
+     * are read directly; other values, such as floats, are parsed from their string representation.
+     */
+    private double tryParseDouble(final Object value) {
+        if (value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof Double) {
+            return ((Number) value).doubleValue();
+        }
+
         try {
-            return Double.valueOf(value.toString());
+            return Double.parseDouble(value.toString());
         } catch (Exception ex) {
-            return null;
+            return Double.NaN;
         }
     }
 }
@@ -0,0 +1,81 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+/**
+ * Estimates the relative cost of evaluating conditions, so that {@link LogicalExpression} can
+ * evaluate the cheaper operands first and short-circuit before the expensive ones.
+ */
+final class EvaluationCost {
+
+    /** A literal value, resolved without any lookup. */
+    static final int LITERAL = 1;
+
+    /** A token looked up in the evaluation data, such as the event data. */
+    static final int TOKEN = 10;
+
+    /** A token looked up in the shared state of another extension. */
+    static final int SHARED_STATE_TOKEN = 100;
+
+    /** A function, such as a historical events query, which may block on I/O. */
+    static final int FUNCTION = 1000;
+
+    private static final String SHARED_STATE_TOKEN_PREFIX = "~state.";
+
+    private EvaluationCost() {}
+
+    /**
+     * Estimates the cost of evaluating {@code evaluable}.
+     *
+     * @param evaluable the condition to be evaluated
+     * @return the estimated cost, 0 for a null condition
+     */
+    static int of(final Evaluable evaluable) {
+        if (evaluable == null) {
+            return 0;
+        }
+
+        if (evaluable instanceof LogicalExpression) {
+            return ((LogicalExpression) evaluable).getCost();
+        }
+
+        if (evaluable instanceof ComparisonExpression) {
+            final ComparisonExpression<?, ?> expression = (ComparisonExpression<?, ?>) evaluable;
+            return of(expression.getLhs()) + of(expression.getRhs());
+        }
+
+        if (evaluable instanceof UnaryExpression) {
+            return of(((UnaryExpression<?>) evaluable).getLhs());
+        }
+
+        // The cost of other conditions is unknown.
+        return TOKEN;
+    }
+
+    private static int of(final Operand<?> operand) {
+        if (operand instanceof OperandFunction) {
+            return FUNCTION;
+        }
+
+        if (operand instanceof OperandMustacheToken) {
+            final MustacheToken token = ((OperandMustacheToken<?>) operand).getMustacheToken();
+            if (token == null) {
+                return LITERAL;
+            }
+            return token.getTokenString().contains(SHARED_STATE_TOKEN_PREFIX)
+                    ? SHARED_STATE_TOKEN
+                    : TOKEN;
+        }
+
+        return operand == null ? 0 : LITERAL;
+    }
+}
@@ -11,6 +11,9 @@
 
 package com.adobe.marketing.mobile.rulesengine;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 public class LogicalExpression implements Evaluable {
@@ -18,9 +21,40 @@ public class LogicalExpression implements Evaluable {
     public final List<Evaluable> operands;
     public final String operationName;
 
+    /**
+     * The operands in evaluation order, cheapest first. Conditions have no side effects, so the
+     * result is the same as evaluating them in their declared order.
+     */
+    private final List<Evaluable> evaluationOrder;
+
+    private final int cost;
+
     public LogicalExpression(final List<Evaluable> operands, final String operationName) {
         this.operands = operands;
         this.operationName = operationName;
+
+        if (operands == null) {
+            this.evaluationOrder = null;
+            this.cost = 0;
+            return;
+        }
+
+        final List<Evaluable> orderedOperands = new ArrayList<>(operands);
+        // A stable sort keeps the declared order of operands with the same cost.
+        Collections.sort(
+                orderedOperands,
+                new Comparator<Evaluable>() {
+                    @Override
+                    public int compare(final Evaluable first, final Evaluable second) {
+                        return compareCosts(EvaluationCost.of(first), EvaluationCost.of(second));
+                    }
+                });
+        int totalCost = 0;
+        for (final Evaluable operand : orderedOperands) {
+            totalCost += EvaluationCost.of(operand);
+        }
+        this.evaluationOrder = orderedOperands;
+        this.cost = totalCost;
     }
 
     @Override
@@ -33,9 +67,9 @@ public class LogicalExpression implements Evaluable {
         }
         switch (operationName) {
             case "and":
-                return performAndOperation(context, operands);
+                return performAndOperation(context, evaluationOrder);
             case "or":
-                return performOrOperation(context, operands);
+                return performOrOperation(context, evaluationOrder);
             default:
                 return new RulesResult(
                         RulesResult.FailureType.MISSING_OPERATOR,
@@ -72,4 +106,17 @@ public class LogicalExpression implements Evaluable {
         return new RulesResult(
                 RulesResult.FailureType.CONDITION_FAILED, "OR operation returned false.");
     }
+
+    /**
+     * Returns the estimated cost of evaluating all the operands.
+     *
+     * @return the sum of the {@link EvaluationCost} of the operands
+     */
+    int getCost() {
+        return cost;
+    }
+
+    private static int compareCosts(final int first, final int second) {
+        return first < second ? -1 : (first == second ? 0 : 1);
+    }
 }
@@ -69,6 +69,10 @@ class MustacheToken {
         }
     }
 
+    String getTokenString() {
+        return tokenString;
+    }
+
     private enum Type {
         FUNCTION,
         VARIABLE,
@@ -66,4 +66,8 @@ public class OperandMustacheToken<T> implements Operand<T> {
             return null;
         }
     }
+
+    MustacheToken getMustacheToken() {
+        return mustacheToken;
+    }
 }
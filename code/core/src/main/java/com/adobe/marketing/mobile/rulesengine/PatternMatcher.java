@@ -0,0 +1,534 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import com.adobe.marketing.mobile.internal.CoreConstants;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles and matches the regular expressions of rules, so that a pattern prone to catastrophic
+ * backtracking cannot stall rules evaluation.
+ *
+ * <p>The regex engine cannot be interrupted, and on Android it matches a copy of the input in
+ * native code, so the work of a single match cannot be bounded while it runs. Instead, {@link
+ * #compile(String, int)} rejects patterns that repeat a group in a way that the regex engine can
+ * split a run of input in exponentially many ways, and {@link #find(Pattern, String)} does not
+ * match inputs longer than {@link #MAX_INPUT_LENGTH}, which bounds the polynomial backtracking of
+ * the remaining patterns.
+ */
+public final class PatternMatcher {
+
+    /** The length of the longest input matched against a regular expression. */
+    public static final int MAX_INPUT_LENGTH = 4096;
+
+    private static final String SELF_TAG = "PatternMatcher";
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private PatternMatcher() {}
+
+    /**
+     * Compiles {@code regex} for matching with {@link #find(Pattern, String)}.
+     *
+     * <p>A group repeated by a quantifier whose maximum is more than one, such as {@code +}, {@code
+     * *} or {@code {3}}, is rejected when:
+     *
+     * <ul>
+     *   <li>it can match an empty string, such as {@code (a?)+} or {@code (a|b*)*};
+     *   <li>two of its alternatives can start with the same character, such as {@code (a|aa)+};
+     *   <li>one of its alternatives contains an unbounded quantifier and does not end with a
+     *       single character that the quantified elements cannot match, such as {@code (a+)+},
+     *       {@code (.*a){10}} or {@code (a+b?)+}. Groups like {@code ([a-z]+\.)+} are accepted.
+     * </ul>
+     *
+     * @param regex the regular expression
+     * @param flags the match flags of {@link Pattern#compile(String, int)}
+     * @return the compiled {@link Pattern}
+     * @throws PatternSyntaxException if {@code regex} is not a valid regular expression or repeats
+     *     a group in a way that is prone to catastrophic backtracking
+     */
+    public static Pattern compile(final String regex, final int flags) {
+        final Pattern pattern = Pattern.compile(regex, flags);
+        final int index = new RepetitionChecker(regex).findUnsafeRepetition();
+        if (index >= 0) {
+            Log.warning(
+                    CoreConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Regular expression \"%s\" is not supported, the group repeated at index %d is"
+                            + " prone to catastrophic backtracking.",
+                    regex,
+                    index);
+            throw new PatternSyntaxException(
+                    "Repeated group prone to catastrophic backtracking", regex, index);
+        }
+        return pattern;
+    }
+
+    /**
+     * Returns whether {@code pattern} matches a subsequence of {@code input}. Anchors can be used
+     * in the pattern to match the whole input.
+     *
+     * @param pattern the {@link Pattern}, compiled with {@link #compile(String, int)}
+     * @param input the {@link String} to be matched
+     * @return true if {@code pattern} is found in {@code input}, false if it is not or if {@code
+     *     input} is longer than {@link #MAX_INPUT_LENGTH}
+     */
+    static boolean find(final Pattern pattern, final String input) {
+        if (input.length() > MAX_INPUT_LENGTH) {
+            Log.debug(
+                    CoreConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Regular expression \"%s\" is not matched against an input of length %d, longer"
+                            + " than %d.",
+                    pattern.pattern(),
+                    input.length(),
+                    MAX_INPUT_LENGTH);
+            return false;
+        }
+        return pattern.matcher(input).find();
+    }
+
+    /**
+     * Walks a valid regular expression and finds the first quantifier that repeats a group in a way
+     * that is prone to catastrophic backtracking, as described in {@link #compile(String, int)}.
+     *
+     * <p>Elements that match a single character, such as {@code a}, {@code \.}, {@code [a-z]} or
+     * {@code .}, are kept as their source text. Two of them overlap when a character matches both,
+     * regardless of case. Other elements, such as back references or quoted sequences, are
+     * assumed to overlap with anything.
+     */
+    private static final class RepetitionChecker {
+
+        private static final int OVERLAP_FLAGS =
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL;
+
+        private final String regex;
+        private int index;
+        private int unsafeIndex = -1;
+
+        RepetitionChecker(final String regex) {
+            this.regex = regex;
+        }
+
+        /**
+         * @return the index of the first quantifier that repeats a group unsafely, or -1 if there
+         *     is none
+         */
+        int findUnsafeRepetition() {
+            parseAlternatives();
+            return unsafeIndex;
+        }
+
+        /** Parses the alternatives of a group, up to its closing parenthesis or the end. */
+        private Group parseAlternatives() {
+            final Group group = new Group();
+            Alternative alternative = group.addAlternative();
+            while (index < regex.length() && unsafeIndex < 0) {
+                final char c = regex.charAt(index);
+                if (c == ')') {
+                    break;
+                }
+                if (c == '|') {
+                    alternative = group.addAlternative();
+                    index++;
+                    continue;
+                }
+
+                final Element element = parseElement();
+                if (element != null) {
+                    parseQuantifier(element, alternative);
+                }
+            }
+            return group;
+        }
+
+        /**
+         * Parses the element at {@link #index}.
+         *
+         * @return the {@link Element}, or null for an inline flag such as {@code (?i)}
+         */
+        private Element parseElement() {
+            final int start = index;
+            final char c = regex.charAt(index);
+            if (c == '(') {
+                final int contentStart = skipGroupPrefix(regex, index);
+                if (contentStart < 0) {
+                    index = regex.indexOf(')', index) + 1;
+                    return null;
+                }
+                final boolean lookaround =
+                        regex.startsWith("(?=", start)
+                                || regex.startsWith("(?!", start)
+                                || regex.startsWith("(?<=", start)
+                                || regex.startsWith("(?<!", start);
+                index = contentStart;
+                final Group group = parseAlternatives();
+                // Past the closing parenthesis
+                index++;
+                return lookaround ? Element.zeroWidth() : Element.group(group);
+            }
+            if (c == '^' || c == '$') {
+                index++;
+                return Element.zeroWidth();
+            }
+            if (c == '[') {
+                index = skipCharacterClass(regex, index);
+                return Element.character(regex.substring(start, index));
+            }
+            if (c == '\\') {
+                return parseEscape();
+            }
+
+            index += Character.charCount(regex.codePointAt(index));
+            return Element.character(regex.substring(start, index));
+        }
+
+        private Element parseEscape() {
+            final int start = index;
+            final char c = index + 1 < regex.length() ? regex.charAt(index + 1) : '\\';
+            if (c == 'Q') {
+                final int end = regex.indexOf("\\E", index + 2);
+                final boolean empty = end == index + 2;
+                index = end < 0 ? regex.length() : end + 2;
+                return empty ? Element.zeroWidth() : Element.unknown();
+            }
+            if ("bBAGzZ".indexOf(c) >= 0) {
+                index += 2;
+                return Element.zeroWidth();
+            }
+            if ((c >= '1' && c <= '9') || c == 'k') {
+                // A back reference
+                if (c == 'k') {
+                    index = regex.indexOf('>', index) + 1;
+                    return Element.unknown();
+                }
+                index += 2;
+                while (index < regex.length() && Character.isDigit(regex.charAt(index))) {
+                    index++;
+                }
+                return Element.unknown();
+            }
+
+            if (regex.startsWith("{", index + 2)) {
+                // A property or code point, such as \p{L} or \x{20}
+                index = regex.indexOf('}', index + 2) + 1;
+            } else if (c == 'p' || c == 'P') {
+                index += 3;
+            } else if (c == 'x') {
+                index += 4;
+            } else if (c == 'u') {
+                index += 6;
+            } else if (c == 'c') {
+                index += 3;
+            } else if (c == '0') {
+                index += 2;
+                while (index < regex.length()
+                        && index < start + 5
+                        && regex.charAt(index) >= '0'
+                        && regex.charAt(index) <= '7') {
+                    index++;
+                }
+            } else {
+                index += 2;
+            }
+            return Element.character(regex.substring(start, Math.min(index, regex.length())));
+        }
+
+        /**
+         * Parses the quantifier of {@code element}, if any, checks the repetition of a group and
+         * adds the quantified element to {@code alternative}.
+         */
+        private void parseQuantifier(final Element element, final Alternative alternative) {
+            int min = 1;
+            int max = 1;
+            if (index < regex.length() && isQuantifier(regex, index)) {
+                final int quantifierIndex = index;
+                final char quantifier = regex.charAt(index);
+                if (quantifier == '*') {
+                    min = 0;
+                    max = UNBOUNDED;
+                } else if (quantifier == '+') {
+                    max = UNBOUNDED;
+                } else if (quantifier == '?') {
+                    min = 0;
+                } else {
+                    final int end = regex.indexOf('}', index);
+                    final String[] bounds = regex.substring(index + 1, end).split(",", -1);
+                    min = parseBound(bounds[0].trim());
+                    max =
+                            bounds.length == 1
+                                    ? min
+                                    : bounds[1].trim().isEmpty()
+                                            ? UNBOUNDED
+                                            : parseBound(bounds[1].trim());
+                }
+                index = skipQuantifier(regex, index);
+
+                if (element.group != null && max > 1 && !isSafeRepetition(element.group)) {
+                    unsafeIndex = quantifierIndex;
+                    return;
+                }
+            }
+            alternative.add(element, min, max);
+        }
+
+        /** Returns whether repeating {@code group} more than once is safe from backtracking. */
+        private boolean isSafeRepetition(final Group group) {
+            if (group.isNullable()) {
+                return false;
+            }
+
+            final List<Alternative> alternatives = group.alternatives;
+            for (int i = 0; i < alternatives.size(); i++) {
+                final Alternative alternative = alternatives.get(i);
+                for (int j = i + 1; j < alternatives.size(); j++) {
+                    if (overlaps(alternative.first, alternatives.get(j).first)) {
+                        return false;
+                    }
+                }
+
+                if (alternative.unbounded.isEmpty()) {
+                    continue;
+                }
+                if (alternative.delimiter == null) {
+                    return false;
+                }
+                for (final String character : alternative.unbounded) {
+                    if (overlaps(character, alternative.delimiter)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns whether a character matches both single character elements, null elements
+         * overlapping with anything.
+         */
+        private static boolean overlaps(final String first, final String second) {
+            if (first == null || second == null || first.equals(second)) {
+                return true;
+            }
+
+            final Pattern firstPattern = Pattern.compile(first, OVERLAP_FLAGS);
+            final Pattern secondPattern = Pattern.compile(second, OVERLAP_FLAGS);
+            if (isLiteral(first)) {
+                return secondPattern.matcher(first.substring(first.length() - 1)).matches();
+            }
+            if (isLiteral(second)) {
+                return firstPattern.matcher(second.substring(second.length() - 1)).matches();
+            }
+
+            for (char c = 0; c < Character.MAX_VALUE; c++) {
+                final String character = String.valueOf(c);
+                if (firstPattern.matcher(character).matches()
+                        && secondPattern.matcher(character).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Returns whether a single character element matches one literal character. */
+        private static boolean isLiteral(final String element) {
+            if (element.length() == 1) {
+                return element.charAt(0) != '.';
+            }
+            return element.length() == 2
+                    && element.charAt(0) == '\\'
+                    && !Character.isLetterOrDigit(element.charAt(1));
+        }
+
+        private static int parseBound(final String bound) {
+            try {
+                return Integer.parseInt(bound);
+            } catch (final NumberFormatException e) {
+                return UNBOUNDED;
+            }
+        }
+    }
+
+    /** An element of a regular expression, with its quantifier not yet applied. */
+    private static final class Element {
+
+        /** The source of an element that matches a single character, null otherwise. */
+        final String character;
+
+        /** The content of a group, null otherwise. */
+        final Group group;
+
+        /** Whether the element matches no character, such as an anchor or a lookaround. */
+        final boolean zeroWidth;
+
+        private Element(final String character, final Group group, final boolean zeroWidth) {
+            this.character = character;
+            this.group = group;
+            this.zeroWidth = zeroWidth;
+        }
+
+        static Element character(final String character) {
+            return new Element(character, null, false);
+        }
+
+        static Element group(final Group group) {
+            return new Element(null, group, false);
+        }
+
+        static Element zeroWidth() {
+            return new Element(null, null, true);
+        }
+
+        static Element unknown() {
+            return new Element(null, null, false);
+        }
+    }
+
+    /** The alternatives of a group. */
+    private static final class Group {
+
+        final List<Alternative> alternatives = new ArrayList<>();
+
+        Alternative addAlternative() {
+            final Alternative alternative = new Alternative();
+            alternatives.add(alternative);
+            return alternative;
+        }
+
+        boolean isNullable() {
+            for (final Alternative alternative : alternatives) {
+                if (alternative.nullable) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * An alternative of a group. Lists of single character elements hold null for elements that
+     * may match anything.
+     */
+    private static final class Alternative {
+
+        /** Whether the alternative can match an empty string. */
+        boolean nullable = true;
+
+        /** Whether the first element that matches characters was added. */
+        boolean started;
+
+        /** The element the alternative starts with, null if it is not a single character. */
+        String first;
+
+        /** The mandatory single character element the alternative ends with, null if none. */
+        String delimiter;
+
+        /** The single character elements that may repeat without bound. */
+        final List<String> unbounded = new ArrayList<>();
+
+        /** All the single character elements of the alternative. */
+        final List<String> characters = new ArrayList<>();
+
+        void add(final Element element, final int min, final int max) {
+            if (element.zeroWidth) {
+                return;
+            }
+
+            final boolean elementNullable =
+                    min == 0 || (element.group != null && element.group.isNullable());
+            if (!started) {
+                started = true;
+                first = elementNullable ? null : element.character;
+            }
+            nullable &= elementNullable;
+
+            if (element.group != null) {
+                for (final Alternative alternative : element.group.alternatives) {
+                    characters.addAll(alternative.characters);
+                    unbounded.addAll(
+                            max == UNBOUNDED ? alternative.characters : alternative.unbounded);
+                }
+                delimiter = null;
+                return;
+            }
+
+            characters.add(element.character);
+            if (max == UNBOUNDED) {
+                unbounded.add(element.character);
+            }
+            delimiter = min >= 1 && max != UNBOUNDED ? element.character : null;
+        }
+    }
+
+    /**
+     * Returns the index of the content of the group opened at {@code index}, past constructs such
+     * as {@code ?:}, {@code ?<name>} or {@code ?=}, or -1 if it is an inline flag such as {@code
+     * (?i)}.
+     */
+    private static int skipGroupPrefix(final String regex, final int index) {
+        int i = index + 1;
+        if (i >= regex.length() || regex.charAt(i) != '?') {
+            return i;
+        }
+
+        i++;
+        if (regex.startsWith("<=", i) || regex.startsWith("<!", i)) {
+            return i + 2;
+        }
+        if (regex.startsWith("<", i)) {
+            return regex.indexOf('>', i) + 1;
+        }
+        while (i < regex.length() && (Character.isLetter(regex.charAt(i)) || regex.charAt(i) == '-')) {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ')') {
+            return -1;
+        }
+        return i + 1;
+    }
+
+    private static boolean isQuantifier(final String regex, final int index) {
+        final char c = regex.charAt(index);
+        return c == '*' || c == '+' || c == '?' || c == '{';
+    }
+
+    private static int skipQuantifier(final String regex, final int index) {
+        int next = regex.charAt(index) == '{' ? regex.indexOf('}', index) + 1 : index + 1;
+        // Lazy and possessive modifiers
+        if (next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+            next++;
+        }
+        return next;
+    }
+
+    private static int skipCharacterClass(final String regex, final int index) {
+        int depth = 0;
+        int i = index;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && i > index + 1 && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+/**
+ * Receives the outcome and timing of each rule evaluated by a {@link RulesEngine}.
+ *
+ * <p>Callbacks run on the evaluating thread, right after the rule is evaluated, and may be called
+ * concurrently for evaluations running on different threads.
+ *
+ * @param <T> the type of the evaluated rules
+ */
+public interface RuleEvaluationListener<T extends Rule> {
+
+    /**
+     * Called after {@code rule} was evaluated.
+     *
+     * @param rule the evaluated rule
+     * @param matched whether the rule matched
+     * @param evaluationNanos the time spent evaluating the rule, in nanoseconds
+     * @param tokenResolutionNanos the part of {@code evaluationNanos} spent resolving tokens, in
+     *     nanoseconds
+     */
+    void onRuleEvaluated(
+            T rule, boolean matched, long evaluationNanos, long tokenResolutionNanos);
+}
@@ -12,35 +12,108 @@
 package com.adobe.marketing.mobile.rulesengine;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-/** RulesEngine to evaluate matching rules for given input data */
+/**
+ * RulesEngine to evaluate matching rules for given input data.
+ *
+ * <p>The rules are held in an immutable snapshot. Evaluations read the current snapshot without
+ * locking and can run concurrently, while rule updates are serialized and publish a new snapshot.
+ */
 public class RulesEngine<T extends Rule> {
 
     private final Object rulesEngineMutex = new Object();
     private final Evaluating evaluator;
     private final Transforming transformer;
-    private List<T> rules;
+    private volatile RulesIndex<T> rules;
+    private volatile RuleEvaluationListener<T> evaluationListener;
 
     public RulesEngine(final Evaluating evaluator, final Transforming transformer) {
         this.evaluator = evaluator;
         this.transformer = transformer;
-        this.rules = new ArrayList<>();
+        this.rules = new RulesIndex<>(Collections.<T>emptyList());
+    }
+
+    /**
+     * Sets the {@link RuleEvaluationListener} notified of each rule evaluation, or removes it when
+     * {@code listener} is null. Evaluations are only timed while a listener is set.
+     *
+     * @param listener the {@link RuleEvaluationListener} to be set
+     */
+    public void setRuleEvaluationListener(final RuleEvaluationListener<T> listener) {
+        this.evaluationListener = listener;
     }
 
     public List<T> evaluate(final TokenFinder tokenFinder) {
-        synchronized (rulesEngineMutex) {
-            final Context context = new Context(tokenFinder, evaluator, transformer);
-            List<T> triggerRules = new ArrayList<>();
-
-            for (final T rule : rules) {
-                RulesResult result = rule.getEvaluable().evaluate(context);
-                if (result.isSuccess()) {
-                    triggerRules.add(rule);
-                }
+        final Context context = new Context(tokenFinder, evaluator, transformer);
+        return evaluate(context, rules.candidates(context));
+    }
+
+    /**
+     * Evaluates rules returned by {@link #getCandidateRules(TokenFinder)} for the same input, so
+     * that the candidates are only looked up once and the rules evaluated are the ones returned,
+     * even if the rules were replaced in between.
+     *
+     * @param tokenFinder the {@link TokenFinder} of the input
+     * @param candidateRules the candidate rules for the given input
+     * @return the rules that matched the given input
+     */
+    public List<T> evaluate(final TokenFinder tokenFinder, final List<T> candidateRules) {
+        return evaluate(new Context(tokenFinder, evaluator, transformer), candidateRules);
+    }
+
+    private List<T> evaluate(final Context context, final List<T> candidateRules) {
+        final RuleEvaluationListener<T> listener = evaluationListener;
+        if (listener != null) {
+            return evaluate(candidateRules, context, listener);
+        }
+
+        List<T> triggerRules = new ArrayList<>();
+
+        for (final T rule : candidateRules) {
+            RulesResult result = rule.getEvaluable().evaluate(context);
+            if (result.isSuccess()) {
+                triggerRules.add(rule);
             }
-            return triggerRules;
         }
+        return triggerRules;
+    }
+
+    private List<T> evaluate(
+            final List<T> candidateRules,
+            final Context context,
+            final RuleEvaluationListener<T> listener) {
+        final TimedTokenFinder timedTokenFinder = new TimedTokenFinder(context.tokenFinder);
+        final Context timedContext = new Context(timedTokenFinder, evaluator, transformer);
+        final List<T> triggerRules = new ArrayList<>();
+
+        for (final T rule : candidateRules) {
+            final long start = System.nanoTime();
+            final RulesResult result = rule.getEvaluable().evaluate(timedContext);
+            final long evaluationNanos = System.nanoTime() - start;
+            if (result.isSuccess()) {
+                triggerRules.add(rule);
+            }
+            listener.onRuleEvaluated(
+                    rule,
+                    result.isSuccess(),
+                    evaluationNanos,
+                    timedTokenFinder.takeElapsedNanos());
+        }
+        return triggerRules;
+    }
+
+    /**
+     * Returns the rules that may match the given input, in their original order, without
+     * evaluating their conditions.
+     *
+     * @param tokenFinder the {@link TokenFinder} of the input
+     * @return an unmodifiable list of the candidate rules for the given input
+     */
+    public List<T> getCandidateRules(final TokenFinder tokenFinder) {
+        final Context context = new Context(tokenFinder, evaluator, transformer);
+        return Collections.unmodifiableList(rules.candidates(context));
     }
 
     public void replaceRules(final List<T> newRules) {
@@ -49,17 +122,25 @@ public class RulesEngine<T extends Rule> {
         }
 
         synchronized (rulesEngineMutex) {
-            rules = new ArrayList<>(newRules);
+            rules =
+                    new RulesIndex<>(
+                            Collections.unmodifiableList(new ArrayList<>(newRules)), rules);
         }
     }
 
     public void addRules(final List<T> newRules) {
+        if (newRules == null) {
+            return;
+        }
+
         synchronized (rulesEngineMutex) {
-            rules.addAll(newRules);
+            final List<T> updatedRules = new ArrayList<>(rules.getRules());
+            updatedRules.addAll(newRules);
+            rules = new RulesIndex<>(Collections.unmodifiableList(updatedRules), rules);
         }
     }
 
     public List<T> getRules() {
-        return new ArrayList<>(rules);
+        return new ArrayList<>(rules.getRules());
     }
 }
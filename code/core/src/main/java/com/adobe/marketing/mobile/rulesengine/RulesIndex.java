@@ -0,0 +1,364 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes rules by the string equality guards their conditions require, so that an evaluation only
+ * evaluates the rules whose guard can be met. A guard is a {@code {{token}} equals "value"}
+ * comparison that must succeed for the whole condition to succeed, such as the {@code ~type} and
+ * {@code ~source} matchers of Launch rules.
+ *
+ * <p>Each rule is indexed under a single guard, preferring the tokens guarding the most rules.
+ * Rules without a guard are always evaluated. Guard values are indexed with their case folded, so the
+ * index never excludes a rule that a case insensitive comparison would match.
+ */
+final class RulesIndex<T extends Rule> {
+
+    private static final String OPERATOR_EQUALS = "equals";
+    private static final String OPERATOR_AND = "and";
+    private static final String OPERATOR_OR = "or";
+
+    private final List<T> rules;
+    private final List<Map<String, Guard>> ruleGuards;
+    private final List<TokenIndex> tokenIndexes;
+    private final int[] unguardedPositions;
+
+    /** The rule positions guarded by a token, keyed by the lower cased guard value. */
+    private static final class TokenIndex {
+
+        private final MustacheToken token;
+        private final Map<String, List<Integer>> positionsByValue = new HashMap<>();
+        private final List<Integer> positions = new ArrayList<>();
+
+        private TokenIndex(final MustacheToken token) {
+            this.token = token;
+        }
+    }
+
+    /** A token which is required to equal one of {@code values}. */
+    private static final class Guard {
+
+        private final MustacheToken token;
+        private final Set<String> values;
+
+        private Guard(final MustacheToken token, final Set<String> values) {
+            this.token = token;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Builds the index for {@code rules}. The list must not be modified while the index is in use.
+     *
+     * @param rules the rules to be indexed
+     */
+    RulesIndex(final List<T> rules) {
+        this(rules, null);
+    }
+
+    /**
+     * Builds the index for {@code rules}, reusing the guards found for the rules that are also
+     * indexed by {@code previous}. The list must not be modified while the index is in use.
+     *
+     * @param rules the rules to be indexed
+     * @param previous the index of the previous rules, or null
+     */
+    RulesIndex(final List<T> rules, final RulesIndex<T> previous) {
+        this.rules = rules;
+        this.ruleGuards = new ArrayList<>(rules.size());
+
+        final Map<T, Map<String, Guard>> previousGuards =
+                previous == null
+                        ? Collections.<T, Map<String, Guard>>emptyMap()
+                        : previous.guardsByRule();
+        final Map<String, Integer> guardedRuleCounts = new HashMap<>();
+        for (final T rule : rules) {
+            final Map<String, Guard> guards;
+            if (rule == null) {
+                guards = null;
+            } else if (previousGuards.containsKey(rule)) {
+                guards = previousGuards.get(rule);
+            } else {
+                guards = findGuards(rule.getEvaluable());
+            }
+            ruleGuards.add(guards);
+            if (guards == null) {
+                continue;
+            }
+
+            for (final String tokenString : guards.keySet()) {
+                final Integer count = guardedRuleCounts.get(tokenString);
+                guardedRuleCounts.put(tokenString, count == null ? 1 : count + 1);
+            }
+        }
+
+        final Map<String, TokenIndex> indexByToken = new LinkedHashMap<>();
+        final List<Integer> unguarded = new ArrayList<>();
+        for (int position = 0; position < rules.size(); position++) {
+            final Guard guard = selectGuard(ruleGuards.get(position), guardedRuleCounts);
+            if (guard == null) {
+                unguarded.add(position);
+                continue;
+            }
+
+            final String tokenString = guard.token.getTokenString();
+            TokenIndex tokenIndex = indexByToken.get(tokenString);
+            if (tokenIndex == null) {
+                tokenIndex = new TokenIndex(guard.token);
+                indexByToken.put(tokenString, tokenIndex);
+            }
+
+            tokenIndex.positions.add(position);
+            for (final String value : guard.values) {
+                List<Integer> positions = tokenIndex.positionsByValue.get(value);
+                if (positions == null) {
+                    positions = new ArrayList<>();
+                    tokenIndex.positionsByValue.put(value, positions);
+                }
+                positions.add(position);
+            }
+        }
+
+        this.tokenIndexes = new ArrayList<>(indexByToken.values());
+        this.unguardedPositions = toArray(unguarded);
+    }
+
+    /**
+     * Returns the guards found for each indexed rule, keyed by the rule instance.
+     *
+     * @return the guards of the indexed rules
+     */
+    private Map<T, Map<String, Guard>> guardsByRule() {
+        final Map<T, Map<String, Guard>> guardsByRule = new IdentityHashMap<>(rules.size());
+        for (int position = 0; position < rules.size(); position++) {
+            final T rule = rules.get(position);
+            if (rule != null) {
+                guardsByRule.put(rule, ruleGuards.get(position));
+            }
+        }
+        return guardsByRule;
+    }
+
+    /**
+     * Returns the indexed rules.
+     *
+     * @return the rules, in the order they were indexed
+     */
+    List<T> getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns the rules that can match in {@code context}, in the order they were indexed.
+     *
+     * @param context the {@link Context} the rules are evaluated in
+     * @return the rules whose guard is met, and all the rules without a guard
+     */
+    List<T> candidates(final Context context) {
+        if (tokenIndexes.isEmpty()) {
+            return rules;
+        }
+
+        final List<List<Integer>> matches = new ArrayList<>(tokenIndexes.size());
+        int matchCount = unguardedPositions.length;
+        for (final TokenIndex tokenIndex : tokenIndexes) {
+            final Object value = tokenIndex.token.resolve(context.tokenFinder, context.transformer);
+            final List<Integer> positions;
+            if (value == null) {
+                // A comparison with a null operand always fails.
+                continue;
+            } else if (value instanceof String) {
+                positions = tokenIndex.positionsByValue.get(lowerCase((String) value));
+            } else {
+                positions = tokenIndex.positions;
+            }
+
+            if (positions != null) {
+                matches.add(positions);
+                matchCount += positions.size();
+            }
+        }
+
+        final int[] candidatePositions = Arrays.copyOf(unguardedPositions, matchCount);
+        int offset = unguardedPositions.length;
+        for (final List<Integer> positions : matches) {
+            for (final Integer position : positions) {
+                candidatePositions[offset++] = position;
+            }
+        }
+        Arrays.sort(candidatePositions);
+
+        final List<T> candidates = new ArrayList<>(candidatePositions.length);
+        for (final int position : candidatePositions) {
+            candidates.add(rules.get(position));
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the guards that must be met for {@code evaluable} to succeed.
+     *
+     * @param evaluable the condition to be analyzed
+     * @return the guards keyed by their token string, or null if there is none
+     */
+    private static Map<String, Guard> findGuards(final Evaluable evaluable) {
+        if (evaluable instanceof ComparisonExpression) {
+            final Guard guard = comparisonGuard((ComparisonExpression<?, ?>) evaluable);
+            return guard == null
+                    ? null
+                    : Collections.singletonMap(guard.token.getTokenString(), guard);
+        }
+
+        if (!(evaluable instanceof LogicalExpression)) {
+            return null;
+        }
+
+        final LogicalExpression logicalExpression = (LogicalExpression) evaluable;
+        if (logicalExpression.operands == null) {
+            return null;
+        }
+
+        if (OPERATOR_AND.equals(logicalExpression.operationName)) {
+            // Every operand must succeed, so the guards of all of them apply.
+            Map<String, Guard> guards = null;
+            for (final Evaluable operand : logicalExpression.operands) {
+                final Map<String, Guard> operandGuards = operand == null ? null : findGuards(operand);
+                if (operandGuards == null) {
+                    continue;
+                }
+
+                if (guards == null) {
+                    guards = new HashMap<>();
+                }
+                for (final Map.Entry<String, Guard> entry : operandGuards.entrySet()) {
+                    if (!guards.containsKey(entry.getKey())) {
+                        guards.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            return guards;
+        }
+
+        if (OPERATOR_OR.equals(logicalExpression.operationName)) {
+            // One of the operands must succeed, so only tokens guarding all of them apply.
+            Map<String, Guard> guards = null;
+            for (final Evaluable operand : logicalExpression.operands) {
+                if (operand == null) {
+                    continue;
+                }
+
+                final Map<String, Guard> operandGuards = findGuards(operand);
+                if (operandGuards == null) {
+                    return null;
+                }
+
+                if (guards == null) {
+                    guards = new HashMap<>();
+                    for (final Map.Entry<String, Guard> entry : operandGuards.entrySet()) {
+                        final Guard guard = entry.getValue();
+                        guards.put(
+                                entry.getKey(),
+                                new Guard(guard.token, new HashSet<>(guard.values)));
+                    }
+                    continue;
+                }
+
+                final Iterator<Map.Entry<String, Guard>> iterator = guards.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<String, Guard> entry = iterator.next();
+                    final Guard operandGuard = operandGuards.get(entry.getKey());
+                    if (operandGuard == null) {
+                        iterator.remove();
+                    } else {
+                        entry.getValue().values.addAll(operandGuard.values);
+                    }
+                }
+            }
+            return guards == null || guards.isEmpty() ? null : guards;
+        }
+
+        return null;
+    }
+
+    private static Guard comparisonGuard(final ComparisonExpression<?, ?> expression) {
+        if (!OPERATOR_EQUALS.equals(expression.getOperationName())
+                || !(expression.getLhs() instanceof OperandMustacheToken)
+                || !(expression.getRhs() instanceof OperandLiteral)) {
+            return null;
+        }
+
+        final MustacheToken token = ((OperandMustacheToken<?>) expression.getLhs()).getMustacheToken();
+        final Object value = ((OperandLiteral<?>) expression.getRhs()).getValue();
+        if (token == null || !(value instanceof String)) {
+            return null;
+        }
+
+        final Set<String> values = new HashSet<>();
+        values.add(lowerCase((String) value));
+        return new Guard(token, values);
+    }
+
+    /** Selects the guard whose token guards the most rules, to keep the number of tokens low. */
+    private static Guard selectGuard(
+            final Map<String, Guard> guards, final Map<String, Integer> guardedRuleCounts) {
+        if (guards == null) {
+            return null;
+        }
+
+        Guard selected = null;
+        int selectedCount = 0;
+        for (final Map.Entry<String, Guard> entry : guards.entrySet()) {
+            final int count = guardedRuleCounts.get(entry.getKey());
+            if (selected == null
+                    || count > selectedCount
+                    || (count == selectedCount
+                            && entry.getKey().compareTo(selected.token.getTokenString()) < 0)) {
+                selected = entry.getValue();
+                selectedCount = count;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Folds the case of {@code value} one character at a time, the way {@link
+     * String#equalsIgnoreCase(String)} compares characters, so that two strings equal ignoring case
+     * always fold to the same key.
+     */
+    private static String lowerCase(final String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        final int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
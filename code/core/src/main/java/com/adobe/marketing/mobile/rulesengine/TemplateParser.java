@@ -22,6 +22,13 @@ public class TemplateParser {
         return TemplateParser.parse(templateString, defaultDelimiter);
     }
 
+    /**
+     * Splits {@code templateString} into text and token segments in a single pass.
+     *
+     * @param templateString the template to be parsed
+     * @param delimiter the {@link DelimiterPair} enclosing the tokens, the default "{{" "}}" if null
+     * @return the segments of the template, or an empty list if a token is not closed
+     */
     static List<Segment> parse(final String templateString, final DelimiterPair delimiter) {
         List<Segment> tokens = new ArrayList<>();
 
@@ -30,81 +37,32 @@ public class TemplateParser {
         }
 
         DelimiterPair currentDelimiter = delimiter == null ? defaultDelimiter : delimiter;
+        final String startTag = currentDelimiter.getStartTag();
+        final String endTag = currentDelimiter.getEndTag();
+        final int end = templateString.length();
         int i = 0;
-        int end = templateString.length();
-        Parser parser = new Parser(i, State.START);
 
         while (i < end) {
-            switch (parser.state) {
-                case START:
-                    if (templateString.substring(i).startsWith(currentDelimiter.getStartTag())) {
-                        parser.setState(i, State.TAG);
-                        i = templateString.indexOf(currentDelimiter.getStartTag(), i) + 1;
-                    } else {
-                        parser.setState(i, State.TEXT);
-                    }
-
-                    break;
-                case TEXT:
-                    if (templateString.substring(i).startsWith(currentDelimiter.getStartTag())) {
-                        if (parser.index != i) {
-                            tokens.add(new SegmentText(templateString.substring(parser.index, i)));
-                        }
-
-                        parser.setState(i, State.TAG);
-                        i = templateString.indexOf(currentDelimiter.getStartTag(), i) + 1;
-                    }
-
-                    break;
-                case TAG:
-                    if (templateString.substring(i).startsWith(currentDelimiter.getEndTag())) {
-                        int tokenContentStartIndex =
-                                parser.index + currentDelimiter.getStartLength();
-                        tokens.add(
-                                new SegmentToken(
-                                        templateString.substring(tokenContentStartIndex, i)));
-                        parser.state = State.START;
-                        i = templateString.indexOf(currentDelimiter.getEndTag(), i) + 1;
-                    }
-
-                    break;
+            final int tagStart = templateString.indexOf(startTag, i);
+            if (tagStart < 0) {
+                tokens.add(new SegmentText(templateString.substring(i)));
+                break;
             }
 
-            i++;
-        }
+            if (tagStart != i) {
+                tokens.add(new SegmentText(templateString.substring(i, tagStart)));
+            }
 
-        switch (parser.state) {
-            case START:
-                break;
-            case TEXT:
-                tokens.add(new SegmentText(templateString.substring(parser.index, i)));
-                break;
-            case TAG:
+            final int tokenContentStartIndex = tagStart + currentDelimiter.getStartLength();
+            final int tagEnd = templateString.indexOf(endTag, tokenContentStartIndex);
+            if (tagEnd < 0) {
                 return new ArrayList<>();
+            }
+
+            tokens.add(new SegmentToken(templateString.substring(tokenContentStartIndex, tagEnd)));
+            i = tagEnd + endTag.length();
         }
 
         return tokens;
     }
 }
-
-class Parser {
-
-    int index;
-    State state;
-
-    Parser(final int index, final State state) {
-        this.index = index;
-        this.state = state;
-    }
-
-    public void setState(final int index, final State state) {
-        this.state = state;
-        this.index = index;
-    }
-}
-
-enum State {
-    START,
-    TEXT,
-    TAG,
-}
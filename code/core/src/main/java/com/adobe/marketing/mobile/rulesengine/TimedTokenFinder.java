@@ -0,0 +1,48 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+/**
+ * A {@link TokenFinder} that measures the time spent resolving tokens through the wrapped {@link
+ * TokenFinder}. An instance is confined to the thread of a single evaluation.
+ */
+final class TimedTokenFinder implements TokenFinder {
+
+    private final TokenFinder tokenFinder;
+    private long elapsedNanos;
+
+    TimedTokenFinder(final TokenFinder tokenFinder) {
+        this.tokenFinder = tokenFinder;
+    }
+
+    @Override
+    public Object get(final String key) {
+        final long start = System.nanoTime();
+        try {
+            return tokenFinder.get(key);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Returns the time spent resolving tokens since the previous call, and restarts the
+     * measurement.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    long takeElapsedNanos() {
+        final long elapsed = elapsedNanos;
+        elapsedNanos = 0;
+        return elapsed;
+    }
+}
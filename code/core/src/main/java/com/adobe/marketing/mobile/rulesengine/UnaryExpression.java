@@ -37,4 +37,8 @@ public class UnaryExpression<A> implements Evaluable {
 
         return context.evaluator.evaluate(operationName, resolvedLhs);
     }
+
+    Operand<A> getLhs() {
+        return lhs;
+    }
 }
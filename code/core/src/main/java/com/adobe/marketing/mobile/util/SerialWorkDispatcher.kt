@@ -13,6 +13,7 @@ package com.adobe.marketing.mobile.util
 
 import androidx.annotation.VisibleForTesting
 import com.adobe.marketing.mobile.internal.CoreConstants
+import com.adobe.marketing.mobile.internal.util.SharedThreadPool
 import com.adobe.marketing.mobile.services.Log
 import java.lang.Exception
 import java.lang.IllegalStateException
@@ -21,6 +22,7 @@ import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Provides a template for processing a queue of work items serially. Allows adding new work items
@@ -80,16 +82,40 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
         fun doWork(item: W): Boolean
     }
 
+    /**
+     * Denotes whether this dispatcher runs on a thread of its own even when the [SharedThreadPool] is enabled.
+     */
+    private var dedicatedThread = false
+
+    /**
+     * Creates a dispatcher that runs on a thread of its own if [dedicatedThread] is true, whatever the
+     * [SharedThreadPool] mode. Meant for the queues that must keep making progress while every
+     * thread of the shared pool is blocked.
+     *
+     * @param name the name of the dispatcher
+     * @param workHandler the [WorkHandler] processing the work items
+     * @param dedicatedThread whether the dispatcher should always run on a thread of its own
+     */
+    internal constructor(name: String, workHandler: WorkHandler<T>, dedicatedThread: Boolean) : this(name, workHandler) {
+        this.dedicatedThread = dedicatedThread
+    }
+
     /**
      * The executor to which work is submitted for sequencing.
+     * Created when work is first submitted, see [getExecutorService].
      */
-    private var executorService: ExecutorService = Executors.newSingleThreadExecutor()
+    private var executorService: ExecutorService? = null
 
     /**
      * Holds the work items that need to be processed by this dispatcher.
      */
     private val workQueue: Queue<T> = ConcurrentLinkedQueue()
 
+    /**
+     * The number of items in the [workQueue], tracked separately as [ConcurrentLinkedQueue.size] traverses the queue.
+     */
+    private val workQueueSize: AtomicInteger = AtomicInteger(0)
+
     /**
      * A runnable responsible for draining the work items from the [workQueue]
      * and processing them via [WorkHandler.doWork].
@@ -102,6 +128,12 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
      */
     private var workProcessorFuture: Future<*>? = null
 
+    /**
+     * Denotes whether [requestResume] was called while the [workProcessor] was running.
+     * Guarded by [activenessMutex].
+     */
+    private var resumeRequested = false
+
     /**
      * Denotes the current state of the [SerialWorkDispatcher]. It is synonymous with the ability of the
      * [workQueue] to accept new items. Note that this is not the state of the worker-thread that this
@@ -167,6 +199,30 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
         synchronized(activenessMutex) {
             if (state == State.SHUTDOWN) return false
             workQueue.offer(item)
+            workQueueSize.incrementAndGet()
+
+            if (state == State.ACTIVE) {
+                // resume the processing the work items in the queue if necessary
+                resume()
+            }
+            return true
+        }
+    }
+
+    /**
+     * Enqueues [items] to the end of the [workQueue], in iteration order. Additionally,
+     * resumes the queue processing if the [SerialWorkDispatcher] is active.
+     * Equivalent to calling [offer] for each of the [items], without re-evaluating the state of the
+     * [SerialWorkDispatcher] for each of them.
+     *
+     * @param items items that need to be processed.
+     * @return true if [items] have been enqueued successfully, false otherwise
+     */
+    fun offerAll(items: Collection<T>): Boolean {
+        synchronized(activenessMutex) {
+            if (state == State.SHUTDOWN) return false
+            workQueue.addAll(items)
+            workQueueSize.addAndGet(items.size)
 
             if (state == State.ACTIVE) {
                 // resume the processing the work items in the queue if necessary
@@ -183,7 +239,7 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
      */
     private fun prepare() {
         val initTask = this.initialJob ?: return
-        executorService.submit(initTask)
+        getExecutorService().submit(initTask)
     }
 
     /**
@@ -273,11 +329,27 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
             }
 
             // start the work processor
-            workProcessorFuture = executorService.submit(workProcessor)
+            resumeRequested = false
+            workProcessorFuture = getExecutorService().submit(workProcessor)
             return true
         }
     }
 
+    /**
+     * Resumes processing of the [workQueue] if the [SerialWorkDispatcher] is active, without waiting for
+     * the next item to be added. Unlike [resume], this does not reactivate a paused dispatcher.
+     * If a work processor is running, it is re-run once it stops, even if it stopped because the
+     * work handler could not process the current item.
+     */
+    internal fun requestResume() {
+        synchronized(activenessMutex) {
+            if (state != State.ACTIVE) return
+
+            resumeRequested = true
+            resume()
+        }
+    }
+
     /**
      * Invoked before processing each work item. Results in the worker thread being completed
      * if the implementer returns false. Returning false will result in "pausing" the processing (which
@@ -309,15 +381,16 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
      * @return the work item at the front (earliest queued) of the [workQueue], null if [workQueue] is empty
      */
     private fun removeWorkItem(): T? {
-        return workQueue.poll()
+        return workQueue.poll()?.also { workQueueSize.decrementAndGet() }
     }
 
     /**
-     * Peeks the work item at the front (earliest queued) of the [workQueue]
+     * Peeks the work item at the front (earliest queued) of the [workQueue].
+     * An item stays at the front while it is being processed, so this is also the item being processed, if any.
      *
      * @return the work item at the front (earliest queued) of the [workQueue], null if [workQueue] is empty
      */
-    private fun peekWorkItem(): T? {
+    internal fun peekWorkItem(): T? {
         return workQueue.peek()
     }
 
@@ -326,7 +399,7 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
      */
     private fun cleanup() {
         val cleanupTask = finalJob ?: return
-        executorService.submit(cleanupTask)
+        getExecutorService().submit(cleanupTask)
     }
 
     /**
@@ -345,6 +418,7 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
             activeTask?.cancel(true)
             workProcessorFuture = null
             workQueue.clear()
+            workQueueSize.set(0)
         }
 
         cleanup()
@@ -355,13 +429,45 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
         // - prepare() and cleanup() are serialized using [activenessMutex] and guarded by [state]. This prevents them from
         //   executing out of order (therefore cleanup is always executed after prepare for a valid invocation).
         // - executorService.shutdown() will allow [teardownJob] to execute before shutting down completely.
-        executorService.shutdown()
+        synchronized(activenessMutex) { executorService }?.shutdown()
+    }
+
+    /**
+     * Returns the executor to which work is submitted, creating it on first use.
+     * The executor is created lazily so that it honors the [SharedThreadPool] mode selected
+     * when the SDK is initialized, even if this dispatcher was constructed before.
+     * A [dedicatedThread] dispatcher always gets a single thread executor.
+     */
+    private fun getExecutorService(): ExecutorService {
+        synchronized(activenessMutex) {
+            return executorService ?: run {
+                if (dedicatedThread) Executors.newSingleThreadExecutor() else SharedThreadPool.newSerialExecutor()
+            }.also { executorService = it }
+        }
     }
 
     fun getState(): State {
         return state
     }
 
+    /**
+     * Checks if the [SerialWorkDispatcher] is active and has no work items queued or being processed.
+     *
+     * @return true if the dispatcher is active and its [workQueue] is empty, false otherwise
+     */
+    internal fun isIdle(): Boolean {
+        return state == State.ACTIVE && !hasWork()
+    }
+
+    /**
+     * Returns the number of items waiting in the [workQueue], including the item being processed.
+     * Read from a counter without traversing the [workQueue]. Meant for diagnostics only.
+     */
+    internal fun queueDepth(): Int {
+        // An item removed concurrently with shutdown may briefly take the counter below zero.
+        return workQueueSize.get().coerceAtLeast(0)
+    }
+
     private fun getTag() = "$LOG_TAG-$name"
 
     /**
@@ -411,7 +517,7 @@ open class SerialWorkDispatcher<T>(private val name: String, private val workHan
                 // work processor because this task is still not "done". Overcome that race by
                 // checking the state of the queue here and invoking resume here.
                 workProcessorFuture = null
-                if (autoResume && state == State.ACTIVE && hasWork()) {
+                if ((autoResume || resumeRequested) && state == State.ACTIVE && hasWork()) {
                     Log.trace(
                         CoreConstants.LOG_TAG,
                         getTag(),
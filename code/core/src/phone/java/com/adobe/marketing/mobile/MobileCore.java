@@ -21,7 +21,6 @@ import com.adobe.marketing.mobile.internal.AppResourceStore;
 import com.adobe.marketing.mobile.internal.CoreConstants;
 import com.adobe.marketing.mobile.internal.DataMarshaller;
 import com.adobe.marketing.mobile.internal.eventhub.EventHub;
-import com.adobe.marketing.mobile.internal.eventhub.EventHubConstants;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.util.DataReader;
@@ -118,12 +117,7 @@ public final class MobileCore {
      * @return The version string
      */
     @NonNull public static String extensionVersion() {
-        WrapperType wrapperType = EventHub.Companion.getShared().getWrapperType();
-        if (wrapperType == WrapperType.NONE) {
-            return EventHubConstants.VERSION_NUMBER;
-        } else {
-            return EventHubConstants.VERSION_NUMBER + "-" + wrapperType.getWrapperTag();
-        }
+        return EventHub.Companion.getShared().getSdkVersion();
     }
 
     /**
@@ -177,6 +171,41 @@ public final class MobileCore {
         return ServiceProvider.getInstance().getAppContextService().getApplication();
     }
 
+    /**
+     * Enables or disables the recording of runtime metrics for the {@code EventHub} and the
+     * registered extensions. Metrics are disabled by default.
+     *
+     * @param enabled true to record metrics, false otherwise
+     */
+    public static void setEventHubMetricsEnabled(final boolean enabled) {
+        EventHub.Companion.getShared().setMetricsEnabled(enabled);
+    }
+
+    /**
+     * Returns a snapshot of the runtime metrics of the {@code EventHub} and the registered
+     * extensions. Only activity while metrics were enabled via {@link
+     * #setEventHubMetricsEnabled(boolean)} is accounted for.
+     *
+     * @return the current {@link EventHubMetrics}
+     */
+    @NonNull public static EventHubMetrics getEventHubMetrics() {
+        return EventHub.Companion.getShared().getMetrics();
+    }
+
+    /**
+     * Delivers a snapshot of the runtime metrics of the {@code EventHub} to {@code callback}
+     * periodically, replacing any callback set previously. Passing a null {@code callback} stops
+     * the delivery.
+     *
+     * @param intervalMillis the interval between two snapshots in milliseconds. It should be
+     *     positive
+     * @param callback the {@link AdobeCallback} receiving the {@link EventHubMetrics}
+     */
+    public static void setEventHubMetricsCallback(
+            final long intervalMillis, @Nullable final AdobeCallback<EventHubMetrics> callback) {
+        EventHub.Companion.getShared().setMetricsCallback(intervalMillis, callback);
+    }
+
     /**
      * Set the {@link LoggingMode} level for the Mobile SDK.
      *
@@ -265,6 +294,24 @@ public final class MobileCore {
         EventHub.Companion.getShared().dispatch(event);
     }
 
+    /**
+     * This method will dispatch the provided {@code Event}s, in order, for other extensions or the
+     * internal SDK to consume. Dispatching a burst of events through this method is cheaper than
+     * calling {@link #dispatchEvent(Event)} for each of them.
+     *
+     * <p>Null elements of {@code events} are logged and are not dispatched.
+     *
+     * @param events the {@link Event}s to be dispatched. It should not be null
+     */
+    public static void dispatchEvents(@NonNull final List<Event> events) {
+        if (events == null) {
+            Log.error(CoreConstants.LOG_TAG, LOG_TAG, "Failed to dispatchEvents - events is null");
+            return;
+        }
+
+        EventHub.Companion.getShared().dispatch(events);
+    }
+
     /**
      * This method will be used when the provided {@code Event} is used as a trigger and a response
      * event is expected in return.
@@ -24,8 +24,10 @@ import androidx.lifecycle.ProcessLifecycleOwner
 import com.adobe.marketing.mobile.internal.CoreConstants
 import com.adobe.marketing.mobile.internal.configuration.ConfigurationExtension
 import com.adobe.marketing.mobile.internal.eventhub.EventHub
+import com.adobe.marketing.mobile.internal.eventhub.ExtensionMetricsRecorder
 import com.adobe.marketing.mobile.internal.migration.V4Migrator
 import com.adobe.marketing.mobile.internal.migration.V5LegacyCleaner
+import com.adobe.marketing.mobile.internal.util.SharedThreadPool
 import com.adobe.marketing.mobile.services.Log
 import com.adobe.marketing.mobile.services.ServiceProvider
 import com.adobe.marketing.mobile.services.internal.context.App
@@ -95,6 +97,9 @@ internal class MobileCoreInitializer(
             return
         }
 
+        // Select the threading mode before any event queue of the SDK starts processing work
+        SharedThreadPool.enabled = initOptions.sharedThreadPoolEnabled
+
         setApplication(application)
 
         when (val config = initOptions.config) {
@@ -215,6 +220,8 @@ internal class MobileCoreInitializer(
 
         setApplicationCalled.set(false)
         initializeCalled.set(false)
+        SharedThreadPool.enabled = false
+        ExtensionMetricsRecorder.enabled = false
     }
 }
 
@@ -16,11 +16,14 @@ import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.launch.rulesengine.LaunchRulesEngine
 import com.adobe.marketing.mobile.launch.rulesengine.download.RulesLoadResult
 import com.adobe.marketing.mobile.launch.rulesengine.download.RulesLoader
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesReader
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesSnapshot
 import com.adobe.marketing.mobile.services.DataStoring
 import com.adobe.marketing.mobile.services.DeviceInforming
 import com.adobe.marketing.mobile.services.NamedCollection
 import com.adobe.marketing.mobile.services.Networking
 import com.adobe.marketing.mobile.services.ServiceProvider
+import com.adobe.marketing.mobile.services.caching.CacheResult
 import com.adobe.marketing.mobile.services.caching.CacheService
 import org.junit.After
 import org.junit.Before
@@ -171,7 +174,75 @@ class ConfigurationRulesManagerTest {
 
         assertTrue(configurationRulesManager.applyCachedRules(mockExtensionApi))
 
-        verify(mockLaunchRulesEngine, times(1)).replaceRules(any())
+        verify(mockLaunchRulesEngine, times(1)).updateRules(any())
+    }
+
+    @Test
+    fun `Apply Cached Rules - Snapshot of cached rules is stored`() {
+        val persistedRulesURL = "www.example.com/rules"
+        `when`(
+            mockNamedCollection.getString(
+                ConfigurationRulesManager.PERSISTED_RULES_URL,
+                null
+            )
+        ).thenReturn(persistedRulesURL)
+        `when`(mockServiceProvider.cacheService).thenReturn(mockCacheService)
+        val cachedRulesResult = mock(CacheResult::class.java)
+        `when`(cachedRulesResult.metadata).thenReturn(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        `when`(
+            mockCacheService.get(ConfigurationRulesManager.RULES_CACHE_NAME, persistedRulesURL)
+        ).thenReturn(cachedRulesResult)
+
+        val rulesLoadResult = mock(RulesLoadResult::class.java)
+        `when`(rulesLoadResult.data).thenReturn(validRulesJson)
+        `when`(rulesLoadResult.reason).thenReturn(RulesLoadResult.Reason.SUCCESS)
+        `when`(
+            mockRulesLoader.loadFromCache(persistedRulesURL)
+        ).thenReturn(rulesLoadResult)
+
+        assertTrue(configurationRulesManager.applyCachedRules(mockExtensionApi))
+
+        verify(mockLaunchRulesEngine, times(1)).updateRules(any())
+        verify(mockCacheService).set(
+            eq(ConfigurationRulesManager.RULES_CACHE_NAME),
+            eq("$persistedRulesURL.snapshot"),
+            any()
+        )
+    }
+
+    @Test
+    fun `Apply Cached Rules - Snapshot of cached rules is applied`() {
+        val persistedRulesURL = "www.example.com/rules"
+        `when`(
+            mockNamedCollection.getString(
+                ConfigurationRulesManager.PERSISTED_RULES_URL,
+                null
+            )
+        ).thenReturn(persistedRulesURL)
+        `when`(mockServiceProvider.cacheService).thenReturn(mockCacheService)
+        val cachedRulesResult = mock(CacheResult::class.java)
+        `when`(cachedRulesResult.metadata).thenReturn(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        `when`(
+            mockCacheService.get(ConfigurationRulesManager.RULES_CACHE_NAME, persistedRulesURL)
+        ).thenReturn(cachedRulesResult)
+
+        val ruleParts = JSONRulesReader(validRulesJson, mockExtensionApi).readRuleParts()!!
+        val snapshotResult = mock(CacheResult::class.java)
+        `when`(snapshotResult.data).thenReturn(JSONRulesSnapshot.write(ruleParts).inputStream())
+        `when`(snapshotResult.metadata).thenReturn(
+            mapOf(
+                RulesSnapshotCache.METADATA_SOURCE_ETAG to "etag",
+                RulesSnapshotCache.METADATA_SOURCE_LAST_MODIFIED to "1000"
+            )
+        )
+        `when`(
+            mockCacheService.get(ConfigurationRulesManager.RULES_CACHE_NAME, "$persistedRulesURL.snapshot")
+        ).thenReturn(snapshotResult)
+
+        assertTrue(configurationRulesManager.applyCachedRules(mockExtensionApi))
+
+        verify(mockLaunchRulesEngine, times(1)).updateRules(any())
+        verify(mockRulesLoader, never()).loadFromCache(any())
     }
 
     @Test
@@ -302,7 +373,7 @@ class ConfigurationRulesManagerTest {
             )
         )
 
-        verify(mockLaunchRulesEngine, times(1)).replaceRules(any())
+        verify(mockLaunchRulesEngine, times(1)).updateRules(any())
     }
 
     @Test
@@ -316,7 +387,7 @@ class ConfigurationRulesManagerTest {
 
         configurationRulesManager.applyBundledRules(mockExtensionApi)
 
-        verify(mockLaunchRulesEngine, never()).replaceRules(any())
+        verify(mockLaunchRulesEngine, never()).updateRules(any())
     }
 
     @Test
@@ -330,7 +401,7 @@ class ConfigurationRulesManagerTest {
 
         configurationRulesManager.applyBundledRules(mockExtensionApi)
 
-        verify(mockLaunchRulesEngine, never()).replaceRules(any())
+        verify(mockLaunchRulesEngine, never()).updateRules(any())
     }
 
     @Test
@@ -344,7 +415,7 @@ class ConfigurationRulesManagerTest {
 
         configurationRulesManager.applyBundledRules(mockExtensionApi)
 
-        verify(mockLaunchRulesEngine, never()).replaceRules(any())
+        verify(mockLaunchRulesEngine, never()).updateRules(any())
     }
 
     @Test
@@ -358,7 +429,7 @@ class ConfigurationRulesManagerTest {
 
         configurationRulesManager.applyBundledRules(mockExtensionApi)
 
-        verify(mockLaunchRulesEngine, times(1)).replaceRules(any())
+        verify(mockLaunchRulesEngine, times(1)).updateRules(any())
     }
 
     @After
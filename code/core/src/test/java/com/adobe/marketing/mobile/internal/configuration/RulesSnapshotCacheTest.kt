@@ -0,0 +1,163 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.configuration
+
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRuleParts
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesReader
+import com.adobe.marketing.mobile.services.ServiceProvider
+import com.adobe.marketing.mobile.services.caching.CacheEntry
+import com.adobe.marketing.mobile.services.caching.CacheResult
+import com.adobe.marketing.mobile.services.caching.CacheService
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.mockito.MockedStatic
+import org.mockito.Mockito
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when`
+import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class RulesSnapshotCacheTest {
+
+    companion object {
+        private const val CACHE_NAME = "config.rules"
+        private const val RULES_URL = "www.example.com/rules"
+    }
+
+    @Mock
+    private lateinit var mockCacheService: CacheService
+
+    @Mock
+    private lateinit var mockExtensionApi: ExtensionApi
+
+    @Mock
+    private lateinit var mockServiceProvider: ServiceProvider
+
+    private lateinit var mockedStaticServiceProvider: MockedStatic<ServiceProvider>
+
+    private lateinit var rulesSnapshotCache: RulesSnapshotCache
+    private lateinit var ruleParts: List<JSONRuleParts>
+
+    @Before
+    fun setUp() {
+        mockedStaticServiceProvider = Mockito.mockStatic(ServiceProvider::class.java)
+        mockedStaticServiceProvider.`when`<Any> { ServiceProvider.getInstance() }.thenReturn(mockServiceProvider)
+        `when`(mockServiceProvider.cacheService).thenReturn(mockCacheService)
+
+        val rulesJson =
+            this::class.java.classLoader?.getResource("rules_parser/launch_rule_root.json")!!.readText()
+        ruleParts = assertNotNull(JSONRulesReader(rulesJson, mockExtensionApi).readRuleParts())
+        rulesSnapshotCache = RulesSnapshotCache(CACHE_NAME)
+    }
+
+    @Test
+    fun `Load - Snapshot of cached rules is loaded`() {
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        mockSnapshot(storeSnapshot())
+
+        val rules = rulesSnapshotCache.load(RULES_URL, mockExtensionApi)
+
+        assertNotNull(rules)
+        assertEquals(ruleParts.size, rules.size)
+        assertEquals(ruleParts.map { it.toLaunchRule()?.consequenceList }, rules.map { it.consequenceList })
+    }
+
+    @Test
+    fun `Load - Snapshot is stale when cached rules have another ETag`() {
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        val snapshot = storeSnapshot()
+        mockCachedRules(mapOf("ETag" to "newEtag", "Last-Modified" to "1000"))
+        mockSnapshot(snapshot)
+
+        assertNull(rulesSnapshotCache.load(RULES_URL, mockExtensionApi))
+    }
+
+    @Test
+    fun `Load - Snapshot is stale when cached rules have another Last-Modified`() {
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        val snapshot = storeSnapshot()
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "2000"))
+        mockSnapshot(snapshot)
+
+        assertNull(rulesSnapshotCache.load(RULES_URL, mockExtensionApi))
+    }
+
+    @Test
+    fun `Load - No snapshot is cached`() {
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+
+        assertNull(rulesSnapshotCache.load(RULES_URL, mockExtensionApi))
+    }
+
+    @Test
+    fun `Load - Invalid snapshot is not loaded`() {
+        mockCachedRules(mapOf("ETag" to "etag", "Last-Modified" to "1000"))
+        val snapshot = storeSnapshot()
+        mockSnapshot(CacheEntry("invalid".byteInputStream(), snapshot.expiry, snapshot.metadata))
+
+        assertNull(rulesSnapshotCache.load(RULES_URL, mockExtensionApi))
+    }
+
+    @Test
+    fun `Store - Snapshot is not stored when cached rules have no ETag`() {
+        mockCachedRules(mapOf("Last-Modified" to "1000"))
+
+        rulesSnapshotCache.store(RULES_URL, ruleParts)
+
+        verify(mockCacheService, never()).set(any(), any(), any())
+    }
+
+    @Test
+    fun `Store - Snapshot is not stored when rules are not cached`() {
+        rulesSnapshotCache.store(RULES_URL, ruleParts)
+
+        verify(mockCacheService, never()).set(any(), any(), any())
+    }
+
+    private fun mockCachedRules(metadata: Map<String, String>) {
+        val cacheResult = mock(CacheResult::class.java)
+        `when`(cacheResult.metadata).thenReturn(metadata)
+        `when`(mockCacheService.get(CACHE_NAME, RULES_URL)).thenReturn(cacheResult)
+    }
+
+    private fun storeSnapshot(): CacheEntry {
+        rulesSnapshotCache.store(RULES_URL, ruleParts)
+        val entryCaptor = argumentCaptor<CacheEntry>()
+        verify(mockCacheService).set(eq(CACHE_NAME), eq("$RULES_URL.snapshot"), entryCaptor.capture())
+        return entryCaptor.firstValue
+    }
+
+    private fun mockSnapshot(cacheEntry: CacheEntry) {
+        val data = cacheEntry.data.readBytes()
+        val cacheResult = mock(CacheResult::class.java)
+        `when`(cacheResult.data).thenReturn(data.inputStream())
+        `when`(cacheResult.metadata).thenReturn(cacheEntry.metadata)
+        `when`(mockCacheService.get(CACHE_NAME, "$RULES_URL.snapshot")).thenReturn(cacheResult)
+    }
+
+    @After
+    fun teardown() {
+        mockedStaticServiceProvider.close()
+    }
+}
@@ -0,0 +1,51 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.eventhub
+
+import org.junit.Test
+import kotlin.test.assertEquals
+
+internal class DurationHistogramTests {
+
+    @Test
+    fun testRecord_BucketsByPowersOfTwoMicroseconds() {
+        val histogram = DurationHistogram()
+        histogram.record(500) // < 1us
+        histogram.record(1_000) // 1us
+        histogram.record(3_000) // 3us
+        histogram.record(1_000_000_000) // 1s, beyond the last bucket
+
+        val counts = histogram.counts()
+        assertEquals(DurationHistogram.BUCKET_COUNT, counts.size)
+        assertEquals(1L, counts[0])
+        assertEquals(1L, counts[1])
+        assertEquals(1L, counts[2])
+        assertEquals(1L, counts[DurationHistogram.BUCKET_COUNT - 1])
+        assertEquals(4L, counts.sum())
+    }
+
+    @Test
+    fun testPercentile_Empty() {
+        assertEquals(0L, DurationHistogram().percentileMicros(0.5))
+    }
+
+    @Test
+    fun testPercentile_ReturnsBucketUpperBound() {
+        val histogram = DurationHistogram()
+        repeat(90) { histogram.record(3_000) } // bucket [2, 4)us
+        repeat(10) { histogram.record(100_000) } // bucket [64, 128)us
+
+        assertEquals(4L, histogram.percentileMicros(0.5))
+        assertEquals(4L, histogram.percentileMicros(0.9))
+        assertEquals(128L, histogram.percentileMicros(0.99))
+    }
+}
@@ -14,6 +14,8 @@ package com.adobe.marketing.mobile.internal.eventhub
 import com.adobe.marketing.mobile.AdobeCallbackWithError
 import com.adobe.marketing.mobile.AdobeError
 import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventHistoryRequest
+import com.adobe.marketing.mobile.EventHistoryResult
 import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
 import com.adobe.marketing.mobile.Extension
@@ -24,8 +26,10 @@ import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
 import com.adobe.marketing.mobile.WrapperType
+import com.adobe.marketing.mobile.dispatchNumber
 import com.adobe.marketing.mobile.internal.CoreConstants
 import com.adobe.marketing.mobile.internal.eventhub.history.EventHistory
+import com.adobe.marketing.mobile.internal.util.convertMapToFnv1aHash
 import com.adobe.marketing.mobile.services.Log
 import io.mockk.every
 import io.mockk.mockk
@@ -50,6 +54,7 @@ import java.lang.UnsupportedOperationException
 import java.util.Locale
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
@@ -126,6 +131,40 @@ internal class EventHubTests {
         }
     }
 
+    private class TestExtension_SharedStateWait(api: ExtensionApi) : Extension(api) {
+        companion object {
+            const val EXTENSION_NAME = "TestExtension_SharedStateWait"
+
+            // Events for which readyForEvent was called
+            val readyForEventCalls: MutableList<Event> = java.util.Collections.synchronizedList(mutableListOf())
+        }
+
+        init {
+            readyForEventCalls.clear()
+        }
+
+        override fun getName(): String {
+            return EXTENSION_NAME
+        }
+
+        override fun readyForEvent(event: Event): Boolean {
+            // Only events dispatched by the tests wait on the shared state
+            if (event.type != "Type") {
+                return true
+            }
+
+            readyForEventCalls.add(event)
+            val result = api.getSharedState(TestExtension.EXTENSION_NAME, event, false, SharedStateResolution.ANY)
+            // A null result means that the shared state provider is not registered anymore
+            if (result == null || result.status == SharedStateStatus.SET) {
+                return true
+            }
+
+            api.resumeOnSharedState(TestExtension.EXTENSION_NAME, event)
+            return false
+        }
+    }
+
     private class TestExtension_InitError(api: ExtensionApi) : Extension(api) {
         companion object {
             const val EXTENSION_NAME = "TestExtension_InitError"
@@ -206,15 +245,22 @@ internal class EventHubTests {
         return ret
     }
 
+    private lateinit var sharedEventHub: EventHub
+
     @Before
     fun setup() {
         eventHub = EventHub()
+        // ExtensionApi calls made by the test extensions resolve against the EventHub under test
+        sharedEventHub = EventHub.shared
+        EventHub.shared = eventHub
         registerExtension(TestExtension::class.java)
     }
 
     @After
     fun teardown() {
+        eventHub.metricsEnabled = false
         eventHub.shutdown()
+        EventHub.shared = sharedEventHub
     }
 
     // Register, Unregister tests
@@ -1490,6 +1536,435 @@ internal class EventHubTests {
         assertEquals(expectedData2, sharedStateResult2?.value)
     }
 
+    @Test
+    fun testGetSharedState_ClonedEventResolvesToSameVersion() {
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        val stateAtEvent1: MutableMap<String, Any?> = mutableMapOf("One" to 1)
+        eventHub.createSharedState(
+            SharedStateType.STANDARD,
+            TestExtension.EXTENSION_NAME,
+            stateAtEvent1,
+            event1
+        )
+
+        eventHub.dispatch(event2)
+        val stateAtEvent2: MutableMap<String, Any?> = mutableMapOf("Two" to 2)
+        eventHub.createSharedState(
+            SharedStateType.STANDARD,
+            TestExtension.EXTENSION_NAME,
+            stateAtEvent2,
+            event2
+        )
+
+        verifySharedState(
+            SharedStateType.STANDARD,
+            event1.cloneWithEventData(mapOf("cloned" to true)),
+            SharedStateResult(SharedStateStatus.SET, stateAtEvent1)
+        )
+    }
+
+    @Test
+    fun testDispatch_RetainsNoEntryPerEvent() {
+        val batchLatch = AtomicReference<CountDownLatch>()
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            batchLatch.get().countDown()
+        }
+        eventHub.start()
+
+        fun dispatchEvents(count: Int) {
+            batchLatch.set(CountDownLatch(count))
+            repeat(count) {
+                eventHub.dispatch(Event.Builder("Event$it", eventType, eventSource).build())
+            }
+            assertTrue(batchLatch.get().await(5, TimeUnit.SECONDS))
+        }
+
+        // Sizes of the maps and collections held by the EventHub
+        fun collectionSizes(): Map<String, Int> {
+            return EventHub::class.java.declaredFields.mapNotNull { field ->
+                field.isAccessible = true
+                when (val value = field.get(eventHub)) {
+                    is Map<*, *> -> field.name to value.size
+                    is Collection<*> -> field.name to value.size
+                    else -> null
+                }
+            }.toMap()
+        }
+
+        dispatchEvents(100)
+        val sizes = collectionSizes()
+        assertTrue(sizes.isNotEmpty())
+
+        dispatchEvents(10_000)
+        assertEquals(sizes, collectionSizes())
+        assertEquals(0, eventHub.pendingResponseListenerCount)
+    }
+
+    @Test
+    fun testCreateSharedState_CompactsHistoryBehindAllExtensions() {
+        val events = (1..50).map { Event.Builder("Event$it", eventType, eventSource).build() }
+        val latch = CountDownLatch(events.size * 2)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            latch.countDown()
+        }
+        eventHub.getExtensionContainer(EventHubPlaceholderExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            latch.countDown()
+        }
+        eventHub.start()
+
+        events.forEachIndexed { index, event ->
+            eventHub.dispatch(event)
+            if (index == events.size - 1) {
+                // Wait for all extensions to move past the earlier events before publishing the last state
+                assertTrue(latch.await(5, TimeUnit.SECONDS))
+            }
+            eventHub.createSharedState(
+                SharedStateType.STANDARD,
+                TestExtension.EXTENSION_NAME,
+                mutableMapOf("version" to event.name),
+                event
+            )
+        }
+
+        val retainedVersions = eventHub.getSharedStateVersionCount(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME)
+        assertNotNull(retainedVersions)
+        assertTrue(retainedVersions < events.size)
+
+        verifySharedState(
+            SharedStateType.STANDARD,
+            events.last(),
+            SharedStateResult(SharedStateStatus.SET, mapOf("version" to events.last().name))
+        )
+        verifySharedState(
+            SharedStateType.STANDARD,
+            null,
+            SharedStateResult(SharedStateStatus.SET, mapOf("version" to events.last().name))
+        )
+    }
+
+    @Test
+    fun testCreateSharedState_CompactsHistoryUpToOldestQueuedEvent() {
+        registerExtension(TestExtension_Barrier::class.java)
+        val events = (1..50).map { Event.Builder("Event$it", eventType, eventSource).build() }
+        val stalledEvent = events[10]
+        TestExtension_Barrier.BARRIER_EVENT = stalledEvent
+
+        // The barrier extension processes the events before the stalled one and queues the others
+        val latch = CountDownLatch(events.size * 2 + 10)
+        listOf(TestExtension::class.java, EventHubPlaceholderExtension::class.java, TestExtension_Barrier::class.java).forEach {
+            eventHub.getExtensionContainer(it)?.registerEventListener(eventType, eventSource) {
+                latch.countDown()
+            }
+        }
+        eventHub.start()
+
+        events.forEachIndexed { index, event ->
+            eventHub.dispatch(event)
+            if (index == events.size - 1) {
+                assertTrue(latch.await(5, TimeUnit.SECONDS))
+            }
+            eventHub.createSharedState(
+                SharedStateType.STANDARD,
+                TestExtension.EXTENSION_NAME,
+                mutableMapOf("version" to event.name),
+                event
+            )
+        }
+
+        // Versions before the stalled event are dropped, the ones the queued events resolve to are kept
+        val retainedVersions = eventHub.getSharedStateVersionCount(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME)
+        assertEquals(events.size - 10, retainedVersions)
+        events.subList(10, events.size).forEach {
+            verifySharedState(
+                SharedStateType.STANDARD,
+                it,
+                SharedStateResult(SharedStateStatus.SET, mapOf("version" to it.name))
+            )
+        }
+    }
+
+    @Test
+    fun testResumeOnSharedState_WakesExtensionWhenStateIsSet() {
+        registerExtension(TestExtension_SharedStateWait::class.java)
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension_SharedStateWait::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event1) latch.countDown()
+        }
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        eventHub.dispatch(event2)
+        eventHub.dispatch(event3)
+        Thread.sleep(100)
+        assertEquals(1, latch.count)
+
+        eventHub.createSharedState(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME, mutableMapOf("key" to "value"), event1)
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+
+        // Events queued behind the awaited one do not trigger readyForEvent while the extension waits
+        val callsForEvent1 = TestExtension_SharedStateWait.readyForEventCalls.filter { it == event1 }
+        assertEquals(2, callsForEvent1.size)
+    }
+
+    @Test
+    fun testResumeOnSharedState_WakesExtensionWhenPendingStateIsResolved() {
+        registerExtension(TestExtension_SharedStateWait::class.java)
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension_SharedStateWait::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event1) latch.countDown()
+        }
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        val resolver = eventHub.createPendingSharedState(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME, event1)
+        assertNotNull(resolver)
+        Thread.sleep(100)
+        assertEquals(1, latch.count)
+
+        resolver.resolve(mutableMapOf("key" to "value"))
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testResumeOnSharedState_WakesExtensionWhenStateIsSetBeforeAwaitedEvent() {
+        registerExtension(TestExtension_SharedStateWait::class.java)
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension_SharedStateWait::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event1) latch.countDown()
+        }
+        eventHub.start()
+
+        val earlierEvent = Event.Builder("EarlierEvent", "OtherType", eventSource).build()
+        eventHub.dispatch(earlierEvent)
+        eventHub.dispatch(event1)
+        Thread.sleep(100)
+        assertEquals(1, latch.count)
+
+        // The state set at the earlier version is the one event1 resolves to
+        eventHub.createSharedState(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME, mutableMapOf("key" to "value"), earlierEvent)
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testResumeOnSharedState_WakesExtensionWhenPendingStateBeforeAwaitedEventIsResolved() {
+        registerExtension(TestExtension_SharedStateWait::class.java)
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension_SharedStateWait::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event1) latch.countDown()
+        }
+        eventHub.start()
+
+        val earlierEvent = Event.Builder("EarlierEvent", "OtherType", eventSource).build()
+        eventHub.dispatch(earlierEvent)
+        val resolver = eventHub.createPendingSharedState(SharedStateType.STANDARD, TestExtension.EXTENSION_NAME, earlierEvent)
+        assertNotNull(resolver)
+        eventHub.dispatch(event1)
+        Thread.sleep(100)
+        assertEquals(1, latch.count)
+
+        resolver.resolve(mutableMapOf("key" to "value"))
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testResumeOnSharedState_WakesExtensionWhenProviderIsUnregistered() {
+        registerExtension(TestExtension_SharedStateWait::class.java)
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension_SharedStateWait::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event1) latch.countDown()
+        }
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        Thread.sleep(100)
+        assertEquals(1, latch.count)
+
+        // No event is dispatched after the provider is gone, so only releasing the wait resumes the queue
+        assertEquals(EventHubError.None, unregisterExtension(TestExtension::class.java))
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testGetSharedStateVersionCount_ExtensionNotRegistered() {
+        assertNull(eventHub.getSharedStateVersionCount(SharedStateType.STANDARD, "NotRegisteredExtension"))
+    }
+
+    @Test
+    fun testDispatchBatch_DeliversEventsInOrderWithContiguousNumbers() {
+        val events = (1..5).map { Event.Builder("Event$it", eventType, eventSource).build() }
+        val capturedEvents = java.util.Collections.synchronizedList(mutableListOf<Event>())
+        val latch = CountDownLatch(events.size)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            capturedEvents.add(it)
+            latch.countDown()
+        }
+        eventHub.start()
+
+        eventHub.dispatch(events)
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        assertEquals(events, capturedEvents)
+        val firstNumber = events.first().dispatchNumber
+        assertNotNull(firstNumber)
+        events.forEachIndexed { index, event ->
+            assertEquals(firstNumber + index, event.dispatchNumber)
+        }
+    }
+
+    @Test
+    fun testDispatchBatch_SkipsNullEvents() {
+        val event1 = Event.Builder("Event1", eventType, eventSource).build()
+        val event2 = Event.Builder("Event2", eventType, eventSource).build()
+        val capturedEvents = java.util.Collections.synchronizedList(mutableListOf<Event>())
+        val latch = CountDownLatch(2)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            capturedEvents.add(it)
+            latch.countDown()
+        }
+        eventHub.start()
+
+        // A Java caller can pass null elements
+        @Suppress("UNCHECKED_CAST")
+        eventHub.dispatch(listOf(event1, null, event2) as List<Event>)
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        assertEquals(listOf(event1, event2), capturedEvents)
+        val firstNumber = event1.dispatchNumber
+        assertNotNull(firstNumber)
+        assertEquals(firstNumber + 1, event2.dispatchNumber)
+    }
+
+    @Test
+    fun testDispatchBatch_HistoricalRulesObserveEarlierEventsOfTheBatch() {
+        // Records and queries events in order, like the serial executor of the event history database
+        val recordedHashes = java.util.Collections.synchronizedList(mutableListOf<Long>())
+        eventHub.eventHistory = object : EventHistory {
+            override fun recordEvent(event: Event, callback: AdobeCallbackWithError<Boolean>?) {
+                recordedHashes.add(convertMapToFnv1aHash(event.eventData, event.mask))
+                callback?.call(true)
+            }
+
+            override fun getEvents(
+                eventHistoryRequests: Array<out EventHistoryRequest>,
+                enforceOrder: Boolean,
+                callback: AdobeCallbackWithError<Array<EventHistoryResult>>
+            ) {
+                callback.call(
+                    eventHistoryRequests.map { request ->
+                        EventHistoryResult(recordedHashes.count { it == request.maskAsDecimalHash })
+                    }.toTypedArray()
+                )
+            }
+
+            override fun deleteEvents(eventHistoryRequests: Array<out EventHistoryRequest>, callback: AdobeCallbackWithError<Int>?) {}
+        }
+
+        // A rule counting the earlier events with the same data when the last event is preprocessed
+        val earlierEventData = mapOf("key" to "value")
+        val lastEvent = Event.Builder("LastEvent", eventType, eventSource).build()
+        val historicalCount = AtomicReference<Int>()
+        eventHub.registerEventPreprocessor(EventPreprocessor { event ->
+            if (event == lastEvent) {
+                eventHub.eventHistory?.getEvents(
+                    arrayOf(EventHistoryRequest(earlierEventData, 0, 0)),
+                    false,
+                    object : AdobeCallbackWithError<Array<EventHistoryResult>> {
+                        override fun call(results: Array<EventHistoryResult>) {
+                            historicalCount.set(results[0].count)
+                        }
+
+                        override fun fail(error: AdobeError) {}
+                    }
+                )
+            }
+            event
+        })
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == lastEvent) latch.countDown()
+        }
+        eventHub.start()
+
+        val earlierEvents = (1..2).map {
+            Event.Builder("EarlierEvent$it", eventType, eventSource, arrayOf("key")).setEventData(earlierEventData).build()
+        }
+        eventHub.dispatch(earlierEvents + lastEvent)
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        assertEquals(2, historicalCount.get())
+    }
+
+    @Test
+    fun testGetMetrics_RecordsDeliveryWhenEnabled() {
+        val latch = CountDownLatch(2)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            latch.countDown()
+        }
+        eventHub.metricsEnabled = true
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        eventHub.dispatch(event2)
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+
+        val metrics = eventHub.getMetrics().extensions[TestExtension.EXTENSION_NAME]
+        assertNotNull(metrics)
+        assertTrue(metrics.eventsProcessed >= 2)
+        assertEquals(2L, metrics.listenerExecutionHistogram.sum())
+        assertTrue(metrics.deliveryLatencyP99Micros > 0)
+    }
+
+    @Test
+    fun testGetMetrics_SkippedEventsAreNotCounted() {
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, "OtherSource") {}
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(EventHubPlaceholderExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            if (it == event2) latch.countDown()
+        }
+        eventHub.metricsEnabled = true
+        eventHub.start()
+
+        // event1 has been offered to every extension once event2 is heard
+        eventHub.dispatch(event1)
+        eventHub.dispatch(event2)
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+
+        val metrics = eventHub.getMetrics().extensions[TestExtension.EXTENSION_NAME]
+        assertNotNull(metrics)
+        assertEquals(0L, metrics.eventsProcessed)
+        assertEquals(0, metrics.queueDepth)
+    }
+
+    @Test
+    fun testGetMetrics_NothingRecordedWhenDisabled() {
+        val latch = CountDownLatch(1)
+        eventHub.getExtensionContainer(TestExtension::class.java)?.registerEventListener(eventType, eventSource) {
+            latch.countDown()
+        }
+        eventHub.start()
+
+        eventHub.dispatch(event1)
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+
+        val metrics = eventHub.getMetrics().extensions[TestExtension.EXTENSION_NAME]
+        assertNotNull(metrics)
+        assertEquals(0L, metrics.eventsProcessed)
+        assertEquals(0L, metrics.listenerExecutionHistogram.sum())
+    }
+
+    @Test
+    fun testSetMetricsCallback_DeliversSnapshotsPeriodically() {
+        val latch = CountDownLatch(2)
+        eventHub.setMetricsCallback(10) {
+            latch.countDown()
+        }
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        eventHub.setMetricsCallback(10, null)
+    }
+
     // Event listener tests
     @Test
     fun testExtensionListener() {
@@ -1873,11 +2348,71 @@ internal class EventHubTests {
 
         Thread.sleep(100)
 
-        val responseListener = eventHub.responseEventListeners.first { it.triggerEventId == testEvent.uniqueIdentifier }
+        val responseListener = eventHub.responseEventListeners.get(testEvent.uniqueIdentifier).first()
         assertNotNull(responseListener)
         assertNull(responseListener.timeoutTask)
     }
 
+    @Test
+    fun testResponseListener_MultipleListenersForSameTrigger() {
+        val latch = CountDownLatch(2)
+        val capturedEvents = mutableListOf<Pair<Event?, AdobeError?>>()
+
+        val testEvent = Event.Builder("Test event", eventType, eventSource).build()
+        val testResponseEvent = Event.Builder("Test response event", eventType, eventSource).inResponseToEvent(testEvent).build()
+
+        val responseCallback = object : AdobeCallbackWithError<Event> {
+            override fun call(value: Event?) {
+                capturedEvents.add(Pair(value, null))
+                latch.countDown()
+            }
+
+            override fun fail(error: AdobeError?) {
+                capturedEvents.add(Pair(null, error))
+                latch.countDown()
+            }
+        }
+
+        eventHub.registerResponseListener(testEvent, 100, responseCallback)
+        eventHub.registerResponseListener(testEvent, 5000, responseCallback)
+
+        // The first listener times out without affecting the second one
+        Thread.sleep(300)
+        assertEquals(1, eventHub.pendingResponseListenerCount)
+        assertEquals(1, eventHub.responseListenerTimeoutCount)
+
+        eventHub.start()
+        eventHub.dispatch(testResponseEvent)
+        assertTrue {
+            latch.await(500, TimeUnit.MILLISECONDS)
+        }
+
+        assertEquals(capturedEvents, listOf(Pair(null, AdobeError.CALLBACK_TIMEOUT), Pair(testResponseEvent, null)))
+        assertEquals(0, eventHub.pendingResponseListenerCount)
+        assertEquals(1, eventHub.responseListenerTimeoutCount)
+    }
+
+    @Test
+    fun testResponseListener_PendingCount() {
+        val testEvent = Event.Builder("Test event", eventType, eventSource).build()
+        val testEvent1 = Event.Builder("Test event1", eventType, eventSource).build()
+        val responseCallback = object : AdobeCallbackWithError<Event> {
+            override fun call(value: Event?) {}
+            override fun fail(error: AdobeError?) {}
+        }
+
+        eventHub.registerResponseListener(testEvent, Long.MAX_VALUE, responseCallback)
+        eventHub.registerResponseListener(testEvent1, Long.MAX_VALUE, responseCallback)
+        Thread.sleep(100)
+        assertEquals(2, eventHub.pendingResponseListenerCount)
+
+        eventHub.start()
+        eventHub.dispatch(Event.Builder("Test response event", eventType, eventSource).inResponseToEvent(testEvent).build())
+        Thread.sleep(100)
+        assertEquals(1, eventHub.pendingResponseListenerCount)
+        assertEquals(0, eventHub.responseListenerTimeoutCount)
+    }
+
     @Test
     fun testListener_LongRunningListenerShouldNotBlockOthers() {
         class Extension1(api: ExtensionApi) : Extension(api) {
@@ -1969,6 +2504,20 @@ internal class EventHubTests {
         )
     }
 
+    @Test
+    fun testSdkVersion_FrozenWithWrapperTypeAtStart() {
+        assertEquals(EventHubConstants.VERSION_NUMBER, eventHub.sdkVersion)
+
+        eventHub.wrapperType = WrapperType.FLUTTER
+        assertEquals(EventHubConstants.VERSION_NUMBER + "-F", eventHub.sdkVersion)
+
+        eventHub.start()
+        eventHub.wrapperType = WrapperType.REACT_NATIVE
+
+        assertEquals(EventHubConstants.VERSION_NUMBER + "-F", eventHub.sdkVersion)
+        assertEquals(WrapperType.FLUTTER, eventHub.wrapperType)
+    }
+
     // Preprocessor tests
     @Test
     fun testPreprocessor_HandlesEvents() {
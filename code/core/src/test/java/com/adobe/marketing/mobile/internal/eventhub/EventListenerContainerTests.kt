@@ -18,6 +18,7 @@ import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
 import org.junit.Test
 import java.lang.Exception
+import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertTrue
 import kotlin.test.fail
@@ -122,4 +123,86 @@ internal class EventListenerContainerTests {
             fail()
         }
     }
+
+    @Test
+    fun testListenerIndex_RoutesByTypeAndSourceIgnoringCase() {
+        val listener = ExtensionListenerContainer(eventType, eventSource) {}
+        val otherListener = ExtensionListenerContainer("customType", eventSource) {}
+        val index = ExtensionListenerIndex().add(listener).add(otherListener)
+
+        val testEvent = Event.Builder("Test event", "EventType", "EventSource").build()
+        assertEquals(listOf(listener), index.listenersFor(testEvent))
+
+        val testEvent1 = Event.Builder("Test event 1", "unknownType", eventSource).build()
+        assertTrue { index.listenersFor(testEvent1).isEmpty() }
+    }
+
+    @Test
+    fun testListenerIndex_PreservesRegistrationOrderWithWildcards() {
+        val wildcardListener1 = ExtensionListenerContainer(EventType.WILDCARD, EventSource.WILDCARD) {}
+        val listener = ExtensionListenerContainer(eventType, eventSource) {}
+        val wildcardListener2 = ExtensionListenerContainer(EventType.WILDCARD, EventSource.WILDCARD) {}
+        val index = ExtensionListenerIndex().add(wildcardListener1).add(listener).add(wildcardListener2)
+
+        val testEvent = Event.Builder("Test event", eventType, eventSource).build()
+        assertEquals(listOf(wildcardListener1, listener, wildcardListener2), index.listenersFor(testEvent))
+
+        val testEvent1 = Event.Builder("Test event 1", "customType", eventSource).build()
+        assertEquals(listOf(wildcardListener1, wildcardListener2), index.listenersFor(testEvent1))
+    }
+
+    @Test
+    fun testListenerIndex_OnlyWildcardsForResponseEvent() {
+        val listener = ExtensionListenerContainer(eventType, eventSource) {}
+        val wildcardListener = ExtensionListenerContainer(EventType.WILDCARD, EventSource.WILDCARD) {}
+        val index = ExtensionListenerIndex().add(listener).add(wildcardListener)
+
+        val testEvent = Event.Builder("Test event", eventType, eventSource).build()
+        val testResponseEvent = Event.Builder("Test response event", eventType, eventSource).inResponseToEvent(testEvent).build()
+        assertEquals(listOf(wildcardListener), index.listenersFor(testResponseEvent))
+    }
+
+    @Test
+    fun testListenerIndex_MatchesShouldNotify() {
+        val listeners = listOf(
+            ExtensionListenerContainer(eventType, eventSource) {},
+            ExtensionListenerContainer(EventType.WILDCARD, EventSource.WILDCARD) {},
+            ExtensionListenerContainer(EventType.WILDCARD, eventSource) {},
+            ExtensionListenerContainer("EVENTTYPE", "EVENTSOURCE") {}
+        )
+        val index = listeners.fold(ExtensionListenerIndex()) { index, listener -> index.add(listener) }
+
+        val testEvent = Event.Builder("Test event", eventType, eventSource).build()
+        val events = listOf(
+            testEvent,
+            Event.Builder("Test event 1", "customType", eventSource).build(),
+            Event.Builder("Test event 2", EventType.WILDCARD, eventSource).build(),
+            Event.Builder("Test response event", eventType, eventSource).inResponseToEvent(testEvent).build()
+        )
+        events.forEach { event ->
+            assertEquals(listeners.filter { it.shouldNotify(event) }, index.listenersFor(event))
+        }
+    }
+
+    @Test
+    fun testListenerIndex_FoldsCaseLikeShouldNotify() {
+        // "\u017F" (long s) and "\u212A" (Kelvin sign) are equal to "s" and "k" ignoring case, but lowercase differently
+        val listeners = listOf(
+            ExtensionListenerContainer("type\u017F", "\u212Aey") {},
+            ExtensionListenerContainer("a|b", "c") {},
+            ExtensionListenerContainer("a", "b|c") {}
+        )
+        val index = listeners.fold(ExtensionListenerIndex()) { index, listener -> index.add(listener) }
+
+        val events = listOf(
+            Event.Builder("Test event", "TYPES", "key").build(),
+            Event.Builder("Test event 1", "a|b", "c").build(),
+            Event.Builder("Test event 2", "a", "b|c").build()
+        )
+        events.forEach { event ->
+            assertEquals(listeners.filter { it.shouldNotify(event) }, index.listenersFor(event))
+            // The route key cached on the event gives the same result
+            assertEquals(listeners.filter { it.shouldNotify(event) }, index.listenersFor(event))
+        }
+    }
 }
@@ -195,6 +195,60 @@ internal class ExtensionContainerTests {
         assertEquals(mutableListOf(event1, event2), capturedEvents)
     }
 
+    @Test
+    fun testOffer_UnheardEventIsMarkedProcessedWithoutQueueing() {
+        val capturedEvents = mutableListOf<Event>()
+        container?.registerEventListener("eventtype", "eventsource") {
+            capturedEvents.add(it)
+        }
+
+        val event1: Event = Event.Builder("Event1", "eventtype", "eventsource").build()
+        val event2: Event = Event.Builder("Event2", "othertype", "eventsource").build()
+        container?.offer(event1)
+        Thread.sleep(100)
+        assertTrue { container?.offer(event2) == true }
+
+        assertEquals(event2, container?.lastProcessedEvent)
+        assertEquals(mutableListOf(event1), capturedEvents)
+    }
+
+    @Test
+    fun testOffer_UnheardEventIsQueuedWhileStopped() {
+        val capturedEvents = mutableListOf<Event>()
+        container?.registerEventListener("eventtype", "eventsource") {
+            capturedEvents.add(it)
+        }
+
+        container?.stopEvents()
+        val event1: Event = Event.Builder("Event1", "othertype", "eventsource").build()
+        container?.offer(event1)
+        Thread.sleep(100)
+        assertEquals(null, container?.lastProcessedEvent)
+
+        container?.startEvents()
+        Thread.sleep(100)
+        assertEquals(event1, container?.lastProcessedEvent)
+        assertEquals(mutableListOf(), capturedEvents)
+    }
+
+    @Test
+    fun testOfferAll_SkipsLeadingUnheardEventsAndQueuesTheRest() {
+        val capturedEvents = mutableListOf<Event>()
+        container?.registerEventListener("eventtype", "eventsource") {
+            capturedEvents.add(it)
+        }
+        Thread.sleep(100)
+
+        val event1: Event = Event.Builder("Event1", "othertype", "eventsource").build()
+        val event2: Event = Event.Builder("Event2", "eventtype", "eventsource").build()
+        val event3: Event = Event.Builder("Event3", "othertype", "eventsource").build()
+        assertTrue { container?.offerAll(listOf(event1, event2, event3)) == true }
+        Thread.sleep(100)
+
+        assertEquals(event3, container?.lastProcessedEvent)
+        assertEquals(mutableListOf(event2), capturedEvents)
+    }
+
     @Test
     fun testGetHistoricalEvents_whenEventHistoryAvailable() {
         val requests = arrayOf(EventHistoryRequest(mapOf("key" to "value"), 0, System.currentTimeMillis()))
@@ -15,6 +15,8 @@ import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
 import org.junit.Before
 import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.concurrent.thread
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertTrue
@@ -233,4 +235,110 @@ internal class SharedStateManagerTests {
         sharedStateManager.clear()
         assertResult(sharedStateManager.resolve(1), SharedStateResult(SharedStateStatus.NONE, null))
     }
+
+    @Test
+    fun testIsSetAt() {
+        assertFalse { sharedStateManager.isSetAt(5) }
+
+        assertTrue { sharedStateManager.setPendingState(3) }
+        assertFalse { sharedStateManager.isSetAt(5) }
+
+        // A state resolved below the version satisfies it
+        assertTrue { sharedStateManager.updatePendingState(3, STATE_THREE) }
+        assertTrue { sharedStateManager.isSetAt(5) }
+
+        assertTrue { sharedStateManager.setPendingState(4) }
+        assertFalse { sharedStateManager.isSetAt(5) }
+        assertTrue { sharedStateManager.isSetAt(3) }
+    }
+
+    @Test
+    fun testCompact_RetainsStatesResolvableAtFloor() {
+        assertTrue { sharedStateManager.setState(0, STATE_ZERO) }
+        assertTrue { sharedStateManager.setState(1, STATE_ONE) }
+        assertTrue { sharedStateManager.setState(2, STATE_TWO) }
+        assertTrue { sharedStateManager.setPendingState(3) }
+        assertTrue { sharedStateManager.setState(5, STATE_FIVE) }
+
+        assertEquals(2, sharedStateManager.compact(4))
+        assertEquals(3, sharedStateManager.retainedVersionCount)
+
+        assertResult(sharedStateManager.resolve(4), SharedStateResult(SharedStateStatus.PENDING, STATE_TWO))
+        assertResult(sharedStateManager.resolveLastSet(4), SharedStateResult(SharedStateStatus.SET, STATE_TWO))
+        assertResult(sharedStateManager.resolve(5), SharedStateResult(SharedStateStatus.SET, STATE_FIVE))
+        assertResult(sharedStateManager.resolveLastSet(5), SharedStateResult(SharedStateStatus.SET, STATE_FIVE))
+    }
+
+    @Test
+    fun testCompact_KeepsPendingStates() {
+        assertTrue { sharedStateManager.setPendingState(0) }
+        assertTrue { sharedStateManager.setState(1, STATE_ONE) }
+        assertTrue { sharedStateManager.setState(2, STATE_TWO) }
+
+        assertEquals(1, sharedStateManager.compact(3))
+        assertEquals(2, sharedStateManager.retainedVersionCount)
+
+        assertTrue { sharedStateManager.updatePendingState(0, STATE_ZERO) }
+        assertResult(sharedStateManager.resolveLastSet(3), SharedStateResult(SharedStateStatus.SET, STATE_TWO))
+    }
+
+    @Test
+    fun testCompact_NoSetState() {
+        assertTrue { sharedStateManager.setPendingState(1) }
+        assertTrue { sharedStateManager.setPendingState(2) }
+
+        assertEquals(0, sharedStateManager.compact(5))
+        assertEquals(2, sharedStateManager.retainedVersionCount)
+    }
+
+    @Test
+    fun testCompact_NothingBelowFloor() {
+        assertTrue { sharedStateManager.setState(3, STATE_THREE) }
+        assertTrue { sharedStateManager.setState(4, STATE_FOUR) }
+
+        assertEquals(0, sharedStateManager.compact(1))
+        assertResult(sharedStateManager.resolve(3), SharedStateResult(SharedStateStatus.SET, STATE_THREE))
+    }
+
+    @Test
+    fun testCompact_InterleavedWithWrites() {
+        for (version in 0 until 200) {
+            assertTrue { sharedStateManager.setState(version, mapOf("version" to version)) }
+            if (version % 10 == 9) {
+                sharedStateManager.compact(version - 4)
+            }
+        }
+
+        assertEquals(5, sharedStateManager.retainedVersionCount)
+        for (version in 195 until 200) {
+            assertResult(SharedStateResult(SharedStateStatus.SET, mapOf("version" to version)), sharedStateManager.resolve(version))
+        }
+        assertResult(SharedStateResult(SharedStateStatus.SET, mapOf("version" to 195)), sharedStateManager.resolve(0))
+    }
+
+    @Test
+    fun testResolve_ConcurrentWithWrites() {
+        val versions = 2000
+        val readerFailures = AtomicInteger(0)
+        val readers = (1..4).map {
+            thread {
+                var lastSeen = -1
+                while (lastSeen < versions) {
+                    val value = sharedStateManager.resolve(SharedStateManager.VERSION_LATEST).value?.get("version") as? Int ?: continue
+                    if (value < lastSeen) {
+                        readerFailures.incrementAndGet()
+                    }
+                    lastSeen = value
+                }
+            }
+        }
+
+        for (version in 0..versions) {
+            assertTrue { sharedStateManager.setState(version, mapOf("version" to version)) }
+        }
+        readers.forEach { it.join(5000) }
+
+        assertEquals(0, readerFailures.get())
+        assertEquals(versions + 1, sharedStateManager.retainedVersionCount)
+    }
 }
@@ -14,6 +14,7 @@ package com.adobe.marketing.mobile.internal.util
 import org.junit.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
+import kotlin.test.assertNull
 import kotlin.test.assertTrue
 
 class MapExtensionsTests {
@@ -421,6 +422,58 @@ class MapExtensionsTests {
         assertTrue(flattenedMap.isEmpty())
     }
 
+    @Test
+    fun testGetFlattenedValueMatchesFlattening() {
+        val map = mapOf(
+            "a" to mapOf(
+                "b1" to mapOf("c1" to "a_b1_c1_value"),
+                "b2" to mapOf(1 to "a_b2_value"),
+                "b3" to listOf("zero", mapOf("c" to "a_b3_1_c_value"), listOf(1, 2)),
+                "b4" to arrayOf("array0", null),
+                "b5" to emptyMap<String, Any>(),
+                "b6" to emptyList<Any>()
+            ),
+            "d" to "d_value",
+            "e" to null,
+            "" to mapOf(
+                "f" to "f_value",
+                "" to listOf("empty_0_value"),
+                "g" to mapOf("" to "g_empty_value")
+            )
+        )
+        val flattenedMap = map.flattening()
+        // No dot follows an empty prefix
+        assertEquals("f_value", flattenedMap["f"])
+        assertEquals("empty_0_value", flattenedMap["0"])
+        assertEquals("g_empty_value", flattenedMap["g."])
+        flattenedMap.forEach { (key, value) ->
+            assertEquals(value, map.getFlattenedValue(key), "Unexpected value for $key")
+        }
+        listOf("", ".f", "..0", "a", "a.b1", "a.b1.c1.x", "a.b3.3", "a.b6", "a.b6.0", "d.", "g", "x").forEach { key ->
+            assertFalse(flattenedMap.containsKey(key))
+            assertNull(map.getFlattenedValue(key), "Unexpected value for $key")
+        }
+    }
+
+    @Test
+    fun testGetFlattenedValueWithDotInKey() {
+        val map = mapOf(
+            "a.b" to 1,
+            "a" to mapOf(
+                "b" to 2
+            )
+        )
+        assertEquals(map.flattening()["a.b"], map.getFlattenedValue("a.b"))
+        assertEquals(2, map.getFlattenedValue("a.b"))
+
+        val reversedMap = linkedMapOf<String, Any?>(
+            "a" to mapOf("b" to 2),
+            "a.b" to 1
+        )
+        assertEquals(reversedMap.flattening()["a.b"], reversedMap.getFlattenedValue("a.b"))
+        assertEquals(1, reversedMap.getFlattenedValue("a.b"))
+    }
+
     @Test
     fun testSerializeToQueryString() {
         val dict = HashMap<String, Any?>()
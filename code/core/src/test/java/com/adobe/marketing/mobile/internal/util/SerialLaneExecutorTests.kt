@@ -0,0 +1,170 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.internal.util
+
+import org.junit.After
+import org.junit.Test
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+internal class SerialLaneExecutorTests {
+
+    private val pool = Executors.newFixedThreadPool(4)
+
+    @After
+    fun tearDown() {
+        pool.shutdownNow()
+        SharedThreadPool.enabled = false
+    }
+
+    @Test
+    fun testExecute_RunsTasksInSubmissionOrder() {
+        val lane = SerialLaneExecutor(pool)
+        val taskCount = 1000
+        val order = Collections.synchronizedList(mutableListOf<Int>())
+        val latch = CountDownLatch(taskCount)
+
+        for (i in 0 until taskCount) {
+            lane.execute {
+                order.add(i)
+                latch.countDown()
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS))
+        assertEquals((0 until taskCount).toList(), order)
+    }
+
+    @Test
+    fun testExecute_NeverRunsTasksOfALaneConcurrently() {
+        val lane = SerialLaneExecutor(pool)
+        val taskCount = 200
+        val running = AtomicInteger(0)
+        val maxRunning = AtomicInteger(0)
+        val latch = CountDownLatch(taskCount)
+
+        for (i in 0 until taskCount) {
+            lane.execute {
+                val current = running.incrementAndGet()
+                if (current > maxRunning.get()) {
+                    maxRunning.set(current)
+                }
+                Thread.sleep(1)
+                running.decrementAndGet()
+                latch.countDown()
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS))
+        assertEquals(1, maxRunning.get())
+    }
+
+    @Test
+    fun testExecute_LanesRunConcurrently() {
+        val lane1 = SerialLaneExecutor(pool)
+        val lane2 = SerialLaneExecutor(pool)
+        val blockLatch = CountDownLatch(1)
+        val lane2Latch = CountDownLatch(1)
+
+        lane1.execute { blockLatch.await(5, TimeUnit.SECONDS) }
+        lane2.execute { lane2Latch.countDown() }
+
+        // A blocked lane does not hold back the other lanes sharing the pool.
+        assertTrue(lane2Latch.await(1, TimeUnit.SECONDS))
+        blockLatch.countDown()
+    }
+
+    @Test
+    fun testExecute_ContinuesAfterTaskThrows() {
+        val lane = SerialLaneExecutor(pool)
+        val latch = CountDownLatch(1)
+
+        lane.execute { throw IllegalStateException("Task failure") }
+        lane.execute { latch.countDown() }
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testShutdown_RunsPendingTasksAndTerminates() {
+        val lane = SerialLaneExecutor(pool)
+        val blockLatch = CountDownLatch(1)
+        val executed = AtomicInteger(0)
+
+        lane.execute {
+            blockLatch.await(5, TimeUnit.SECONDS)
+            executed.incrementAndGet()
+        }
+        lane.execute { executed.incrementAndGet() }
+        lane.shutdown()
+
+        assertTrue(lane.isShutdown)
+        assertFalse(lane.isTerminated)
+        assertFailsWith<RejectedExecutionException> { lane.execute { } }
+
+        blockLatch.countDown()
+        assertTrue(lane.awaitTermination(1, TimeUnit.SECONDS))
+        assertTrue(lane.isTerminated)
+        assertEquals(2, executed.get())
+    }
+
+    @Test
+    fun testShutdownNow_ReturnsPendingTasks() {
+        val lane = SerialLaneExecutor(pool)
+        val blockLatch = CountDownLatch(1)
+        val startedLatch = CountDownLatch(1)
+
+        lane.execute {
+            startedLatch.countDown()
+            blockLatch.await(5, TimeUnit.SECONDS)
+        }
+        assertTrue(startedLatch.await(1, TimeUnit.SECONDS))
+        lane.execute { }
+        lane.execute { }
+
+        assertEquals(2, lane.shutdownNow().size)
+        assertFalse(lane.awaitTermination(10, TimeUnit.MILLISECONDS))
+
+        blockLatch.countDown()
+        assertTrue(lane.awaitTermination(1, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun testShutdown_IdleLaneTerminatesImmediately() {
+        val lane = SerialLaneExecutor(pool)
+        lane.shutdown()
+
+        assertTrue(lane.isTerminated)
+        assertTrue(lane.awaitTermination(0, TimeUnit.MILLISECONDS))
+    }
+
+    @Test
+    fun testNewSerialExecutor_HonorsEnabledFlag() {
+        SharedThreadPool.enabled = false
+        val dedicated = SharedThreadPool.newSerialExecutor()
+        assertFalse(dedicated is SerialLaneExecutor)
+        dedicated.shutdown()
+
+        SharedThreadPool.enabled = true
+        val shared = SharedThreadPool.newSerialExecutor()
+        assertTrue(shared is SerialLaneExecutor)
+        shared.shutdown()
+    }
+}
@@ -0,0 +1,79 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.rulesengine.TokenFinder
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class ConsequenceDetailTemplateTests {
+
+    private val tokenFinder = TokenFinder { key ->
+        mapOf("~type" to "com.adobe.eventType.generic.track", "key" to "value")[key]
+    }
+
+    @Test
+    fun render_ReplacesTokensInNestedMapsAndLists() {
+        val detail = mapOf(
+            "type" to "{%~type%}",
+            "data" to mapOf(
+                "nested" to "prefix {%key%} suffix",
+                "list" to listOf("{%urlenc(key)%}", 1, mapOf("inner" to "{%key%}"))
+            ),
+            "number" to 2
+        )
+
+        val rendered = ConsequenceDetailTemplate(detail).render(tokenFinder, LaunchRuleTransformer.transforming)
+
+        val expected = mapOf(
+            "type" to "com.adobe.eventType.generic.track",
+            "data" to mapOf(
+                "nested" to "prefix value suffix",
+                "list" to listOf("value", 1, mapOf("inner" to "value"))
+            ),
+            "number" to 2
+        )
+        assertEquals(expected, rendered)
+    }
+
+    @Test
+    fun render_KeepsStringsWithoutDelimiters() {
+        val text = "no tokens {{key}} here"
+        val detail = mapOf("text" to text)
+
+        val rendered = ConsequenceDetailTemplate(detail).render(tokenFinder, LaunchRuleTransformer.transforming)
+
+        assertSame(text, rendered["text"])
+    }
+
+    @Test
+    fun render_MatchesTemplateForMalformedValues() {
+        val detail = mapOf(
+            "unclosed" to "text {%key",
+            "nonStringKeys" to mapOf(1 to "value")
+        )
+
+        val rendered = ConsequenceDetailTemplate(detail).render(tokenFinder, LaunchRuleTransformer.transforming)
+
+        assertEquals("", rendered["unclosed"])
+        assertNull(rendered["nonStringKeys"])
+    }
+
+    @Test
+    fun getDetailTemplate_ParsesDetailOnce() {
+        val consequence = RuleConsequence("id", "add", mapOf("key" to "{%key%}"))
+
+        assertSame(consequence.getDetailTemplate(), consequence.getDetailTemplate())
+    }
+}
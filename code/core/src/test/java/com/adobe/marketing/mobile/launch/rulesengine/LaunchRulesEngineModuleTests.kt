@@ -14,6 +14,7 @@ package com.adobe.marketing.mobile.launch.rulesengine
 import com.adobe.marketing.mobile.AdobeCallbackWithError
 import com.adobe.marketing.mobile.AdobeError
 import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventHistoryRequest
 import com.adobe.marketing.mobile.EventHistoryResult
 import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
@@ -35,9 +36,15 @@ import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.KArgumentCaptor
 import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
 
 @RunWith(MockitoJUnitRunner.Silent::class)
 class LaunchRulesEngineModuleTests {
@@ -333,6 +340,41 @@ class LaunchRulesEngineModuleTests {
         assertEquals(1, launchRulesEngine.evaluateEvent(defaultEvent).size)
     }
 
+    @Test
+    fun `Test historical conditions of all rules are fetched in one batch`() {
+        val eventAHash = EventHistoryRequest(mapOf("key" to "eventA"), 0, 0).maskAsDecimalHash
+        Mockito.`when`(extensionApi.getHistoricalEvents(any(), Mockito.anyBoolean(), any<AdobeCallbackWithError<Array<EventHistoryResult>>>()))
+            .doAnswer {
+                val requests = it.getArgument<Array<EventHistoryRequest>>(0)
+                val callback = it.getArgument<AdobeCallbackWithError<Array<EventHistoryResult>>>(2)
+                callback.call(
+                    requests.map { request ->
+                        if (request.maskAsDecimalHash == eventAHash) {
+                            EventHistoryResult(1, oldestOccurrence = 1000L, newestOccurrence = 1000L)
+                        } else {
+                            EventHistoryResult(1, oldestOccurrence = 2000L, newestOccurrence = 2000L)
+                        }
+                    }.toTypedArray()
+                )
+            }
+
+        val json = readTestResources("rules_module_tests/rules_testHistoryBatch.json")
+        assertNotNull(json)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        assertNotNull(rules)
+        launchRulesEngine.replaceRules(rules)
+
+        assertEquals(2, launchRulesEngine.evaluateEvent(defaultEvent).size)
+        val requestsCaptor = argumentCaptor<Array<EventHistoryRequest>>()
+        verify(extensionApi, Mockito.times(1)).getHistoricalEvents(
+            requestsCaptor.capture(),
+            Mockito.eq(false),
+            any<AdobeCallbackWithError<Array<EventHistoryResult>>>()
+        )
+        // eventA and eventB are each looked up once for the three historical conditions
+        assertEquals(2, requestsCaptor.firstValue.size)
+    }
+
     @Test
     fun `Test matcher condition (co) - negative `() {
         val json = readTestResources("rules_module_tests/rules_testMatcherCo.json")
@@ -820,6 +862,135 @@ class LaunchRulesEngineModuleTests {
         assertEquals(4, launchRulesEngine.rules.size)
     }
 
+    @Test
+    fun `Test profiling report records rule evaluations`() {
+        val captor = argumentCaptor<AdobeCallbackWithError<Array<EventHistoryResult>>>()
+        Mockito.`when`(extensionApi.getHistoricalEvents(any(), Mockito.anyBoolean(), captor.capture()))
+            .doAnswer {
+                captor.firstValue.call(arrayOf(EventHistoryResult(1)))
+            }
+        val json = readTestResources("rules_module_tests/rules_testHistoryAny.json")
+        assertNotNull(json)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        assertNotNull(rules)
+        launchRulesEngine.replaceRules(rules)
+        assertNull(launchRulesEngine.profilingReport)
+
+        launchRulesEngine.setProfilingEnabled(true)
+        assertEquals(1, launchRulesEngine.evaluateEvent(defaultEvent).size)
+        assertEquals(1, launchRulesEngine.evaluateEvent(defaultEvent).size)
+
+        val report = launchRulesEngine.profilingReport
+        assertNotNull(report)
+        assertEquals(2L, report[LaunchRulesProfiler.KEY_HISTORICAL_PREFETCH_COUNT])
+        val ruleReports = DataReader.optTypedListOfMap(Any::class.java, report, LaunchRulesProfiler.KEY_RULES, null)
+        assertEquals(1, ruleReports.size)
+        assertEquals(rules[0].ruleId, ruleReports[0][LaunchRulesProfiler.KEY_RULE_ID])
+        assertEquals(2L, ruleReports[0][LaunchRulesProfiler.KEY_EVALUATION_COUNT])
+        assertEquals(2L, ruleReports[0][LaunchRulesProfiler.KEY_MATCH_COUNT])
+
+        launchRulesEngine.setProfilingEnabled(false)
+        assertNull(launchRulesEngine.profilingReport)
+    }
+
+    @Test
+    fun `Test dispatch profiling report`() {
+        val json = readTestResources("rules_happy/rules.json")
+        assertNotNull(json)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        assertNotNull(rules)
+        launchRulesEngine.replaceRules(rules)
+        launchRulesEngine.dispatchProfilingReport()
+        verify(extensionApi, times(1)).dispatch(any())
+
+        launchRulesEngine.setProfilingEnabled(true)
+        launchRulesEngine.evaluateEvent(defaultEvent)
+        launchRulesEngine.dispatchProfilingReport()
+
+        val eventCaptor: KArgumentCaptor<Event> = argumentCaptor()
+        verify(extensionApi, times(2)).dispatch(eventCaptor.capture())
+        val reportEvent = eventCaptor.lastValue
+        assertEquals(EventType.RULES_ENGINE, reportEvent.type)
+        assertEquals(EventSource.DEBUG, reportEvent.source)
+        assertEquals("TestLaunchRulesEngine", reportEvent.eventData[LaunchRulesEngine.RULES_ENGINE_NAME])
+        assertEquals(
+            launchRulesEngine.profilingReport,
+            reportEvent.eventData[LaunchRulesEngine.RULES_ENGINE_PROFILING_REPORT]
+        )
+    }
+
+    @Test
+    fun `Test update rules keeps unchanged rules`() {
+        val json = readTestResources("rules_happy/rules.json")
+        assertNotNull(json)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        val sameRules = JSONRulesParser.parse(json, extensionApi)
+        assertNotNull(rules)
+        assertNotNull(sameRules)
+
+        val firstUpdate = launchRulesEngine.updateRules(rules)
+        assertNotNull(firstUpdate)
+        assertEquals(rules, firstUpdate.addedRules)
+        assertTrue(firstUpdate.hasChanges)
+        // Rules are fingerprinted when parsed, and the same JSON has the same fingerprints
+        assertEquals(rules.map { it.fingerprint }, sameRules.map { it.fingerprint })
+        rules.forEach { assertNotNull(it.fingerprint) }
+
+        val secondUpdate = launchRulesEngine.updateRules(sameRules)
+        assertNotNull(secondUpdate)
+        assertFalse(secondUpdate.hasChanges)
+        // The rules parsed first are kept, and the reset event is only dispatched once
+        assertEquals(2, launchRulesEngine.rules.size)
+        launchRulesEngine.rules.zip(rules).forEach { (actual, expected) -> assertSame(expected, actual) }
+        verify(extensionApi, times(1)).dispatch(any())
+    }
+
+    @Test
+    fun `Test update rules reports added and removed rules`() {
+        val json = readTestResources("rules_happy/rules.json")
+        val otherJson = readTestResources("rules_module_tests/consequence_rules_1.json")
+        assertNotNull(json)
+        assertNotNull(otherJson)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        val sameRules = JSONRulesParser.parse(json, extensionApi)
+        val otherRules = JSONRulesParser.parse(otherJson, extensionApi)
+        assertNotNull(rules)
+        assertNotNull(sameRules)
+        assertNotNull(otherRules)
+        launchRulesEngine.updateRules(rules)
+
+        val update = launchRulesEngine.updateRules(listOf(otherRules[0], sameRules[0]))
+
+        assertNotNull(update)
+        assertTrue(update.hasChanges)
+        assertEquals(listOf(otherRules[0]), update.addedRules)
+        assertEquals(listOf(rules[1]), update.removedRules)
+        assertEquals(2, launchRulesEngine.rules.size)
+        assertSame(otherRules[0], launchRulesEngine.rules[0])
+        assertSame(rules[0], launchRulesEngine.rules[1])
+        verify(extensionApi, times(2)).dispatch(any())
+    }
+
+    @Test
+    fun `Test update rules replaces a rule whose content changed`() {
+        val json = readTestResources("rules_happy/rules.json")
+        assertNotNull(json)
+        val rules = JSONRulesParser.parse(json, extensionApi)
+        assertNotNull(rules)
+        val changedJson = json.replaceFirst("\"value0\"", "\"value2\"")
+        assertNotEquals(json, changedJson)
+        val changedRules = JSONRulesParser.parse(changedJson, extensionApi)
+        assertNotNull(changedRules)
+        launchRulesEngine.updateRules(rules)
+
+        val update = launchRulesEngine.updateRules(changedRules)
+
+        assertNotNull(update)
+        assertEquals(1, update.addedRules.size)
+        assertEquals(1, update.removedRules.size)
+        assertEquals(update.addedRules[0].consequenceList, update.removedRules[0].consequenceList)
+    }
+
     @Test
     fun `Cache incoming events if rules are not set`() {
         repeat(100) {
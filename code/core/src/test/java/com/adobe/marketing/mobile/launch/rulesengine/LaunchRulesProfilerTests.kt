@@ -0,0 +1,104 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine
+
+import com.adobe.marketing.mobile.rulesengine.Evaluable
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.mockito.kotlin.mock
+import java.util.concurrent.TimeUnit
+
+class LaunchRulesProfilerTests {
+
+    private val mockEvaluable: Evaluable = mock()
+    private val profiler = LaunchRulesProfiler()
+
+    private fun rule(vararg consequenceIds: String): LaunchRule {
+        return LaunchRule(mockEvaluable, consequenceIds.map { RuleConsequence(it, "add", emptyMap()) })
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun ruleReports(): List<Map<String, Any>> {
+        return profiler.report()[LaunchRulesProfiler.KEY_RULES] as List<Map<String, Any>>
+    }
+
+    @Test
+    fun `test report records evaluations per rule id`() {
+        val fastRule = rule("a", "b")
+        val slowRule = rule("c")
+        profiler.onRuleEvaluated(fastRule, true, micros(10), micros(4))
+        profiler.onRuleEvaluated(rule("a", "b"), false, micros(20), micros(6))
+        profiler.onRuleEvaluated(slowRule, true, micros(500), 0)
+
+        val reports = ruleReports()
+
+        assertEquals(2, reports.size)
+        assertEquals("c", reports[0][LaunchRulesProfiler.KEY_RULE_ID])
+        val fastReport = reports[1]
+        assertEquals("a,b", fastReport[LaunchRulesProfiler.KEY_RULE_ID])
+        assertEquals(2L, fastReport[LaunchRulesProfiler.KEY_EVALUATION_COUNT])
+        assertEquals(1L, fastReport[LaunchRulesProfiler.KEY_MATCH_COUNT])
+        assertEquals(30L, fastReport[LaunchRulesProfiler.KEY_TOTAL_EVALUATION_TIME])
+        assertEquals(20L, fastReport[LaunchRulesProfiler.KEY_P99_EVALUATION_TIME])
+        assertEquals(10L, fastReport[LaunchRulesProfiler.KEY_TOKEN_RESOLUTION_TIME])
+        assertEquals(0L, fastReport[LaunchRulesProfiler.KEY_HISTORICAL_QUERY_TIME])
+    }
+
+    @Test
+    fun `test p99 is computed over the most recent evaluations`() {
+        val rule = rule("a")
+        profiler.onRuleEvaluated(rule, true, micros(100_000), 0)
+        for (i in 1..LaunchRulesProfiler.MAX_SAMPLES) {
+            profiler.onRuleEvaluated(rule, true, micros(i.toLong()), 0)
+        }
+
+        val report = ruleReports()[0]
+
+        assertEquals(LaunchRulesProfiler.MAX_SAMPLES + 1L, report[LaunchRulesProfiler.KEY_EVALUATION_COUNT])
+        assertEquals(990L, report[LaunchRulesProfiler.KEY_P99_EVALUATION_TIME])
+    }
+
+    @Test
+    fun `test historical queries are attributed to the rule evaluated after them`() {
+        val historicalRule = rule("a")
+        val otherRule = rule("b")
+
+        profiler.profile {
+            LaunchRulesProfiler.measureHistoricalQuery { Thread.sleep(5) }
+            profiler.onRuleEvaluated(historicalRule, true, micros(6000), 0)
+            profiler.onRuleEvaluated(otherRule, true, micros(10), 0)
+        }
+        // Queries outside of a profiled evaluation are not recorded
+        LaunchRulesProfiler.measureHistoricalQuery { Thread.sleep(5) }
+        profiler.onRuleEvaluated(otherRule, true, micros(10), 0)
+
+        val reports = ruleReports().associateBy { it[LaunchRulesProfiler.KEY_RULE_ID] }
+        val historicalTime = reports["a"]!![LaunchRulesProfiler.KEY_HISTORICAL_QUERY_TIME] as Long
+        assertTrue(historicalTime >= 5000L)
+        assertEquals(0L, reports["b"]!![LaunchRulesProfiler.KEY_HISTORICAL_QUERY_TIME])
+    }
+
+    @Test
+    fun `test report records historical events prefetches`() {
+        profiler.onHistoricalEventsPrefetched(micros(30))
+        profiler.onHistoricalEventsPrefetched(micros(12))
+
+        val report = profiler.report()
+
+        assertEquals(emptyList<Any>(), report[LaunchRulesProfiler.KEY_RULES])
+        assertEquals(2L, report[LaunchRulesProfiler.KEY_HISTORICAL_PREFETCH_COUNT])
+        assertEquals(42L, report[LaunchRulesProfiler.KEY_HISTORICAL_PREFETCH_TIME])
+    }
+
+    private fun micros(value: Long): Long = TimeUnit.MICROSECONDS.toNanos(value)
+}
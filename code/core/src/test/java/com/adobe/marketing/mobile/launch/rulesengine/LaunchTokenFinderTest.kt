@@ -337,6 +337,41 @@ class LaunchTokenFinderTest {
         assertEquals("vid2", result1)
     }
 
+    @Test
+    fun `get should fetch the shared state of a module once per token finder`() {
+        // setup
+        val testEvent = getDefaultEvent(null)
+        val lcData = mapOf("analytics" to mapOf("akey" to "avalue", "bkey" to "bvalue"))
+        Mockito.`when`(
+            extensionApi.getSharedState(
+                Mockito.eq("com.adobe.marketing.mobile.Analytics"),
+                Mockito.any(),
+                Mockito.anyBoolean(),
+                Mockito.any()
+            )
+        ).thenReturn(
+            SharedStateResult(
+                SharedStateStatus.SET,
+                lcData
+            )
+        )
+        val launchTokenFinder = LaunchTokenFinder(testEvent, extensionApi)
+        // test
+        val result0 = launchTokenFinder.get("~state.com.adobe.marketing.mobile.Analytics/analytics.akey")
+        val result1 = launchTokenFinder.get("~state.com.adobe.marketing.mobile.Analytics/analytics.bkey")
+        val result2 = launchTokenFinder.get("~state.com.adobe.marketing.mobile.Analytics/analytics.ckey")
+        // verify
+        assertEquals("avalue", result0)
+        assertEquals("bvalue", result1)
+        assertNull(result2)
+        Mockito.verify(extensionApi, Mockito.times(1)).getSharedState(
+            Mockito.eq("com.adobe.marketing.mobile.Analytics"),
+            Mockito.any(),
+            Mockito.anyBoolean(),
+            Mockito.any()
+        )
+    }
+
     @Test
     fun `get should return null when key does not have shared state name`() {
         // setup
@@ -212,6 +212,10 @@ public class RulesLoaderTest {
         assertEquals(
                 String.valueOf(SAMPLE_LAST_MODIFIED_MS),
                 capturedCacheEntry.getMetadata().get(RulesLoader.HTTP_HEADER_LAST_MODIFIED));
+        assertEquals(
+                capturedResult.getData(), StreamUtils.readAsString(capturedCacheEntry.getData()));
+        // The downloaded zip is not staged in a temporary directory
+        assertFalse(new File(mockCacheDir, RulesZipProcessingHelper.TEMP_DOWNLOAD_DIR).exists());
         verify(mockResponse).close();
     }
 
@@ -323,9 +327,9 @@ public class RulesLoaderTest {
     }
 
     @Test
-    public void testLoadFromURL_ZipFileCannotBeCopied() throws IOException {
+    public void testLoadFromURL_ZipStreamCannotBeRead() throws IOException {
         final InputStream mockInputStream = mock(InputStream.class);
-        when(mockInputStream.read(any())).thenThrow(new SecurityException());
+        when(mockInputStream.read(any(), anyInt(), anyInt())).thenThrow(new SecurityException());
 
         final AdobeCallback<RulesLoadResult> mockCallback = mock(AdobeCallback.class);
         when(mockCacheService.get(RULES_TEST_CACHE_NAME, VALID_URL)).thenReturn(null);
@@ -361,7 +365,7 @@ public class RulesLoaderTest {
 
         final RulesLoadResult capturedResult = resultCaptor.getValue();
         assertNotNull(capturedResult);
-        assertEquals(RulesLoadResult.Reason.CANNOT_STORE_IN_TEMP_DIR, capturedResult.getReason());
+        assertEquals(RulesLoadResult.Reason.ZIP_EXTRACTION_FAILED, capturedResult.getReason());
         assertNull(capturedResult.getData());
     }
 
@@ -13,9 +13,11 @@ package com.adobe.marketing.mobile.launch.rulesengine.download;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -24,11 +26,16 @@ import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.test.util.FileTestHelper;
 import com.adobe.marketing.mobile.util.StreamUtils;
 import com.adobe.marketing.mobile.util.StringEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -196,6 +203,77 @@ public class RulesZipProcessingHelperTest {
                 rulesZipProcessingHelper.unzipRules(TEST_CACHE_KEY));
     }
 
+    @Test
+    public void testReadRulesFromZip_ValidZip() throws FileNotFoundException {
+        final String assetName = "rules_zip_happy/ADBMobileConfig-rules.zip";
+        mockRulesZip = getResourceFile(assetName);
+
+        final byte[] rules =
+                rulesZipProcessingHelper.readRulesFromZip(new FileInputStream(mockRulesZip));
+
+        assertNotNull(rules);
+        assertEquals(
+                StreamUtils.readAsString(
+                        new FileInputStream(
+                                getResourceFile("rules_zip_happy/expected_rules.json"))),
+                new String(rules, StandardCharsets.UTF_8));
+        // Nothing is staged on disk
+        assertFalse(mockCacheDir.exists());
+    }
+
+    @Test
+    public void testReadRulesFromZip_UnExtractableZip() throws FileNotFoundException {
+        final String assetName = "rules_zip_invalid/ADBMobileConfig-rules.zip";
+        mockRulesZip = getResourceFile(assetName);
+
+        assertNull(rulesZipProcessingHelper.readRulesFromZip(new FileInputStream(mockRulesZip)));
+    }
+
+    @Test
+    public void testReadRulesFromZip_NoRulesJsonInZip() throws FileNotFoundException {
+        final String assetName = "rules_zip_invalid_content/ADBMobileConfig-rules.zip";
+        mockRulesZip = getResourceFile(assetName);
+
+        assertNull(rulesZipProcessingHelper.readRulesFromZip(new FileInputStream(mockRulesZip)));
+    }
+
+    @Test
+    public void testReadRulesFromZip_NotAZip() {
+        assertNull(
+                rulesZipProcessingHelper.readRulesFromZip(
+                        new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testReadRulesFromZip_RulesJsonInNormalizedPath() throws IOException {
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            zipOutputStream.putNextEntry(new ZipEntry("rules/"));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("rules/../rules.json"));
+            zipOutputStream.write("{\"version\":1}".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("rules/other.json"));
+            zipOutputStream.write("{}".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+
+        final byte[] rules =
+                rulesZipProcessingHelper.readRulesFromZip(
+                        new ByteArrayInputStream(zip.toByteArray()));
+
+        assertNotNull(rules);
+        assertEquals("{\"version\":1}", new String(rules, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadRulesFromZip_StreamCannotBeRead() throws IOException {
+        final InputStream mockInputStream = mock(InputStream.class);
+        when(mockInputStream.read(any(), anyInt(), anyInt())).thenThrow(new IOException());
+
+        assertNull(rulesZipProcessingHelper.readRulesFromZip(mockInputStream));
+    }
+
     @Test
     public void testGetTemporaryDirectory() {
         final String expectedTempDirPath =
@@ -12,7 +12,10 @@
 package com.adobe.marketing.mobile.launch.rulesengine.json
 
 import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRuleTransformer
 import com.adobe.marketing.mobile.rulesengine.ComparisonExpression
+import com.adobe.marketing.mobile.rulesengine.ConditionEvaluator
+import com.adobe.marketing.mobile.rulesengine.Context
 import com.adobe.marketing.mobile.rulesengine.Evaluable
 import com.adobe.marketing.mobile.rulesengine.LogicalExpression
 import com.adobe.marketing.mobile.rulesengine.OperandFunction
@@ -151,6 +154,70 @@ class JSONConditionTests {
         assertTrue(evaluable is LogicalExpression)
     }
 
+    @Test
+    fun testMatcherWithRegexValue() {
+        val jsonConditionString = """
+        {
+          "type": "matcher",
+          "definition": {
+            "key": "url",
+            "matcher": "mt",
+            "values": [
+              "^https://www\\.adobe\\.com/(products|solutions)/"
+            ]
+          }
+        }
+        """.trimIndent()
+        val jsonCondition = JSONCondition.build(buildJSONObject(jsonConditionString), extensionApi)
+        assertTrue(jsonCondition is MatcherCondition)
+        val evaluable = jsonCondition.toEvaluable()
+        assertTrue(evaluable is ComparisonExpression<*, *>)
+
+        val evaluator = ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE, true)
+        val matchingContext = Context({ mapOf("url" to "https://WWW.adobe.com/products/analytics")[it] }, evaluator, LaunchRuleTransformer.transforming)
+        val otherContext = Context({ mapOf("url" to "https://www.adobe.com/about")[it] }, evaluator, LaunchRuleTransformer.transforming)
+        assertTrue(evaluable.evaluate(matchingContext).isSuccess)
+        assertFalse(evaluable.evaluate(otherContext).isSuccess)
+    }
+
+    @Test
+    fun testMatcherWithInvalidRegexValue() {
+        val jsonConditionString = """
+        {
+          "type": "matcher",
+          "definition": {
+            "key": "url",
+            "matcher": "mt",
+            "values": [
+              "(unclosed"
+            ]
+          }
+        }
+        """.trimIndent()
+        val jsonCondition = JSONCondition.build(buildJSONObject(jsonConditionString), extensionApi)
+        assertTrue(jsonCondition is MatcherCondition)
+        assertNull(jsonCondition.toEvaluable())
+    }
+
+    @Test
+    fun testMatcherWithNestedQuantifierRegexValue() {
+        val jsonConditionString = """
+        {
+          "type": "matcher",
+          "definition": {
+            "key": "url",
+            "matcher": "mt",
+            "values": [
+              "^(a+)+b$"
+            ]
+          }
+        }
+        """.trimIndent()
+        val jsonCondition = JSONCondition.build(buildJSONObject(jsonConditionString), extensionApi)
+        assertTrue(jsonCondition is MatcherCondition)
+        assertNull(jsonCondition.toEvaluable())
+    }
+
     @Test
     fun testAndGroup() {
         val jsonConditionString = """
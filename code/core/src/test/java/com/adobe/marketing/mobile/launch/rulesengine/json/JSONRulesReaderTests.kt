@@ -0,0 +1,166 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine.json
+
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.launch.rulesengine.LaunchRule
+import com.adobe.marketing.mobile.test.util.buildJSONObject
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+import java.io.File
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class JSONRulesReaderTests {
+
+    private lateinit var extensionApi: ExtensionApi
+
+    @Before
+    fun setup() {
+        extensionApi = Mockito.mock(ExtensionApi::class.java)
+    }
+
+    @Test
+    fun testReadsSameRulesAsJSONRuleRoot() {
+        val directory = this::class.java.classLoader?.getResource("rules_module_tests")
+        assertNotNull(directory)
+        val files = File(directory.toURI()).listFiles { file -> file.name.endsWith(".json") }
+        assertNotNull(files)
+        assertTrue(files.isNotEmpty())
+        for (file in files) {
+            val jsonString = file.readText()
+            val expectedRules = runCatching { JSONRuleRoot(buildJSONObject(jsonString))?.toLaunchRules(extensionApi) }
+            if (expectedRules.isFailure) {
+                // Invalid rules fail, other unsupported payloads are left to JSONObject
+                assertNull(JSONRulesParser.parse(jsonString, extensionApi), "Expected ${file.name} not to be parsed")
+                continue
+            }
+            val ruleParts = JSONRulesReader(jsonString, extensionApi).readRuleParts()
+            assertNotNull(ruleParts, "Failed to read ${file.name}")
+            assertSameRules(assertNotNull(expectedRules.getOrThrow()), ruleParts, file.name)
+        }
+    }
+
+    @Test
+    fun testReadsNumbersLikeJSONTokener() {
+        val rules = readRules(
+            buildRulesJSON("""{"int": -12, "long": 3000000000, "double": 1.5, "exponent": 1e3, "big": 12345678901234567890}""")
+        )
+        assertNotNull(rules)
+        val detail = rules[0].consequenceList[0].detail
+        assertEquals(-12, detail["int"])
+        assertEquals(3000000000L, detail["long"])
+        assertEquals(1.5, detail["double"])
+        assertEquals(1000.0, detail["exponent"])
+        assertEquals(12345678901234567890.0, detail["big"])
+    }
+
+    @Test
+    fun testReadsNestedValues() {
+        val rules = readRules(
+            buildRulesJSON("""{"text": "a\"b\\c\u0041\n", "list": [1, null, {"key": false}], "empty": {}}""")
+        )
+        assertNotNull(rules)
+        val detail = rules[0].consequenceList[0].detail
+        assertEquals("a\"b\\cA\n", detail["text"])
+        assertEquals(listOf(1, null, mapOf("key" to false)), detail["list"])
+        assertEquals(emptyMap<String, Any?>(), detail["empty"])
+        assertEquals(listOf("text", "list", "empty"), detail.keys.toList())
+    }
+
+    @Test
+    fun testReadsMeta() {
+        val jsonString = buildRulesJSON("""{"key": "value"}""").replace("\"consequences\"", "\"meta\": {\"reEvaluate\": true}, \"consequences\"")
+        val rules = readRules(jsonString)
+        assertNotNull(rules)
+        assertTrue(rules[0].meta.reEvaluate)
+    }
+
+    @Test
+    fun testLenientJSONIsNotSupported() {
+        val jsonString = buildRulesJSON("""{"key": "value",}""")
+        assertNull(JSONRulesReader(jsonString, extensionApi).readRuleParts())
+        // JSONRulesParser falls back to JSONObject, which accepts the trailing comma
+        assertEquals(1, JSONRulesParser.parse(jsonString, extensionApi)?.size)
+    }
+
+    @Test
+    fun testUnsupportedConditionTypeIsNotSupported() {
+        val jsonString = buildRulesJSON("""{"key": "value"}""").replace("\"matcher\",", "\"unknown\",")
+        assertNull(JSONRulesReader(jsonString, extensionApi).readRuleParts())
+        assertNull(JSONRulesParser.parse(jsonString, extensionApi))
+    }
+
+    @Test
+    fun testInvalidRuleFails() {
+        val jsonString = buildRulesJSON("""{"key": "value"}""").replace("\"eq\"", "\"unknown\"")
+        val ruleParts = JSONRulesReader(jsonString, extensionApi).readRuleParts()
+        assertNotNull(ruleParts)
+        // The rule is read, building it fails
+        assertFailsWith<Exception> {
+            ruleParts.map { it.toLaunchRule() ?: throw Exception() }
+        }
+        assertNull(JSONRulesParser.parse(jsonString, extensionApi))
+    }
+
+    private fun assertSameRules(expected: List<LaunchRule>, actualParts: List<JSONRuleParts>, name: String) {
+        assertEquals(expected.size, actualParts.size, name)
+        for ((expectedRule, parts) in expected.zip(actualParts)) {
+            // The fingerprint covers the condition definitions, consequences and meta of the rule
+            val expectedFingerprint = assertNotNull(expectedRule.fingerprint, name)
+            assertEquals(expectedFingerprint, JSONRulesSnapshot.fingerprint(parts), name)
+            val actualRule = assertNotNull(parts.toLaunchRule(), name)
+            assertEquals(expectedRule.condition.javaClass, actualRule.condition.javaClass, name)
+            assertEquals(expectedRule.consequenceList, actualRule.consequenceList, name)
+            assertEquals(expectedRule.meta, actualRule.meta, name)
+            assertEquals(expectedRule.historicalQueries.size, actualRule.historicalQueries.size, name)
+        }
+    }
+
+    private fun readRules(jsonString: String): List<LaunchRule>? {
+        return JSONRulesReader(jsonString, extensionApi).readRuleParts()?.map { assertNotNull(it.toLaunchRule()) }
+    }
+
+    private fun buildRulesJSON(detail: String): String {
+        return """
+        {
+          "version": 1,
+          "rules": [
+            {
+              "condition": {
+                "type": "matcher",
+                "definition": {
+                  "key": "~type",
+                  "matcher": "eq",
+                  "values": ["com.adobe.eventType.lifecycle"]
+                }
+              },
+              "consequences": [
+                {
+                  "id": "RC2500e6b0140744d49e6fd503a55a66d4",
+                  "type": "schema",
+                  "detail": $detail
+                }
+              ]
+            }
+          ]
+        }
+        """.trimIndent()
+    }
+}
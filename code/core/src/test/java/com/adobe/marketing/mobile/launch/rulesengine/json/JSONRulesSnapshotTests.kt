@@ -0,0 +1,133 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.launch.rulesengine.json
+
+import com.adobe.marketing.mobile.ExtensionApi
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+import java.io.File
+import java.io.IOException
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class JSONRulesSnapshotTests {
+
+    private lateinit var extensionApi: ExtensionApi
+
+    @Before
+    fun setup() {
+        extensionApi = Mockito.mock(ExtensionApi::class.java)
+    }
+
+    @Test
+    fun testReadsSameRulesAsWritten() {
+        val directory = this::class.java.classLoader?.getResource("rules_module_tests")
+        assertNotNull(directory)
+        val files = File(directory.toURI()).listFiles { file -> file.name.endsWith(".json") }
+        assertNotNull(files)
+        assertTrue(files.isNotEmpty())
+        for (file in files) {
+            val ruleParts = JSONRulesReader(file.readText(), extensionApi).readRuleParts() ?: continue
+            val snapshot = JSONRulesSnapshot.write(ruleParts)
+            val snapshotRuleParts = assertNotNull(JSONRulesSnapshot.read(snapshot, extensionApi), file.name)
+            assertContentEquals(snapshot, JSONRulesSnapshot.write(snapshotRuleParts), file.name)
+
+            val expectedRules = runCatching { ruleParts.map { it.toLaunchRule() } }.getOrNull() ?: continue
+            val actualRules = snapshotRuleParts.map { it.toLaunchRule() }
+            assertEquals(expectedRules.size, actualRules.size, file.name)
+            for ((expectedRule, actualRule) in expectedRules.zip(actualRules)) {
+                assertEquals(expectedRule?.condition?.javaClass, actualRule?.condition?.javaClass, file.name)
+                assertEquals(expectedRule?.consequenceList, actualRule?.consequenceList, file.name)
+                assertEquals(expectedRule?.meta, actualRule?.meta, file.name)
+                assertEquals(expectedRule?.historicalQueries?.size, actualRule?.historicalQueries?.size, file.name)
+            }
+        }
+    }
+
+    @Test
+    fun testReadsValues() {
+        val longText = "a".repeat(70000)
+        val detail = """{"int": -12, "long": 3000000000, "double": 1.5, "bool": true, "null": null, "text": "$longText", "list": [1, {"key": "é"}]}"""
+        val ruleParts = assertNotNull(JSONRulesReader(buildRulesJSON(detail), extensionApi).readRuleParts())
+        val snapshotRuleParts = assertNotNull(JSONRulesSnapshot.read(JSONRulesSnapshot.write(ruleParts), extensionApi))
+        val snapshotDetail = assertNotNull(snapshotRuleParts[0].consequences[0].detail)
+        assertEquals(ruleParts[0].consequences[0].detail, snapshotDetail)
+        assertEquals(listOf("int", "long", "double", "bool", "null", "text", "list"), snapshotDetail.keys.toList())
+        assertEquals(3000000000L, snapshotDetail["long"])
+        assertEquals(longText, snapshotDetail["text"])
+    }
+
+    @Test
+    fun testSnapshotOfAnotherFormatVersionIsNotRead() {
+        val ruleParts = assertNotNull(JSONRulesReader(buildRulesJSON("""{"key": "value"}"""), extensionApi).readRuleParts())
+        val snapshot = JSONRulesSnapshot.write(ruleParts)
+        // The format version follows the 4 bytes of the magic number
+        snapshot[7] = (JSONRulesSnapshot.FORMAT_VERSION + 1).toByte()
+        assertNull(JSONRulesSnapshot.read(snapshot, extensionApi))
+    }
+
+    @Test
+    fun testTruncatedSnapshotFails() {
+        val ruleParts = assertNotNull(JSONRulesReader(buildRulesJSON("""{"key": "value"}"""), extensionApi).readRuleParts())
+        val snapshot = JSONRulesSnapshot.write(ruleParts)
+        assertFailsWith<IOException> {
+            JSONRulesSnapshot.read(snapshot.copyOf(snapshot.size - 1), extensionApi)
+        }
+        assertFailsWith<IOException> {
+            JSONRulesSnapshot.read(snapshot + 0.toByte(), extensionApi)
+        }
+    }
+
+    @Test
+    fun testUnsupportedValueCannotBeWritten() {
+        val ruleParts = assertNotNull(JSONRulesReader(buildRulesJSON("""{"key": "value"}"""), extensionApi).readRuleParts())
+        val consequence = JSONConsequence("id", "schema", mapOf("key" to Any()))
+        assertFailsWith<IllegalArgumentException> {
+            JSONRulesSnapshot.write(listOf(JSONRuleParts(ruleParts[0].condition, listOf(consequence), ruleParts[0].meta)))
+        }
+    }
+
+    private fun buildRulesJSON(detail: String): String {
+        return """
+        {
+          "version": 1,
+          "rules": [
+            {
+              "condition": {
+                "type": "matcher",
+                "definition": {
+                  "key": "~type",
+                  "matcher": "eq",
+                  "values": ["com.adobe.eventType.lifecycle"]
+                }
+              },
+              "consequences": [
+                {
+                  "id": "RC2500e6b0140744d49e6fd503a55a66d4",
+                  "type": "schema",
+                  "detail": $detail
+                }
+              ]
+            }
+          ]
+        }
+        """.trimIndent()
+    }
+}
@@ -0,0 +1,215 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.adobe.marketing.mobile.LoggingMode;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.HashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.junit.After;
+import org.junit.Test;
+
+public class ConditionEvaluatorTests {
+
+    private final ConditionEvaluator fastEvaluator =
+            new ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE, true);
+    private final LoggingMode logLevel = Log.getLogLevel();
+
+    @After
+    public void teardown() {
+        Log.setLogLevel(logLevel);
+    }
+
+    @Test
+    public void testFastEvaluation_ReturnsSharedFailures() {
+        Log.setLogLevel(LoggingMode.DEBUG);
+
+        RulesResult failure1 = evaluate("one", "equals", "two");
+        RulesResult failure2 = evaluate("three", "startsWith", "four");
+
+        assertFalse(failure1.isSuccess());
+        assertSame(failure1, failure2);
+        assertEquals(RulesResult.FailureType.CONDITION_FAILED, failure1.getFailureType());
+
+        RulesResult missingOperator = evaluate("one", "unknown", "one");
+        assertEquals(RulesResult.FailureType.MISSING_OPERATOR, missingOperator.getFailureType());
+        assertSame(missingOperator, evaluate("one", "unknown", "two"));
+
+        RulesResult invalidOperand = evaluate(null, "equals", "one");
+        assertEquals(RulesResult.FailureType.INVALID_OPERAND, invalidOperand.getFailureType());
+        assertSame(invalidOperand, evaluate("one", "equals", null));
+    }
+
+    @Test
+    public void testFastEvaluation_DescribesFailuresWhenLoggingIsVerbose() {
+        Log.setLogLevel(LoggingMode.VERBOSE);
+
+        RulesResult failure1 = evaluate("one", "equals", "two");
+        RulesResult failure2 = evaluate("one", "equals", "two");
+
+        assertNotSame(failure1, failure2);
+        assertEquals("Condition not matched for operation \"equals\"", failure1.getFailureMessage());
+        assertEquals(
+                "Comparison null equals one returned false",
+                evaluate(null, "equals", "one").getFailureMessage());
+    }
+
+    @Test
+    public void testStartsWithAndEndsWith() {
+        assertTrue(evaluate("Line one\nline two", "startsWith", "LINE").isSuccess());
+        assertTrue(evaluate("Line one\nline two", "endsWith", "TWO").isSuccess());
+        assertTrue(evaluate("text (with) [regex] chars.*", "endsWith", "chars.*").isSuccess());
+        assertFalse(evaluate("short", "endsWith", "longer than short").isSuccess());
+        assertFalse(evaluate("short", "startsWith", "shorter").isSuccess());
+        assertFalse(
+                new ComparisonExpression<>(
+                                new OperandLiteral<>("Prefix"),
+                                "startsWith",
+                                new OperandLiteral<>("prefix"))
+                        .evaluate(
+                                new Context(
+                                        new FakeTokenFinder(new HashMap<>()),
+                                        new ConditionEvaluator(),
+                                        null))
+                        .isSuccess());
+    }
+
+    @Test
+    public void testStartsWithAndEndsWith_DefaultModeKeepsRegularExpressionResults() {
+        ConditionEvaluator evaluator =
+                new ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE);
+
+        assertTrue(evaluator.evaluate("Line one", "startsWith", "LINE").isSuccess());
+        assertTrue(evaluator.evaluate("Line one", "endsWith", "ONE").isSuccess());
+        assertTrue(
+                evaluator
+                        .evaluate("text (with) [regex] chars.*", "endsWith", "chars.*")
+                        .isSuccess());
+        // ".*" does not match line breaks
+        assertFalse(evaluator.evaluate("Line one\nline two", "startsWith", "LINE").isSuccess());
+        assertFalse(evaluator.evaluate("Line one\nline two", "endsWith", "TWO").isSuccess());
+        // "(?i)" folds ASCII characters only on the JVM
+        assertFalse(evaluator.evaluate("\u00c9cole", "startsWith", "\u00e9c").isSuccess());
+        assertFalse(evaluator.evaluate("caf\u00c9", "endsWith", "f\u00e9").isSuccess());
+    }
+
+    @Test
+    public void testStartsWithAndEndsWith_FastModeFoldsUnicodeCase() {
+        assertTrue(evaluate("\u00c9cole", "startsWith", "\u00e9c").isSuccess());
+        assertTrue(evaluate("caf\u00c9", "endsWith", "f\u00e9").isSuccess());
+        assertFalse(
+                new ConditionEvaluator(ConditionEvaluator.Option.DEFAULT, true)
+                        .evaluate("\u00c9cole", "startsWith", "\u00e9c")
+                        .isSuccess());
+    }
+
+    @Test
+    public void testNumericComparisons() {
+        assertTrue(evaluate(3, "greaterThan", 2.5).isSuccess());
+        assertTrue(evaluate(3L, "lessEqual", "3").isSuccess());
+        assertTrue(evaluate(0.1f, "lessEqual", 0.1).isSuccess());
+        assertFalse(evaluate("abc", "lessThan", 1).isSuccess());
+        assertFalse(evaluate(1, "greaterThan", "abc").isSuccess());
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(evaluate("Home Screen", "matches", "^home\\s").isSuccess());
+        assertTrue(evaluate("app://Screen/42", "matches", Pattern.compile("/\\d+$")).isSuccess());
+        assertFalse(evaluate("app://Screen/abc", "matches", Pattern.compile("/\\d+$")).isSuccess());
+        assertFalse(evaluate("text", "matches", "(invalid").isSuccess());
+        assertFalse(evaluate(42, "matches", "42").isSuccess());
+    }
+
+    @Test
+    public void testMatches_RejectsNestedQuantifiers() {
+        // Rejected when compiled, before any backtracking could happen
+        assertFalse(evaluate("aaaa", "matches", "^(a+)+$").isSuccess());
+        assertFalse(evaluate("aaaa", "matches", "^(?:a|b*)*$").isSuccess());
+        assertFalse(evaluate("aaaa", "matches", "^(a+){1,3}$").isSuccess());
+        assertFalse(evaluate("aaaa", "matches", "^(a|aa)+$").isSuccess());
+        assertTrue(evaluate("www.adobe.com", "matches", "^([a-z]+\\.)+com$").isSuccess());
+        assertTrue(evaluate("10.0.0.1", "matches", "^(\\d{1,3}\\.){3}\\d{1,3}$").isSuccess());
+    }
+
+    @Test
+    public void testMatches_IgnoresInputsLongerThanLimit() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < PatternMatcher.MAX_INPUT_LENGTH; i++) {
+            input.append('a');
+        }
+
+        assertTrue(evaluate(input.toString(), "matches", "^a+$").isSuccess());
+        assertFalse(evaluate(input.append('a').toString(), "matches", "^a+$").isSuccess());
+    }
+
+    @Test
+    public void testCompile_RejectsNestedQuantifiers() {
+        final String[] rejected = {
+            "(a+)+",
+            "(a*)*",
+            "(a|b*)+",
+            "((a+))+",
+            "(?:a+b?)+",
+            "(a{1,})*",
+            "(\\p{L}+)+",
+            "(a|aa)+$",
+            "(a|a)*",
+            "(?i)(a|A)+",
+            "(\\w|\\d)+",
+            "(.*a){10}",
+            "(.*a)+",
+            "(a+){2,5}",
+            "(a?){20}a{20}",
+            "(x+x+)+y"
+        };
+        for (final String regex : rejected) {
+            try {
+                PatternMatcher.compile(regex, 0);
+                fail("Expected " + regex + " to be rejected");
+            } catch (final PatternSyntaxException e) {
+                // expected
+            }
+        }
+
+        final String[] accepted = {
+            "(a+)?",
+            "((a+)b)+",
+            "[(a+)]+",
+            "\\Q(a+)+\\E",
+            "(?i)(a+)",
+            "/\\d+$",
+            "(ab|cd)+",
+            "([^,]*,){3}",
+            "(\\w+\\s)+",
+            "(\\d{1,3}\\.){3}\\d{1,3}"
+        };
+        for (final String regex : accepted) {
+            assertNotNull(PatternMatcher.compile(regex, 0));
+        }
+    }
+
+    private RulesResult evaluate(final Object lhs, final String operation, final Object rhs) {
+        return new ComparisonExpression<>(
+                        new OperandLiteral<>(lhs), operation, new OperandLiteral<>(rhs))
+                .evaluate(new Context(new FakeTokenFinder(new HashMap<>()), fastEvaluator, null));
+    }
+}
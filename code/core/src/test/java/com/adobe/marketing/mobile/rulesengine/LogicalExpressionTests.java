@@ -18,6 +18,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 
 public class LogicalExpressionTests {
@@ -133,6 +134,61 @@ public class LogicalExpressionTests {
         assertEquals("Unknown conjunction operator - equal.", result.getFailureMessage());
     }
 
+    @Test
+    public void testLogicalExpression_EvaluatesCheapOperandsFirst() {
+        // setup
+        final AtomicInteger functionCalls = new AtomicInteger();
+        final Evaluable expensiveExpression =
+                new ComparisonExpression<>(
+                        new OperandFunction<>(
+                                parameters -> {
+                                    functionCalls.incrementAndGet();
+                                    return 1;
+                                }),
+                        "equals",
+                        new OperandLiteral<>(1));
+        List<Evaluable> operands = new ArrayList<>();
+        operands.add(expensiveExpression);
+        operands.add(expressionFalse);
+
+        // test
+        RulesResult andResult = new LogicalExpression(operands, "and").evaluate(defaultContext());
+
+        operands.set(1, expressionTrue);
+        RulesResult orResult = new LogicalExpression(operands, "or").evaluate(defaultContext());
+
+        // verify
+        assertFalse(andResult.isSuccess());
+        assertTrue(orResult.isSuccess());
+        assertEquals(0, functionCalls.get());
+
+        // verify the expensive operand is still evaluated when needed
+        assertTrue(new LogicalExpression(operands, "and").evaluate(defaultContext()).isSuccess());
+        assertEquals(1, functionCalls.get());
+    }
+
+    @Test
+    public void testLogicalExpression_KeepsDeclaredOperands() {
+        // setup
+        final Evaluable sharedStateExpression =
+                new ComparisonExpression<>(
+                        new OperandMustacheToken<>("{{~state.com.adobe.module/key}}", String.class),
+                        "equals",
+                        new OperandLiteral<>("value"));
+        List<Evaluable> operands = new ArrayList<>();
+        operands.add(sharedStateExpression);
+        operands.add(expressionTrue);
+
+        // test
+        LogicalExpression expression = new LogicalExpression(operands, "and");
+
+        // verify
+        assertEquals(operands, expression.operands);
+        assertEquals(
+                EvaluationCost.SHARED_STATE_TOKEN + EvaluationCost.LITERAL * 3,
+                expression.getCost());
+    }
+
     private Context defaultContext() {
         return new Context(
                 new FakeTokenFinder(new HashMap<>()),
@@ -115,4 +115,26 @@ public class ParserTests {
         List<Segment> tokens = TemplateParser.parse("{{one", null);
         assertEquals(0, tokens.size());
     }
+
+    @Test
+    public void parse_textAfterEndTag() {
+        List<Segment> tokens = TemplateParser.parse("{{one}}}text", null);
+        assertEquals(2, tokens.size());
+        assertEquals(SegmentToken.class, tokens.get(0).getClass());
+        assertEquals(SegmentText.class, tokens.get(1).getClass());
+        assertEquals("}text", tokens.get(1).getContent(tokenFinder, transformer));
+    }
+
+    @Test
+    public void parse_largeTemplate() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("<div>text</div>{{two}}");
+        }
+
+        List<Segment> tokens = TemplateParser.parse(builder.toString(), null);
+        assertEquals(2000, tokens.size());
+        assertEquals("<div>text</div>", tokens.get(1998).getContent(tokenFinder, transformer));
+        assertEquals("2", tokens.get(1999).getContent(tokenFinder, transformer));
+    }
 }
@@ -0,0 +1,148 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RulesEngineTests {
+
+    private static final Rule TRUE_RULE =
+            () ->
+                    new ComparisonExpression<>(
+                            new OperandLiteral<>("One"), "equals", new OperandLiteral<>("One"));
+
+    private final RulesEngine<Rule> rulesEngine =
+            new RulesEngine<>(new ConditionEvaluator(), new Transformer());
+    private final TokenFinder tokenFinder = new FakeTokenFinder(new HashMap<>());
+    private final List<String> resolvedTokens = new ArrayList<>();
+
+    @Test
+    public void testGetRules_ReturnsCopyOfCurrentRules() {
+        List<Rule> rules = new ArrayList<>(Collections.singletonList(TRUE_RULE));
+        rulesEngine.replaceRules(rules);
+        rules.add(TRUE_RULE);
+
+        List<Rule> currentRules = rulesEngine.getRules();
+        assertEquals(1, currentRules.size());
+        currentRules.clear();
+
+        rulesEngine.addRules(Collections.singletonList(TRUE_RULE));
+        assertEquals(2, rulesEngine.getRules().size());
+        assertEquals(2, rulesEngine.evaluate(tokenFinder).size());
+    }
+
+    @Test(timeout = 5000)
+    public void testEvaluate_DoesNotBlockOtherEvaluationsOrUpdates() throws Exception {
+        final CountDownLatch evaluationStarted = new CountDownLatch(1);
+        final CountDownLatch releaseEvaluation = new CountDownLatch(1);
+        final Rule blockingRule =
+                () ->
+                        context -> {
+                            evaluationStarted.countDown();
+                            try {
+                                releaseEvaluation.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return RulesResult.SUCCESS;
+                        };
+        rulesEngine.replaceRules(Collections.singletonList(blockingRule));
+
+        final List<Rule> blockedResult = new ArrayList<>();
+        Thread blockedEvaluation =
+                new Thread(() -> blockedResult.addAll(rulesEngine.evaluate(tokenFinder)));
+        blockedEvaluation.start();
+        assertTrue(evaluationStarted.await(1, TimeUnit.SECONDS));
+
+        // The blocked evaluation holds no lock, so rules can be updated and evaluated meanwhile.
+        rulesEngine.replaceRules(Arrays.asList(TRUE_RULE, TRUE_RULE));
+        assertEquals(2, rulesEngine.evaluate(tokenFinder).size());
+
+        releaseEvaluation.countDown();
+        blockedEvaluation.join();
+        assertEquals(Collections.singletonList(blockingRule), blockedResult);
+    }
+
+    @Test
+    public void testEvaluate_EvaluatesGivenCandidateRules() {
+        final HashMap<String, Object> data = new HashMap<>();
+        data.put("key", "value");
+        final TokenFinder countingTokenFinder =
+                new TokenFinder() {
+                    @Override
+                    public Object get(final String key) {
+                        resolvedTokens.add(key);
+                        return data.get(key);
+                    }
+                };
+        final Rule tokenRule =
+                () ->
+                        new ComparisonExpression<>(
+                                new OperandMustacheToken<>("{{key}}", String.class),
+                                "equals",
+                                new OperandLiteral<>("value"));
+        rulesEngine.replaceRules(Arrays.asList(TRUE_RULE, tokenRule));
+
+        final List<Rule> candidateRules = rulesEngine.getCandidateRules(countingTokenFinder);
+        // Rules replaced after the candidates were looked up are not evaluated
+        rulesEngine.replaceRules(Collections.<Rule>emptyList());
+
+        assertEquals(
+                Arrays.asList(TRUE_RULE, tokenRule),
+                rulesEngine.evaluate(countingTokenFinder, candidateRules));
+        // Once by the candidate lookup, once by the condition
+        assertEquals(Arrays.asList("key", "key"), resolvedTokens);
+    }
+
+    @Test
+    public void testEvaluate_NotifiesRuleEvaluationListener() {
+        final Rule tokenRule =
+                () ->
+                        new ComparisonExpression<>(
+                                new OperandMustacheToken<>("{{key}}", String.class),
+                                "startsWith",
+                                new OperandLiteral<>("value"));
+        final HashMap<String, Object> data = new HashMap<>();
+        data.put("key", "other");
+        rulesEngine.replaceRules(Arrays.asList(TRUE_RULE, tokenRule));
+        final List<Rule> evaluatedRules = new ArrayList<>();
+        final List<Boolean> matches = new ArrayList<>();
+        rulesEngine.setRuleEvaluationListener(
+                (rule, matched, evaluationNanos, tokenResolutionNanos) -> {
+                    assertTrue(tokenResolutionNanos <= evaluationNanos);
+                    evaluatedRules.add(rule);
+                    matches.add(matched);
+                });
+
+        assertEquals(
+                Collections.singletonList(TRUE_RULE),
+                rulesEngine.evaluate(new FakeTokenFinder(data)));
+        assertEquals(Arrays.asList(TRUE_RULE, tokenRule), evaluatedRules);
+        assertTrue(matches.get(0));
+        assertFalse(matches.get(1));
+
+        rulesEngine.setRuleEvaluationListener(null);
+        rulesEngine.evaluate(new FakeTokenFinder(data));
+        assertEquals(2, evaluatedRules.size());
+    }
+}
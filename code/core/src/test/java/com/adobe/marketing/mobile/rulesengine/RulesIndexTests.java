@@ -0,0 +1,198 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.rulesengine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+
+public class RulesIndexTests {
+
+    private static final class TestRule implements Rule {
+
+        private final Evaluable evaluable;
+
+        TestRule(final Evaluable evaluable) {
+            this.evaluable = evaluable;
+        }
+
+        @Override
+        public Evaluable getEvaluable() {
+            return evaluable;
+        }
+    }
+
+    private final TestRule analyticsRule =
+            new TestRule(and(typeEquals("analytics"), sourceEquals("requestContent")));
+    private final TestRule lifecycleRule =
+            new TestRule(and(typeEquals("lifecycle"), sourceEquals("responseContent")));
+    private final TestRule analyticsOrLifecycleRule =
+            new TestRule(
+                    new LogicalExpression(
+                            Arrays.asList(typeEquals("analytics"), typeEquals("lifecycle")), "or"));
+    private final TestRule unguardedRule =
+            new TestRule(
+                    new ComparisonExpression<>(
+                            new OperandMustacheToken<>("{{key}}", String.class),
+                            "notEquals",
+                            new OperandLiteral<>("value")));
+
+    @Test
+    public void testCandidates_FiltersRulesByGuardValue() {
+        RulesIndex<TestRule> index =
+                new RulesIndex<>(Arrays.asList(analyticsRule, lifecycleRule));
+
+        assertEquals(
+                Collections.singletonList(analyticsRule),
+                index.candidates(context("analytics", "requestContent")));
+        assertEquals(
+                Collections.singletonList(lifecycleRule),
+                index.candidates(context("lifecycle", "responseContent")));
+        assertEquals(Collections.emptyList(), index.candidates(context("other", "other")));
+    }
+
+    @Test
+    public void testCandidates_OrConditionIsIndexedUnderEachValue() {
+        RulesIndex<TestRule> index =
+                new RulesIndex<>(Arrays.asList(analyticsOrLifecycleRule, lifecycleRule));
+
+        assertEquals(
+                Collections.singletonList(analyticsOrLifecycleRule),
+                index.candidates(context("analytics", "any")));
+        assertEquals(
+                Arrays.asList(analyticsOrLifecycleRule, lifecycleRule),
+                index.candidates(context("lifecycle", "any")));
+    }
+
+    @Test
+    public void testCandidates_UnguardedRulesAreAlwaysIncluded() {
+        RulesIndex<TestRule> index =
+                new RulesIndex<>(Arrays.asList(analyticsRule, unguardedRule, lifecycleRule));
+
+        assertEquals(
+                Collections.singletonList(unguardedRule),
+                index.candidates(context("other", "other")));
+        assertEquals(
+                Collections.singletonList(unguardedRule),
+                index.candidates(new Context(new FakeTokenFinder(new HashMap<>()), null, null)));
+    }
+
+    @Test
+    public void testCandidates_PreservesRuleOrder() {
+        List<TestRule> rules =
+                Arrays.asList(
+                        analyticsOrLifecycleRule,
+                        lifecycleRule,
+                        unguardedRule,
+                        analyticsRule,
+                        analyticsOrLifecycleRule);
+        RulesIndex<TestRule> index = new RulesIndex<>(rules);
+
+        assertEquals(
+                Arrays.asList(
+                        analyticsOrLifecycleRule,
+                        unguardedRule,
+                        analyticsRule,
+                        analyticsOrLifecycleRule),
+                index.candidates(context("analytics", "requestContent")));
+    }
+
+    @Test
+    public void testCandidates_MatchesGuardValuesIgnoringCase() {
+        RulesIndex<TestRule> index =
+                new RulesIndex<>(Arrays.asList(analyticsRule, lifecycleRule));
+
+        assertEquals(
+                Collections.singletonList(analyticsRule),
+                index.candidates(context("Analytics", "REQUESTCONTENT")));
+    }
+
+    @Test
+    public void testCandidates_NonStringTokenValueIncludesAllGuardedRules() {
+        RulesIndex<TestRule> index =
+                new RulesIndex<>(Arrays.asList(analyticsRule, lifecycleRule));
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("~type", 10);
+        data.put("~source", 10);
+
+        assertEquals(
+                Arrays.asList(analyticsRule, lifecycleRule),
+                index.candidates(new Context(new FakeTokenFinder(data), null, null)));
+    }
+
+    @Test
+    public void testCandidates_ReusesGuardsOfPreviousIndex() {
+        final int[] evaluableReads = new int[1];
+        final Rule countingRule =
+                () -> {
+                    evaluableReads[0]++;
+                    return typeEquals("analytics");
+                };
+        RulesIndex<Rule> previous = new RulesIndex<>(Arrays.asList(countingRule, lifecycleRule));
+        RulesIndex<Rule> index =
+                new RulesIndex<>(Arrays.asList(analyticsRule, countingRule), previous);
+
+        assertEquals(1, evaluableReads[0]);
+        assertEquals(
+                Arrays.asList(analyticsRule, countingRule),
+                index.candidates(context("analytics", "any")));
+        assertEquals(Collections.emptyList(), index.candidates(context("lifecycle", "any")));
+    }
+
+    @Test
+    public void testRulesEngine_EvaluatesOnlyMatchingCandidates() {
+        RulesEngine<TestRule> rulesEngine =
+                new RulesEngine<>(
+                        new ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE),
+                        new Transformer());
+        rulesEngine.replaceRules(Arrays.asList(analyticsRule, unguardedRule));
+        rulesEngine.addRules(Collections.singletonList(lifecycleRule));
+
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("~type", "LIFECYCLE");
+        data.put("~source", "responseContent");
+        data.put("key", "value");
+
+        assertEquals(
+                Collections.singletonList(lifecycleRule),
+                rulesEngine.evaluate(new FakeTokenFinder(data)));
+    }
+
+    private static Evaluable typeEquals(final String type) {
+        return new ComparisonExpression<>(
+                new OperandMustacheToken<>("{{~type}}", String.class),
+                "equals",
+                new OperandLiteral<>(type));
+    }
+
+    private static Evaluable sourceEquals(final String source) {
+        return new ComparisonExpression<>(
+                new OperandMustacheToken<>("{{~source}}", String.class),
+                "equals",
+                new OperandLiteral<>(source));
+    }
+
+    private static Evaluable and(final Evaluable... operands) {
+        return new LogicalExpression(Arrays.asList(operands), "and");
+    }
+
+    private static Context context(final String type, final String source) {
+        HashMap<String, Object> data = new HashMap<>();
+        data.put("~type", type);
+        data.put("~source", source);
+        return new Context(new FakeTokenFinder(data), null, null);
+    }
+}
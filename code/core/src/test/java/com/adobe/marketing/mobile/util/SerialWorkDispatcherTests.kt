@@ -12,6 +12,7 @@
 package com.adobe.marketing.mobile.util
 
 import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.internal.util.SharedThreadPool
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -25,6 +26,9 @@ import org.mockito.stubbing.Answer
 import java.lang.IllegalStateException
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.ForkJoinWorkerThread
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
@@ -206,6 +210,26 @@ class SerialWorkDispatcherTests {
         assertEquals(arrayListOf(event1, event2, event3), serialWorkDispatcher.processedEvents)
     }
 
+    @Test
+    fun `Work offered in bulk is processed in order`() {
+        val event1: Event = Event.Builder("Event1", "Type", "Source").build()
+        val event2: Event = Event.Builder("Event2", "Type", "Source").build()
+        val event3: Event = Event.Builder("Event3", "Type", "Source").build()
+        serialWorkDispatcher.start()
+
+        assertTrue(serialWorkDispatcher.offerAll(listOf(event1, event2, event3)))
+        assertEquals(arrayListOf(event1, event2, event3), serialWorkDispatcher.processedEvents)
+    }
+
+    @Test
+    fun `Work offered in bulk is rejected after shutdown`() {
+        val event1: Event = Event.Builder("Event1", "Type", "Source").build()
+        serialWorkDispatcher.start()
+        serialWorkDispatcher.shutdown()
+
+        assertFalse(serialWorkDispatcher.offerAll(listOf(event1)))
+    }
+
     @Test
     fun `Work is queued when processing is work condition is not met`() {
         // Setup
@@ -371,4 +395,52 @@ class SerialWorkDispatcherTests {
         Thread.sleep(500)
         assertEquals(listOf(event4, event5), processedEvents)
     }
+
+    @Test
+    fun `Dedicated dispatcher does not run on the shared thread pool`() {
+        val workerThread = AtomicReference<Thread>()
+        val latch = CountDownLatch(1)
+        val workHandler: SerialWorkDispatcher.WorkHandler<Event> =
+            SerialWorkDispatcher.WorkHandler {
+                workerThread.set(Thread.currentThread())
+                latch.countDown()
+                true
+            }
+
+        SharedThreadPool.enabled = true
+        try {
+            val serialDispatcher = SerialWorkDispatcher("", workHandler, true)
+            serialDispatcher.start()
+            serialDispatcher.offer(Event.Builder("Event1", "Type", "Source").build())
+            assertTrue(latch.await(1, TimeUnit.SECONDS))
+            assertFalse(workerThread.get() is ForkJoinWorkerThread)
+            serialDispatcher.shutdown()
+        } finally {
+            SharedThreadPool.enabled = false
+        }
+    }
+
+    @Test
+    fun `Queue depth counts queued work until it is processed`() {
+        val latch = CountDownLatch(5)
+        val workHandler: SerialWorkDispatcher.WorkHandler<Event> =
+            SerialWorkDispatcher.WorkHandler {
+                latch.countDown()
+                true
+            }
+
+        val serialDispatcher = SerialWorkDispatcher("", workHandler)
+        repeat(3) { serialDispatcher.offer(Event.Builder("Event$it", "Type", "Source").build()) }
+        serialDispatcher.offerAll((3..4).map { Event.Builder("Event$it", "Type", "Source").build() })
+        assertEquals(5, serialDispatcher.queueDepth())
+
+        serialDispatcher.start()
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        Thread.sleep(50)
+        assertEquals(0, serialDispatcher.queueDepth())
+
+        serialDispatcher.offer(Event.Builder("Event5", "Type", "Source").build())
+        serialDispatcher.shutdown()
+        assertEquals(0, serialDispatcher.queueDepth())
+    }
 }
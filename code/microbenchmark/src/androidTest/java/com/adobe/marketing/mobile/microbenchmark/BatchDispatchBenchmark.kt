@@ -0,0 +1,108 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import android.app.Application
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.LoggingMode
+import com.adobe.marketing.mobile.MobileCore
+import com.adobe.marketing.mobile.SDKHelper
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Compares dispatching a burst of events one at a time through [MobileCore.dispatchEvent]
+ * against dispatching them as one batch through [MobileCore.dispatchEvents].
+ */
+@RunWith(AndroidJUnit4::class)
+class BatchDispatchBenchmark {
+
+    class ListenerExtension(api: ExtensionApi) : Extension(api) {
+        override fun getName(): String {
+            return "BatchListener"
+        }
+
+        override fun onRegistered() {
+            api.registerEventListener(EVENT_TYPE, EVENT_SOURCE) {
+                latch?.countDown()
+            }
+        }
+    }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    @Before
+    fun setup() {
+        val appContext = ApplicationProvider.getApplicationContext() as Application
+        val countDownLatch = CountDownLatch(1)
+        MobileCore.setApplication(appContext)
+        MobileCore.setLogLevel(LoggingMode.ERROR)
+        MobileCore.registerExtensions(listOf(ListenerExtension::class.java)) {
+            countDownLatch.countDown()
+        }
+        countDownLatch.await(1, TimeUnit.SECONDS)
+    }
+
+    @After
+    fun teardown() {
+        latch = null
+        SDKHelper.resetSDK()
+    }
+
+    @Test
+    fun dispatchEventsIndividually() {
+        benchmarkRule.measureRepeated {
+            val events = runWithTimingDisabled { buildEvents() }
+            val dispatchLatch = CountDownLatch(BURST_SIZE)
+            latch = dispatchLatch
+            events.forEach { MobileCore.dispatchEvent(it) }
+            dispatchLatch.await(5, TimeUnit.SECONDS)
+        }
+    }
+
+    @Test
+    fun dispatchEventsAsBatch() {
+        benchmarkRule.measureRepeated {
+            val events = runWithTimingDisabled { buildEvents() }
+            val dispatchLatch = CountDownLatch(BURST_SIZE)
+            latch = dispatchLatch
+            MobileCore.dispatchEvents(events)
+            dispatchLatch.await(5, TimeUnit.SECONDS)
+        }
+    }
+
+    private fun buildEvents(): List<Event> {
+        return (0 until BURST_SIZE).map {
+            Event.Builder("Benchmark $it", EVENT_TYPE, EVENT_SOURCE).build()
+        }
+    }
+
+    private companion object {
+        const val BURST_SIZE = 500
+        const val EVENT_TYPE = "com.adobe.eventType.benchmark"
+        const val EVENT_SOURCE = "com.adobe.eventSource.benchmark"
+
+        @Volatile
+        var latch: CountDownLatch? = null
+    }
+}
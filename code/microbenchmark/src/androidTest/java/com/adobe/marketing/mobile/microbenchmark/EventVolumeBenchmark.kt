@@ -0,0 +1,117 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import android.app.Application
+import android.util.Log
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.LoggingMode
+import com.adobe.marketing.mobile.MobileCore
+import com.adobe.marketing.mobile.SDKHelper
+import org.junit.After
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Dispatches a large volume of events and logs how much the heap grew over the run, which stays flat
+ * as long as the EventHub does not retain anything per dispatched event.
+ */
+@RunWith(AndroidJUnit4::class)
+class EventVolumeBenchmark {
+
+    class ListenerExtension(api: ExtensionApi) : Extension(api) {
+        override fun getName(): String {
+            return "VolumeListener"
+        }
+
+        override fun onRegistered() {
+            api.registerEventListener(EVENT_TYPE, EVENT_SOURCE) {
+                latch?.countDown()
+            }
+        }
+    }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    @Before
+    fun setup() {
+        val appContext = ApplicationProvider.getApplicationContext() as Application
+        val countDownLatch = CountDownLatch(1)
+        MobileCore.setApplication(appContext)
+        MobileCore.setLogLevel(LoggingMode.ERROR)
+        MobileCore.registerExtensions(listOf(ListenerExtension::class.java)) {
+            countDownLatch.countDown()
+        }
+        countDownLatch.await(1, TimeUnit.SECONDS)
+    }
+
+    @After
+    fun teardown() {
+        latch = null
+        SDKHelper.resetSDK()
+    }
+
+    @Test
+    fun dispatchEventVolume() {
+        // Warm up so that the baseline includes the lazily created EventHub state.
+        dispatchBatch()
+        val heapBefore = usedHeap()
+        var dispatchedEvents = 0L
+
+        benchmarkRule.measureRepeated {
+            dispatchBatch()
+            dispatchedEvents += BATCH_SIZE
+        }
+
+        val heapGrowth = usedHeap() - heapBefore
+        Log.i(LOG_TAG, "events=$dispatchedEvents heapGrowthBytes=$heapGrowth")
+        // Tracking a sequence number per dispatched event would retain well over 100MB for a million events.
+        assertTrue("Heap grew by $heapGrowth bytes", heapGrowth < MAX_HEAP_GROWTH_BYTES)
+    }
+
+    private fun dispatchBatch() {
+        val dispatchLatch = CountDownLatch(BATCH_SIZE)
+        latch = dispatchLatch
+        repeat(BATCH_SIZE) {
+            MobileCore.dispatchEvent(Event.Builder("Benchmark", EVENT_TYPE, EVENT_SOURCE).build())
+        }
+        dispatchLatch.await(60, TimeUnit.SECONDS)
+    }
+
+    private fun usedHeap(): Long {
+        val runtime = Runtime.getRuntime()
+        runtime.gc()
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    private companion object {
+        const val LOG_TAG = "EventVolumeBenchmark"
+        const val BATCH_SIZE = 10_000
+        const val MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024
+        const val EVENT_TYPE = "com.adobe.eventType.benchmark"
+        const val EVENT_SOURCE = "com.adobe.eventSource.benchmark"
+
+        @Volatile
+        var latch: CountDownLatch? = null
+    }
+}
@@ -0,0 +1,84 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.rulesengine.ComparisonExpression
+import com.adobe.marketing.mobile.rulesengine.ConditionEvaluator
+import com.adobe.marketing.mobile.rulesengine.Context
+import com.adobe.marketing.mobile.rulesengine.Evaluable
+import com.adobe.marketing.mobile.rulesengine.LogicalExpression
+import com.adobe.marketing.mobile.rulesengine.OperandLiteral
+import com.adobe.marketing.mobile.rulesengine.OperandMustacheToken
+import com.adobe.marketing.mobile.rulesengine.TokenFinder
+import com.adobe.marketing.mobile.rulesengine.Transformer
+import org.junit.Assert.assertFalse
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.regex.Pattern
+
+/**
+ * Compares a `matches` condition on a screen URL against the equivalent OR'd `startsWith` conditions,
+ * for a URL matching none of them.
+ */
+@RunWith(AndroidJUnit4::class)
+class RegexMatcherBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val sections = (0 until SECTION_COUNT).map { "section$it" }
+    private val context = Context(
+        TokenFinder { key -> if (key == "url") "https://www.example.com/other/page" else null },
+        ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE, true),
+        Transformer()
+    )
+
+    private val regexCondition: Evaluable = ComparisonExpression(
+        OperandMustacheToken("{{url}}", String::class.java),
+        "matches",
+        OperandLiteral(
+            Pattern.compile("^https://www\\.example\\.com/(${sections.joinToString("|")})/", Pattern.CASE_INSENSITIVE)
+        )
+    )
+
+    private val orCondition: Evaluable = LogicalExpression(
+        sections.map {
+            ComparisonExpression(
+                OperandMustacheToken("{{url}}", String::class.java),
+                "startsWith",
+                OperandLiteral("https://www.example.com/$it/")
+            )
+        },
+        "or"
+    )
+
+    @Test
+    fun evaluateRegexMatcher() {
+        benchmarkRule.measureRepeated {
+            assertFalse(regexCondition.evaluate(context).isSuccess)
+        }
+    }
+
+    @Test
+    fun evaluateOrExpansion() {
+        benchmarkRule.measureRepeated {
+            assertFalse(orCondition.evaluate(context).isSuccess)
+        }
+    }
+
+    private companion object {
+        const val SECTION_COUNT = 30
+    }
+}
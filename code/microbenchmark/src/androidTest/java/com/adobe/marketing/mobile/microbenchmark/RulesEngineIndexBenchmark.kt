@@ -0,0 +1,103 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.rulesengine.ComparisonExpression
+import com.adobe.marketing.mobile.rulesengine.ConditionEvaluator
+import com.adobe.marketing.mobile.rulesengine.Context
+import com.adobe.marketing.mobile.rulesengine.Evaluable
+import com.adobe.marketing.mobile.rulesengine.LogicalExpression
+import com.adobe.marketing.mobile.rulesengine.OperandLiteral
+import com.adobe.marketing.mobile.rulesengine.OperandMustacheToken
+import com.adobe.marketing.mobile.rulesengine.Rule as EngineRule
+import com.adobe.marketing.mobile.rulesengine.RulesEngine
+import com.adobe.marketing.mobile.rulesengine.TokenFinder
+import com.adobe.marketing.mobile.rulesengine.Transformer
+import com.adobe.marketing.mobile.rulesengine.TransformerBlock
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Measures evaluating an event against [RULE_COUNT] rules, each requiring a distinct event type and source,
+ * through the type/source index of [RulesEngine] and by evaluating every rule's condition.
+ */
+@RunWith(AndroidJUnit4::class)
+class RulesEngineIndexBenchmark {
+
+    private class ConditionRule(private val condition: Evaluable) : EngineRule {
+        override fun getEvaluable(): Evaluable = condition
+    }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val evaluator = ConditionEvaluator(ConditionEvaluator.Option.CASE_INSENSITIVE)
+    private val transformer = Transformer().apply {
+        register("string", TransformerBlock<String> { it.toString() })
+    }
+    private val rulesEngine = RulesEngine<ConditionRule>(evaluator, transformer)
+    private val rules = (0 until RULE_COUNT).map { ConditionRule(condition("type.$it", "source.$it")) }
+    private val tokenFinder = TokenFinder { key ->
+        when (key) {
+            "~type" -> "type.${RULE_COUNT / 2}"
+            "~source" -> "source.${RULE_COUNT / 2}"
+            else -> null
+        }
+    }
+
+    @Before
+    fun setup() {
+        rulesEngine.replaceRules(rules)
+    }
+
+    @Test
+    fun evaluateIndexed() {
+        benchmarkRule.measureRepeated {
+            assertEquals(1, rulesEngine.evaluate(tokenFinder).size)
+        }
+    }
+
+    @Test
+    fun evaluateAllRules() {
+        benchmarkRule.measureRepeated {
+            val context = Context(tokenFinder, evaluator, transformer)
+            assertEquals(1, rules.count { it.getEvaluable().evaluate(context).isSuccess })
+        }
+    }
+
+    private fun condition(type: String, source: String): Evaluable {
+        return LogicalExpression(
+            listOf(
+                ComparisonExpression(
+                    OperandMustacheToken("{{string(~type)}}", String::class.java),
+                    "equals",
+                    OperandLiteral(type)
+                ),
+                ComparisonExpression(
+                    OperandMustacheToken("{{string(~source)}}", String::class.java),
+                    "equals",
+                    OperandLiteral(source)
+                )
+            ),
+            "and"
+        )
+    }
+
+    private companion object {
+        const val RULE_COUNT = 1000
+    }
+}
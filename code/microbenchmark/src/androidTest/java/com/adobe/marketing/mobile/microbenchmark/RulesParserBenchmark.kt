@@ -0,0 +1,149 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import android.app.Application
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.LoggingMode
+import com.adobe.marketing.mobile.MobileCore
+import com.adobe.marketing.mobile.SDKHelper
+import com.adobe.marketing.mobile.launch.rulesengine.json.JSONRulesParser
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures parsing a 2 MB rules payload with [JSONRulesParser], read in a single pass and through a
+ * `JSONObject` document. The benchmark output reports the allocation count of each run next to its timing.
+ */
+@RunWith(AndroidJUnit4::class)
+class RulesParserBenchmark {
+
+    class ParserExtension(api: ExtensionApi) : Extension(api) {
+        companion object {
+            @Volatile
+            var extensionApi: ExtensionApi? = null
+        }
+
+        init {
+            extensionApi = api
+        }
+
+        override fun getName(): String {
+            return "RulesParser"
+        }
+    }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private lateinit var extensionApi: ExtensionApi
+    private val rules = buildRules()
+
+    @Before
+    fun setup() {
+        val appContext = ApplicationProvider.getApplicationContext() as Application
+        val countDownLatch = CountDownLatch(1)
+        MobileCore.setApplication(appContext)
+        MobileCore.setLogLevel(LoggingMode.ERROR)
+        MobileCore.registerExtensions(listOf(ParserExtension::class.java)) {
+            countDownLatch.countDown()
+        }
+        countDownLatch.await(1, TimeUnit.SECONDS)
+        extensionApi = ParserExtension.extensionApi ?: throw IllegalStateException("Extension not registered")
+    }
+
+    @After
+    fun teardown() {
+        SDKHelper.resetSDK()
+    }
+
+    @Test
+    fun parse2MBRules() {
+        benchmarkRule.measureRepeated {
+            JSONRulesParser.parse(rules, extensionApi)
+        }
+    }
+
+    @Test
+    fun parse2MBRulesThroughJSONObject() {
+        // A leading comment is only accepted by JSONObject, so the payload skips the single pass reader
+        val commentedRules = "/* rules */$rules"
+        benchmarkRule.measureRepeated {
+            JSONRulesParser.parse(commentedRules, extensionApi)
+        }
+    }
+
+    private fun buildRules(): String {
+        val builder = StringBuilder(RULES_SIZE + RULE.length)
+        builder.append("{\"version\":1,\"rules\":[")
+        var index = 0
+        while (builder.length < RULES_SIZE) {
+            if (index > 0) {
+                builder.append(',')
+            }
+            builder.append(RULE.replace("INDEX", index.toString()))
+            index++
+        }
+        builder.append("]}")
+        return builder.toString()
+    }
+
+    private companion object {
+        const val RULES_SIZE = 2 * 1024 * 1024
+        const val RULE = """
+        {
+            "condition": {
+                "type": "group",
+                "definition": {
+                    "logic": "and",
+                    "conditions": [
+                        {
+                            "type": "matcher",
+                            "definition": { "key": "~type", "matcher": "eq", "values": ["com.adobe.eventType.generic.track"] }
+                        },
+                        {
+                            "type": "matcher",
+                            "definition": { "key": "contextdata.action", "matcher": "eq", "values": ["action_INDEX"] }
+                        }
+                    ]
+                }
+            },
+            "consequences": [
+                {
+                    "id": "consequence_INDEX",
+                    "type": "schema",
+                    "detail": {
+                        "id": "consequence_INDEX",
+                        "schema": "https://ns.adobe.com/personalization/message/in-app",
+                        "data": {
+                            "content": "<html><body><p>Message INDEX for {%~state.com.adobe.module.identity/mid%}</p></body></html>",
+                            "contentType": "text/html",
+                            "publishedDate": 1701538942,
+                            "remoteAssets": ["https://www.adobe.com/INDEX.png"],
+                            "mobileParameters": { "width": 80, "height": 60.5, "uiTakeover": true, "dismissAnimation": null }
+                        }
+                    }
+                }
+            ]
+        }
+        """
+    }
+}
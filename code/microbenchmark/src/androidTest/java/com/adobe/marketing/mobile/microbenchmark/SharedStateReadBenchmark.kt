@@ -0,0 +1,110 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import android.app.Application
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.LoggingMode
+import com.adobe.marketing.mobile.MobileCore
+import com.adobe.marketing.mobile.SDKHelper
+import com.adobe.marketing.mobile.SharedStateResolution
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.concurrent.thread
+
+/**
+ * Measures the latency of reading a shared state through [ExtensionApi.getSharedState],
+ * both on an idle EventHub and while another thread keeps dispatching events.
+ */
+@RunWith(AndroidJUnit4::class)
+class SharedStateReadBenchmark {
+
+    class ReaderExtension(api: ExtensionApi) : Extension(api) {
+        companion object {
+            @Volatile
+            var extensionApi: ExtensionApi? = null
+        }
+
+        init {
+            extensionApi = api
+        }
+
+        override fun getName(): String {
+            return "SharedStateReader"
+        }
+    }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private lateinit var extensionApi: ExtensionApi
+
+    @Before
+    fun setup() {
+        val appContext = ApplicationProvider.getApplicationContext() as Application
+        val countDownLatch = CountDownLatch(1)
+        MobileCore.setApplication(appContext)
+        MobileCore.setLogLevel(LoggingMode.ERROR)
+        MobileCore.registerExtensions(listOf(ReaderExtension::class.java)) {
+            countDownLatch.countDown()
+        }
+        countDownLatch.await(1, TimeUnit.SECONDS)
+        extensionApi = ReaderExtension.extensionApi ?: throw IllegalStateException("Extension not registered")
+    }
+
+    @After
+    fun teardown() {
+        SDKHelper.resetSDK()
+    }
+
+    @Test
+    fun readSharedState() {
+        benchmarkRule.measureRepeated {
+            extensionApi.getSharedState(EVENTHUB_STATE_NAME, null, false, SharedStateResolution.ANY)
+        }
+    }
+
+    @Test
+    fun readSharedStateUnderConcurrentDispatch() {
+        val dispatching = AtomicBoolean(true)
+        val dispatcher = thread {
+            while (dispatching.get()) {
+                MobileCore.dispatchEvent(Event.Builder("Benchmark", "type", "source").build())
+                Thread.sleep(0, 100_000)
+            }
+        }
+
+        try {
+            benchmarkRule.measureRepeated {
+                extensionApi.getSharedState(EVENTHUB_STATE_NAME, null, false, SharedStateResolution.ANY)
+            }
+        } finally {
+            dispatching.set(false)
+            dispatcher.join()
+        }
+    }
+
+    private companion object {
+        const val EVENTHUB_STATE_NAME = "com.adobe.module.eventhub"
+    }
+}
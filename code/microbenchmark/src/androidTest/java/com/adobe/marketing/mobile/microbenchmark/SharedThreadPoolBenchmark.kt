@@ -0,0 +1,134 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import android.app.Application
+import android.util.Log
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.Extension
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.InitOptions
+import com.adobe.marketing.mobile.LoggingMode
+import com.adobe.marketing.mobile.MobileCore
+import com.adobe.marketing.mobile.SDKHelper
+import org.junit.After
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Compares dispatching an event to a set of listening extensions when each extension queue owns a thread
+ * against running the queues on the shared thread pool. Thread count and heap usage of both modes are logged.
+ */
+@RunWith(AndroidJUnit4::class)
+class SharedThreadPoolBenchmark {
+
+    abstract class ListenerExtension(api: ExtensionApi) : Extension(api) {
+        override fun onRegistered() {
+            api.registerEventListener(EVENT_TYPE, EVENT_SOURCE) {
+                latch?.countDown()
+            }
+        }
+    }
+
+    class ListenerExtension1(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener1" }
+    class ListenerExtension2(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener2" }
+    class ListenerExtension3(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener3" }
+    class ListenerExtension4(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener4" }
+    class ListenerExtension5(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener5" }
+    class ListenerExtension6(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener6" }
+    class ListenerExtension7(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener7" }
+    class ListenerExtension8(api: ExtensionApi) : ListenerExtension(api) { override fun getName() = "Listener8" }
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    @After
+    fun teardown() {
+        SDKHelper.resetSDK()
+    }
+
+    @Test
+    fun dispatchWithDedicatedThreads() {
+        measureDispatch(false)
+    }
+
+    @Test
+    fun dispatchWithSharedThreadPool() {
+        measureDispatch(true)
+    }
+
+    private fun measureDispatch(sharedThreadPoolEnabled: Boolean) {
+        val appContext = ApplicationProvider.getApplicationContext() as Application
+        val threadsBefore = Thread.activeCount()
+        val heapBefore = usedHeap()
+
+        val initLatch = CountDownLatch(1)
+        MobileCore.setLogLevel(LoggingMode.ERROR)
+        MobileCore.initialize(appContext, InitOptions().apply { this.sharedThreadPoolEnabled = sharedThreadPoolEnabled }) {
+            initLatch.countDown()
+        }
+        initLatch.await(1, TimeUnit.SECONDS)
+
+        val registrationLatch = CountDownLatch(1)
+        MobileCore.registerExtensions(LISTENER_EXTENSIONS) {
+            registrationLatch.countDown()
+        }
+        registrationLatch.await(1, TimeUnit.SECONDS)
+
+        Log.i(
+            LOG_TAG,
+            "sharedThreadPoolEnabled=$sharedThreadPoolEnabled " +
+                "threads=${Thread.activeCount() - threadsBefore} " +
+                "heapBytes=${usedHeap() - heapBefore}"
+        )
+
+        benchmarkRule.measureRepeated {
+            val dispatchLatch = CountDownLatch(LISTENER_EXTENSIONS.size)
+            latch = dispatchLatch
+            MobileCore.dispatchEvent(Event.Builder("Benchmark", EVENT_TYPE, EVENT_SOURCE).build())
+            dispatchLatch.await(1, TimeUnit.SECONDS)
+        }
+        latch = null
+    }
+
+    private fun usedHeap(): Long {
+        val runtime = Runtime.getRuntime()
+        runtime.gc()
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    private companion object {
+        const val LOG_TAG = "SharedThreadPoolBenchmark"
+        const val EVENT_TYPE = "com.adobe.eventType.benchmark"
+        const val EVENT_SOURCE = "com.adobe.eventSource.benchmark"
+
+        @Volatile
+        var latch: CountDownLatch? = null
+
+        val LISTENER_EXTENSIONS = listOf(
+            ListenerExtension1::class.java,
+            ListenerExtension2::class.java,
+            ListenerExtension3::class.java,
+            ListenerExtension4::class.java,
+            ListenerExtension5::class.java,
+            ListenerExtension6::class.java,
+            ListenerExtension7::class.java,
+            ListenerExtension8::class.java
+        )
+    }
+}
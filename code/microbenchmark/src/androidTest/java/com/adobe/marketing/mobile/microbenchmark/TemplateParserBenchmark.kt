@@ -0,0 +1,61 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+ */
+package com.adobe.marketing.mobile.microbenchmark
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.adobe.marketing.mobile.rulesengine.DelimiterPair
+import com.adobe.marketing.mobile.rulesengine.Template
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Measures parsing 100 KB [Template]s, such as in-app message HTML payloads going through token replacement,
+ * with and without tokens.
+ */
+@RunWith(AndroidJUnit4::class)
+class TemplateParserBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val delimiterPair = DelimiterPair("{%", "%}")
+    private val htmlWithTokens = buildTemplate("<div class=\"message\">Hello {%~state.com.adobe.module.identity/mid%}</div>\n")
+    private val htmlWithoutTokens = buildTemplate("<div class=\"message\">Hello there, this is some static text</div>\n")
+
+    @Test
+    fun parse100KBTemplateWithTokens() {
+        benchmarkRule.measureRepeated {
+            Template(htmlWithTokens, delimiterPair)
+        }
+    }
+
+    @Test
+    fun parse100KBTemplateWithoutTokens() {
+        benchmarkRule.measureRepeated {
+            Template(htmlWithoutTokens, delimiterPair)
+        }
+    }
+
+    private fun buildTemplate(line: String): String {
+        val builder = StringBuilder(TEMPLATE_SIZE + line.length)
+        while (builder.length < TEMPLATE_SIZE) {
+            builder.append(line)
+        }
+        return builder.toString()
+    }
+
+    private companion object {
+        const val TEMPLATE_SIZE = 100 * 1024
+    }
+}